@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+# ===========================================
+# ORION PROGRAM SERVICE - startup benchmark
+# Measures time-to-first-request and resident memory for each runtime mode.
+#
+# Usage: scripts/startup-benchmark.sh [jvm|aot|cds|native] [runs]
+#   jvm    plain executable jar            (./mvnw package)
+#   aot    AOT-processed jar               (./mvnw -Paot package)
+#   cds    AOT jar + CDS archive           (extracted layout built as in Dockerfile)
+#   native GraalVM native image            (./mvnw -Pnative native:compile)
+# Requires MONGODB_URI and USER_SERVICE_URL to point at reachable services.
+# ===========================================
+set -euo pipefail
+
+MODE="${1:-jvm}"
+RUNS="${2:-5}"
+PORT="${SERVER_PORT:-18093}"
+URL="http://localhost:${PORT}/actuator/health/readiness"
+JAR="$(ls target/orion-program-*.jar | grep -v plain | head -n1 || true)"
+
+case "$MODE" in
+  jvm)    CMD=(java -jar "$JAR") ;;
+  aot)    CMD=(java -Dspring.aot.enabled=true -jar "$JAR") ;;
+  cds)    CMD=(java -XX:SharedArchiveFile=application/application.jsa -Dspring.aot.enabled=true
+               -jar "$(ls application/orion-program-*.jar | head -n1)") ;;
+  native) CMD=(target/orion-program) ;;
+  *)      echo "Unknown mode: $MODE" >&2; exit 2 ;;
+esac
+
+export SERVER_PORT="$PORT"
+export SPRING_PROFILES_ACTIVE="${SPRING_PROFILES_ACTIVE:-prod}"
+
+printf '%-6s %4s %12s %10s\n' mode run first_req_ms rss_mb
+for run in $(seq 1 "$RUNS"); do
+  start_ns=$(date +%s%N)
+  "${CMD[@]}" > "target/startup-${MODE}-${run}.log" 2>&1 &
+  pid=$!
+
+  until curl -fsS -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "Application exited early, see target/startup-${MODE}-${run}.log" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  elapsed_ms=$(( ($(date +%s%N) - start_ns) / 1000000 ))
+  rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/${pid}/status")
+
+  printf '%-6s %4d %12d %10d\n' "$MODE" "$run" "$elapsed_ms" $(( rss_kb / 1024 ))
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+done
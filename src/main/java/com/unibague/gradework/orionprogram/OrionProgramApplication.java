@@ -1,9 +1,12 @@
 package com.unibague.gradework.orionprogram;
 
+import com.unibague.gradework.orionprogram.configuration.OrionRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(OrionRuntimeHints.class)
 public class OrionProgramApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,18 @@
+package com.unibague.gradework.orionprogram.audit;
+
+/**
+ * Kinds of auditable operations performed through the program API
+ */
+public enum AuditAction {
+    PROGRAM_CREATED,
+    PROGRAM_UPDATED,
+    PROGRAM_DELETED,
+    PROGRAM_ARCHIVED,
+    PROGRAM_RESTORED,
+    AREA_CREATED,
+    AREA_UPDATED,
+    AREA_DELETED,
+    AREA_BATCH_APPLIED,
+    LEADERS_REASSIGNED,
+    ACCESS_DENIED
+}
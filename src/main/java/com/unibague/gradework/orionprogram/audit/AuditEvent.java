@@ -0,0 +1,36 @@
+package com.unibague.gradework.orionprogram.audit;
+
+import com.unibague.gradework.orionprogram.security.UserContext;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Immutable audit record captured on the request thread
+ * Formatting and persistence happen later on the audit writer thread
+ */
+@Value
+@Builder
+public class AuditEvent {
+
+    Instant timestamp;
+    AuditAction action;
+    String userId;
+    String role;
+    String programId;
+    String areaId;
+    String detail;
+
+    public static AuditEvent of(AuditAction action, UserContext.AuthenticatedUser user,
+                                String programId, String areaId) {
+        return AuditEvent.builder()
+                .timestamp(Instant.now())
+                .action(action)
+                .userId(user.getUserId())
+                .role(user.getRole())
+                .programId(programId)
+                .areaId(areaId)
+                .build();
+    }
+}
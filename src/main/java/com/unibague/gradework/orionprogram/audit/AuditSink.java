@@ -0,0 +1,12 @@
+package com.unibague.gradework.orionprogram.audit;
+
+import java.util.List;
+
+/**
+ * Destination for batches of audit events
+ * Implementations are only called from the single audit writer thread
+ */
+public interface AuditSink {
+
+    void write(List<AuditEvent> batch) throws Exception;
+}
@@ -0,0 +1,147 @@
+package com.unibague.gradework.orionprogram.audit;
+
+import com.unibague.gradework.orionprogram.configuration.AuditProperties;
+import com.unibague.gradework.orionprogram.security.UserContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous audit pipeline
+ * Request threads enqueue immutable events on a bounded lock-free queue and return immediately;
+ * a single background writer drains the queue in batches into the configured {@link AuditSink}.
+ */
+@Slf4j
+@Service
+public class AuditTrail {
+
+    private final AuditSink sink;
+    private final AuditProperties auditProperties;
+
+    private final ConcurrentLinkedQueue<AuditEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+
+    private final Counter droppedEvents;
+    private final Counter writtenEvents;
+    private final Counter failedBatches;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditTrail(AuditSink sink, AuditProperties auditProperties, MeterRegistry meterRegistry) {
+        this.sink = sink;
+        this.auditProperties = auditProperties;
+
+        Gauge.builder("orion.audit.queue.depth", depth, AtomicInteger::get)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("orion.audit.events.dropped")
+                .description("Audit events dropped because the queue was full")
+                .register(meterRegistry);
+        this.writtenEvents = Counter.builder("orion.audit.events.written")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("orion.audit.batches.failed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!auditProperties.isEnabled()) {
+            log.info("Audit trail disabled");
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Audit trail started (sink: {}, capacity: {}, batch: {}, policy: {})",
+                auditProperties.getSink(), auditProperties.getQueueCapacity(),
+                auditProperties.getBatchSize(), auditProperties.getDropPolicy());
+    }
+
+    /**
+     * Records an event without blocking the caller
+     * When the queue is full the configured drop policy decides which event is lost
+     */
+    public void record(AuditEvent event) {
+        if (!running) return;
+
+        if (depth.incrementAndGet() > auditProperties.getQueueCapacity()) {
+            droppedEvents.increment();
+            if (auditProperties.getDropPolicy() == AuditProperties.DropPolicy.DROP_NEWEST) {
+                depth.decrementAndGet();
+                return;
+            }
+            if (queue.poll() != null) {
+                depth.decrementAndGet();
+            }
+        }
+
+        queue.offer(event);
+
+        if (depth.get() >= auditProperties.getBatchSize()) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    public void record(AuditAction action, UserContext.AuthenticatedUser user, String programId, String areaId) {
+        if (!running) return;
+        record(AuditEvent.of(action, user, programId, areaId));
+    }
+
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    private void drainLoop() {
+        long parkNanos = auditProperties.getFlushInterval().toNanos();
+        while (running) {
+            if (drainBatch() < auditProperties.getBatchSize()) {
+                LockSupport.parkNanos(this, parkNanos);
+            }
+        }
+        // Flush whatever is left on shutdown
+        while (drainBatch() > 0) {
+            // keep draining
+        }
+    }
+
+    private int drainBatch() {
+        List<AuditEvent> batch = new ArrayList<>(auditProperties.getBatchSize());
+        AuditEvent event;
+        while (batch.size() < auditProperties.getBatchSize() && (event = queue.poll()) != null) {
+            batch.add(event);
+        }
+        if (batch.isEmpty()) return 0;
+
+        depth.addAndGet(-batch.size());
+        try {
+            sink.write(batch);
+            writtenEvents.increment(batch.size());
+        } catch (Exception e) {
+            failedBatches.increment();
+            droppedEvents.increment(batch.size());
+            log.warn("Failed to write {} audit events: {}", batch.size(), e.getMessage());
+        }
+        return batch.size();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) return;
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
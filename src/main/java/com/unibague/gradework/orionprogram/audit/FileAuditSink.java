@@ -0,0 +1,52 @@
+package com.unibague.gradework.orionprogram.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unibague.gradework.orionprogram.configuration.AuditProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends audit batches as JSON lines to a local file
+ * Each batch is encoded in memory and written with a single append
+ * Created by AuditSinkConfig when orion.audit.sink is FILE
+ */
+@Slf4j
+public class FileAuditSink implements AuditSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileAuditSink(ObjectMapper objectMapper, AuditProperties auditProperties) throws IOException {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(auditProperties.getFilePath());
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        log.info("Audit events will be appended to {}", path.toAbsolutePath());
+    }
+
+    @Override
+    public void write(List<AuditEvent> batch) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(batch.size() * 160);
+        for (AuditEvent event : batch) {
+            buffer.write(objectMapper.writeValueAsBytes(event));
+            buffer.write('\n');
+        }
+
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+    }
+}
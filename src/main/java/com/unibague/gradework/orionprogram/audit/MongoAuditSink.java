@@ -0,0 +1,44 @@
+package com.unibague.gradework.orionprogram.audit;
+
+import com.unibague.gradework.orionprogram.configuration.AuditProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+/**
+ * Writes audit batches into a Mongo capped collection
+ * The collection is created on first use so old events roll off automatically
+ * Created by AuditSinkConfig when orion.audit.sink is MONGO
+ */
+@Slf4j
+public class MongoAuditSink implements AuditSink {
+
+    private final MongoTemplate mongoTemplate;
+    private final AuditProperties auditProperties;
+    private volatile boolean collectionReady;
+
+    public MongoAuditSink(MongoTemplate mongoTemplate, AuditProperties auditProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.auditProperties = auditProperties;
+    }
+
+    @Override
+    public void write(List<AuditEvent> batch) {
+        ensureCollection();
+        mongoTemplate.insert(batch, auditProperties.getCollection());
+    }
+
+    private void ensureCollection() {
+        if (collectionReady) return;
+
+        String name = auditProperties.getCollection();
+        if (!mongoTemplate.collectionExists(name)) {
+            log.info("Creating capped audit collection '{}' ({} bytes)", name, auditProperties.getCappedSizeBytes());
+            mongoTemplate.createCollection(name,
+                    CollectionOptions.empty().capped().size(auditProperties.getCappedSizeBytes()));
+        }
+        collectionReady = true;
+    }
+}
@@ -0,0 +1,153 @@
+package com.unibague.gradework.orionprogram.cache;
+
+import com.unibague.gradework.orionprogram.configuration.SearchCacheProperties;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.profiling.CacheLookupEvent;
+import com.unibague.gradework.orionprogram.security.ProgramAccess;
+import com.unibague.gradework.orionprogram.security.UserContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of access-filtered search results
+ * Keys combine the normalized term with the caller's access scope, so users never see results
+ * filtered for someone else. Any program mutation bumps the generation, which invalidates every
+ * entry in O(1); stale entries are evicted lazily when they are next looked up.
+ */
+@Slf4j
+@Component
+public class SearchResultCache {
+
+    private static final String CACHE_NAME = "search-results";
+
+    private final SearchCacheProperties properties;
+    private final AtomicLong generation = new AtomicLong();
+    private final LinkedHashMap<Key, Entry> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer hitLatency;
+    private final Timer missLatency;
+
+    public SearchResultCache(SearchCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > properties.getMaxEntries();
+            }
+        };
+
+        this.hits = Counter.builder("orion.search.cache.requests")
+                .description("Search-result cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("orion.search.cache.requests")
+                .description("Search-result cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.hitLatency = Timer.builder("orion.search.cache.latency")
+                .description("Search latency including the cache lookup")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missLatency = Timer.builder("orion.search.cache.latency")
+                .description("Search latency including the cache lookup")
+                .tag("result", "miss")
+                .register(meterRegistry);
+
+        Gauge.builder("orion.search.cache.size", this, SearchResultCache::size)
+                .description("Search results currently cached")
+                .register(meterRegistry);
+        Gauge.builder("orion.search.cache.hit.ratio", this, SearchResultCache::hitRatio)
+                .description("Fraction of search lookups served from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("orion.search.cache.invalidations", generation, AtomicLong::get)
+                .description("Times the cache was invalidated by a program mutation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached result for the term and the user's scope, loading it on a miss
+     * The loader must already apply the user's access filter
+     */
+    public List<Program> get(String term, UserContext.AuthenticatedUser user, Supplier<List<Program>> loader) {
+        if (!properties.isEnabled()) return loader.get();
+
+        long start = System.nanoTime();
+        Key key = new Key(normalize(term), user.catalogScope());
+        long currentGeneration = generation.get();
+
+        Entry cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+            if (cached != null && !cached.isValid(currentGeneration, start, properties.getTtl().toNanos())) {
+                entries.remove(key);
+                cached = null;
+            }
+        }
+        CacheLookupEvent.emit(CACHE_NAME, cached != null);
+
+        if (cached != null) {
+            hits.increment();
+            hitLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached.programs();
+        }
+
+        misses.increment();
+        List<Program> loaded = List.copyOf(loader.get());
+        // Stored under the generation read before loading: a concurrent mutation makes it stale right away
+        synchronized (entries) {
+            entries.put(key, new Entry(loaded, currentGeneration, System.nanoTime()));
+        }
+        missLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return loaded;
+    }
+
+    /**
+     * Invalidates every cached result; called after any program or area mutation
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    /**
+     * Same normalization Mongo applies with a case-insensitive regex: surrounding spaces and case are ignored
+     */
+    static String normalize(String term) {
+        return term == null ? "" : term.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Key(String term, ProgramAccess scope) {
+    }
+
+    private record Entry(List<Program> programs, long generation, long loadedAtNanos) {
+
+        boolean isValid(long currentGeneration, long now, long ttlNanos) {
+            return generation == currentGeneration && now - loadedAtNanos < ttlNanos;
+        }
+    }
+}
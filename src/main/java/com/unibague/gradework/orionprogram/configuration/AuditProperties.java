@@ -0,0 +1,58 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the asynchronous audit trail
+ * Controls buffering, batching, backpressure and the storage sink
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "orion.audit")
+public class AuditProperties {
+
+    public enum Sink { MONGO, FILE }
+
+    /**
+     * What to do with a new event when the buffer is full
+     */
+    public enum DropPolicy { DROP_NEWEST, DROP_OLDEST }
+
+    private boolean enabled = true;
+
+    private Sink sink = Sink.MONGO;
+
+    /**
+     * Buffer and batching configuration
+     */
+    @Min(value = 16, message = "Audit queue capacity must be at least 16")
+    private int queueCapacity = 8192;
+
+    @Min(value = 1, message = "Audit batch size must be at least 1")
+    private int batchSize = 256;
+
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    private DropPolicy dropPolicy = DropPolicy.DROP_NEWEST;
+
+    /**
+     * Mongo sink configuration (capped collection)
+     */
+    @NotBlank(message = "Audit collection name is required")
+    private String collection = "audit_events";
+
+    private long cappedSizeBytes = 64L * 1024 * 1024;
+
+    /**
+     * File sink configuration (append-only JSON lines)
+     */
+    private String filePath = "logs/orion-program-audit.jsonl";
+}
@@ -0,0 +1,29 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unibague.gradework.orionprogram.audit.AuditSink;
+import com.unibague.gradework.orionprogram.audit.FileAuditSink;
+import com.unibague.gradework.orionprogram.audit.MongoAuditSink;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.IOException;
+
+/**
+ * Selects the audit sink from orion.audit.sink when the context starts
+ * Chosen at runtime for the same reason as StorageConfig: AUDIT_SINK must keep working in the AOT build
+ */
+@Configuration
+public class AuditSinkConfig {
+
+    @Bean
+    public AuditSink auditSink(AuditProperties auditProperties, ObjectMapper objectMapper,
+                               ObjectProvider<MongoTemplate> mongoTemplate) throws IOException {
+        return switch (auditProperties.getSink()) {
+            case MONGO -> new MongoAuditSink(mongoTemplate.getObject(), auditProperties);
+            case FILE -> new FileAuditSink(objectMapper, auditProperties);
+        };
+    }
+}
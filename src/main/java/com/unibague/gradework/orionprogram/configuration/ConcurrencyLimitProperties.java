@@ -0,0 +1,66 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the adaptive concurrency limiter
+ * The limit follows an AIMD rule driven by observed request latency
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "orion.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Limit bounds
+     */
+    @Min(value = 1, message = "Initial concurrency limit must be at least 1")
+    private int initialLimit = 64;
+
+    @Min(value = 1, message = "Minimum concurrency limit must be at least 1")
+    private int minLimit = 8;
+
+    @Min(value = 1, message = "Maximum concurrency limit must be at least 1")
+    private int maxLimit = 512;
+
+    /**
+     * Multiplicative decrease applied when recent latency exceeds tolerance × baseline
+     */
+    @DecimalMin(value = "0.1", message = "Backoff ratio must be between 0.1 and 1.0")
+    @DecimalMax(value = "1.0", message = "Backoff ratio must be between 0.1 and 1.0")
+    private double backoffRatio = 0.9;
+
+    private double latencyTolerance = 2.0;
+
+    /**
+     * Samples averaged into the long-term baseline latency
+     */
+    @Min(value = 10, message = "Baseline window must be at least 10 samples")
+    private int baselineWindow = 500;
+
+    /**
+     * Samples averaged into the recent latency compared against the baseline
+     */
+    @Min(value = 1, message = "Recent window must be at least 1 sample")
+    private int recentWindow = 10;
+
+    /**
+     * Share of the limit available to browser traffic; internal/S2S traffic may use all of it
+     */
+    @DecimalMin(value = "0.1", message = "User share must be between 0.1 and 1.0")
+    @DecimalMax(value = "1.0", message = "User share must be between 0.1 and 1.0")
+    private double userShare = 0.8;
+
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,35 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import com.unibague.gradework.orionprogram.security.RequestDeadline;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+
+/**
+ * JDK HTTP client whose per-call timeouts are capped by the current request deadline
+ * Without a deadline (warm-up, background jobs) the configured timeouts apply unchanged
+ */
+class DeadlineAwareRequestFactory extends SimpleClientHttpRequestFactory {
+
+    DeadlineAwareRequestFactory(Duration connectTimeout, Duration readTimeout) {
+        setConnectTimeout(connectTimeout);
+        setReadTimeout(readTimeout);
+    }
+
+    @Override
+    protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+        super.prepareConnection(connection, httpMethod);
+        if (!RequestDeadline.isSet()) return;
+
+        // The caller checked the deadline before the call; at least 1 ms, since 0 would mean no timeout
+        int budget = (int) Math.max(1, Math.min(Integer.MAX_VALUE, RequestDeadline.remainingMillis()));
+        connection.setConnectTimeout(capped(connection.getConnectTimeout(), budget));
+        connection.setReadTimeout(capped(connection.getReadTimeout(), budget));
+    }
+
+    private static int capped(int configured, int budget) {
+        return configured > 0 ? Math.min(configured, budget) : budget;
+    }
+}
@@ -0,0 +1,164 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.DistinctIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.EstimatedDocumentCountOptions;
+import com.mongodb.client.model.FindOneAndDeleteOptions;
+import com.mongodb.client.model.FindOneAndReplaceOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.unibague.gradework.orionprogram.exception.ProgramExceptions;
+import com.unibague.gradework.orionprogram.security.RequestDeadline;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MongoDatabaseFactory that bounds every query by the current request's deadline
+ * Both templates (and so ProgramRepository and the stores) get their databases from here. Outside a
+ * request with a deadline the delegate's database is returned untouched; inside one, queries
+ * (find, aggregate, distinct, counts, findOneAnd*) carry the remaining budget as maxTimeMS and are
+ * not sent at all once it has run out. Writes are not bounded: the driver has no maxTimeMS for them.
+ */
+class DeadlineMongoDatabaseFactory implements MongoDatabaseFactory {
+
+    // MongoTemplate always passes options to the count methods, so the option argument is enough to bound them
+    private static final Set<String> BOUNDED_QUERIES = Set.of("find", "aggregate", "distinct",
+            "countDocuments", "estimatedDocumentCount", "findOneAndUpdate", "findOneAndReplace", "findOneAndDelete");
+
+    private final MongoDatabaseFactory delegate;
+
+    DeadlineMongoDatabaseFactory(MongoDatabaseFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase() throws DataAccessException {
+        return bounded(delegate.getMongoDatabase());
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase(String dbName) throws DataAccessException {
+        return bounded(delegate.getMongoDatabase(dbName));
+    }
+
+    /**
+     * A server-side maxTimeMS expiry under a deadline surfaces as a QueryTimeoutException (504)
+     */
+    @Override
+    public PersistenceExceptionTranslator getExceptionTranslator() {
+        PersistenceExceptionTranslator translator = delegate.getExceptionTranslator();
+        return ex -> {
+            if (ex instanceof MongoExecutionTimeoutException && RequestDeadline.isSet()) {
+                return new QueryTimeoutException("Request deadline exceeded during a Mongo query", ex);
+            }
+            return translator.translateExceptionIfPossible(ex);
+        };
+    }
+
+    @Override
+    public CodecRegistry getCodecRegistry() {
+        return delegate.getCodecRegistry();
+    }
+
+    @Override
+    public ClientSession getSession(ClientSessionOptions options) {
+        return delegate.getSession(options);
+    }
+
+    @Override
+    public MongoDatabaseFactory withSession(ClientSession session) {
+        return new DeadlineMongoDatabaseFactory(delegate.withSession(session));
+    }
+
+    @Override
+    public boolean isTransactionActive() {
+        return delegate.isTransactionActive();
+    }
+
+    private static MongoDatabase bounded(MongoDatabase database) {
+        return RequestDeadline.isSet() ? proxy(MongoDatabase.class, database) : database;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new Bounding(target));
+    }
+
+    /**
+     * Sets maxTimeMS on a query's options (keeping a tighter limit already set) or cursor
+     * A cursor is only created here, so an explicit Query#maxTime applied to it afterwards still wins
+     */
+    private static void limit(Object target, long budgetMillis) {
+        if (target instanceof FindIterable<?> find) {
+            find.maxTime(budgetMillis, TimeUnit.MILLISECONDS);
+        } else if (target instanceof AggregateIterable<?> aggregate) {
+            aggregate.maxTime(budgetMillis, TimeUnit.MILLISECONDS);
+        } else if (target instanceof DistinctIterable<?> distinct) {
+            distinct.maxTime(budgetMillis, TimeUnit.MILLISECONDS);
+        } else if (target instanceof CountOptions options) {
+            options.maxTime(tighter(options.getMaxTime(TimeUnit.MILLISECONDS), budgetMillis), TimeUnit.MILLISECONDS);
+        } else if (target instanceof EstimatedDocumentCountOptions options) {
+            options.maxTime(tighter(options.getMaxTime(TimeUnit.MILLISECONDS), budgetMillis), TimeUnit.MILLISECONDS);
+        } else if (target instanceof FindOneAndUpdateOptions options) {
+            options.maxTime(tighter(options.getMaxTime(TimeUnit.MILLISECONDS), budgetMillis), TimeUnit.MILLISECONDS);
+        } else if (target instanceof FindOneAndReplaceOptions options) {
+            options.maxTime(tighter(options.getMaxTime(TimeUnit.MILLISECONDS), budgetMillis), TimeUnit.MILLISECONDS);
+        } else if (target instanceof FindOneAndDeleteOptions options) {
+            options.maxTime(tighter(options.getMaxTime(TimeUnit.MILLISECONDS), budgetMillis), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Zero means no limit, as in the driver
+     */
+    private static long tighter(long current, long budgetMillis) {
+        return current > 0 ? Math.min(current, budgetMillis) : budgetMillis;
+    }
+
+    /**
+     * Wraps databases and collections (including with* copies) so every query on them is bounded
+     */
+    private record Bounding(Object target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            boolean query = BOUNDED_QUERIES.contains(method.getName());
+            long budget = query ? RequestDeadline.remainingMillis() : Long.MAX_VALUE;
+            if (budget <= 0) {
+                throw new ProgramExceptions.DeadlineExceededException("Mongo " + method.getName());
+            }
+            boolean bound = budget != Long.MAX_VALUE;
+            if (bound && args != null) {
+                for (Object arg : args) limit(arg, budget);
+            }
+
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if (result instanceof MongoCollection<?> collection) return proxy(MongoCollection.class, collection);
+            if (result instanceof MongoDatabase database) return proxy(MongoDatabase.class, database);
+            if (bound) limit(result, budget);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+
+/**
+ * Configuration properties for gateway deadline propagation
+ * The caller's remaining budget bounds Mongo queries (maxTimeMS) and user-service calls
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "orion.deadline")
+public class DeadlineProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Budget kept back for writing the response and getting it to the gateway
+     */
+    @NotNull
+    private Duration responseReserve = Duration.ofMillis(20);
+}
@@ -0,0 +1,103 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadConcernLevel;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the MongoClientSettings from orion.mongo
+ * Spring Boot already publishes mongodb.driver.pool.* (size, checked out, wait queue) and
+ * mongodb.driver.commands; this adds how long requests wait for a connection and why they fail to get one.
+ */
+@Slf4j
+@Configuration
+public class MongoClientConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientPropertiesCustomizer(MongoClientProperties properties,
+                                                                               MeterRegistry meterRegistry) {
+        log.info("Mongo client: pool {}-{} (wait {}), connect {}, read {}, compressors {}",
+                properties.getMinPoolSize(), properties.getMaxPoolSize(), properties.getMaxWaitTime(),
+                properties.getConnectTimeout(), properties.getSocketReadTimeout(), properties.getCompressors());
+
+        ConnectionPoolListener poolMetrics = poolMetricsListener(meterRegistry);
+        Gauge.builder("orion.mongo.pool.max.size", properties, MongoClientProperties::getMaxPoolSize)
+                .description("Configured maximum connections per server")
+                .register(meterRegistry);
+
+        return builder -> builder
+                .applicationName(properties.getApplicationName())
+                .readConcern(new ReadConcern(ReadConcernLevel.fromString(properties.getReadConcern())))
+                .compressorList(compressors(properties.getCompressors()))
+                .applyToConnectionPoolSettings(pool -> pool
+                        .minSize(properties.getMinPoolSize())
+                        .maxSize(properties.getMaxPoolSize())
+                        .maxConnecting(properties.getMaxConnecting())
+                        .maxWaitTime(properties.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(properties.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionLifeTime(properties.getMaxConnectionLifeTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .addConnectionPoolListener(poolMetrics))
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout(properties.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout(properties.getSocketReadTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(cluster -> cluster
+                        .serverSelectionTimeout(properties.getServerSelectionTimeout().toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    @Bean
+    public OperationWriteConcernResolver operationWriteConcernResolver(MongoClientProperties mongoProperties,
+                                                                       AuditProperties auditProperties) {
+        return new OperationWriteConcernResolver(mongoProperties, auditProperties);
+    }
+
+    private static List<MongoCompressor> compressors(List<String> names) {
+        return names.stream()
+                .map(name -> switch (name.trim().toLowerCase(Locale.ROOT)) {
+                    case "zlib" -> MongoCompressor.createZlibCompressor();
+                    case "snappy" -> MongoCompressor.createSnappyCompressor();
+                    case "zstd" -> MongoCompressor.createZstdCompressor();
+                    default -> throw new IllegalArgumentException("Unknown Mongo compressor: " + name);
+                })
+                .toList();
+    }
+
+    /**
+     * Checkout wait time and failures (timeouts mean the pool is exhausted)
+     */
+    private static ConnectionPoolListener poolMetricsListener(MeterRegistry meterRegistry) {
+        Timer checkoutWait = Timer.builder("orion.mongo.pool.checkout.wait")
+                .description("Time spent waiting for a pooled connection")
+                .register(meterRegistry);
+
+        return new ConnectionPoolListener() {
+            @Override
+            public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+                checkoutWait.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+                Counter.builder("orion.mongo.pool.checkout.failed")
+                        .description("Connection checkouts that failed, by reason")
+                        .tag("reason", event.getReason().name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry)
+                        .increment();
+            }
+        };
+    }
+}
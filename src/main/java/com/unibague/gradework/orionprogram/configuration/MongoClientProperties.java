@@ -0,0 +1,89 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for the MongoClient (pool, timeouts, compression, concerns)
+ * Applied on top of spring.data.mongodb.uri, so these values win over URI options
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "orion.mongo")
+public class MongoClientProperties {
+
+    /**
+     * Groups of writes that can be given their own write concern
+     */
+    public enum OperationClass { PROGRAM_INSERT, PROGRAM_UPDATE, PROGRAM_DELETE, AUDIT, DEFAULT }
+
+    @NotBlank(message = "Mongo application name is required")
+    private String applicationName = "orion-program";
+
+    /**
+     * Connection pool configuration
+     */
+    @Min(value = 0, message = "Pool minimum size cannot be negative")
+    private int minPoolSize = 0;
+
+    @Min(value = 1, message = "Pool maximum size must be at least 1")
+    private int maxPoolSize = 100;
+
+    @Min(value = 1, message = "Max connecting must be at least 1")
+    private int maxConnecting = 2;
+
+    /**
+     * How long a request waits for a pooled connection before failing
+     */
+    private Duration maxWaitTime = Duration.ofSeconds(2);
+    private Duration maxConnectionIdleTime = Duration.ofMinutes(5);
+
+    /**
+     * Zero keeps connections for as long as they stay healthy
+     */
+    private Duration maxConnectionLifeTime = Duration.ZERO;
+
+    /**
+     * Timeout configuration
+     */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration socketReadTimeout = Duration.ofSeconds(10);
+    private Duration serverSelectionTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Wire compressors in order of preference: zlib is built in, snappy and zstd need their libraries
+     */
+    private List<String> compressors = new ArrayList<>(List.of("zlib"));
+
+    /**
+     * Read concern for every read: local, majority, available, linearizable or snapshot
+     */
+    @NotBlank(message = "Mongo read concern is required")
+    private String readConcern = "local";
+
+    /**
+     * Write concern per operation class: majority, w1, w2, w3, journaled, unacknowledged or a number
+     */
+    private Map<OperationClass, String> writeConcerns = new EnumMap<>(Map.of(
+            OperationClass.PROGRAM_INSERT, "majority",
+            OperationClass.PROGRAM_UPDATE, "majority",
+            OperationClass.PROGRAM_DELETE, "majority",
+            OperationClass.AUDIT, "w1",
+            OperationClass.DEFAULT, "majority"));
+
+    /**
+     * Upper bound for waiting on replication; zero waits indefinitely
+     */
+    private Duration writeConcernTimeout = Duration.ofSeconds(5);
+}
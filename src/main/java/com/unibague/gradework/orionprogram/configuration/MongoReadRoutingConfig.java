@@ -0,0 +1,46 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import com.mongodb.ReadPreference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MongoTemplates for primary writes and secondary reads
+ * The primary template keeps the "mongoTemplate" name so repositories keep using it;
+ * both pick write concerns per operation class from orion.mongo.write-concerns and bound their
+ * queries by the request deadline (see DeadlineMongoDatabaseFactory)
+ */
+@Slf4j
+@Configuration
+public class MongoReadRoutingConfig {
+
+    @Bean
+    @Primary
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory factory, MongoConverter converter,
+                                      OperationWriteConcernResolver writeConcernResolver) {
+        MongoTemplate template = new MongoTemplate(new DeadlineMongoDatabaseFactory(factory), converter);
+        template.setWriteConcernResolver(writeConcernResolver);
+        return template;
+    }
+
+    @Bean
+    public MongoTemplate secondaryMongoTemplate(MongoDatabaseFactory factory, MongoConverter converter,
+                                                ReadRoutingProperties readRoutingProperties,
+                                                OperationWriteConcernResolver writeConcernResolver) {
+        MongoTemplate template = new MongoTemplate(new DeadlineMongoDatabaseFactory(factory), converter);
+        template.setWriteConcernResolver(writeConcernResolver);
+        if (readRoutingProperties.isEnabled()) {
+            long staleness = readRoutingProperties.getMaxStaleness().toSeconds();
+            log.info("Routing reads to secondaries (secondaryPreferred, maxStaleness: {}s)", staleness);
+            template.setReadPreference(ReadPreference.secondaryPreferred(staleness, TimeUnit.SECONDS));
+        }
+        return template;
+    }
+}
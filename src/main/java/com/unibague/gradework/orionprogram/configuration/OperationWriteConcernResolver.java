@@ -0,0 +1,75 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import com.mongodb.WriteConcern;
+import com.unibague.gradework.orionprogram.model.Program;
+import org.springframework.data.mongodb.core.MongoAction;
+import org.springframework.data.mongodb.core.WriteConcernResolver;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks the write concern for each MongoTemplate write from its operation class
+ * Concerns are parsed once at startup, so a typo fails fast instead of on the first write.
+ */
+public class OperationWriteConcernResolver implements WriteConcernResolver {
+
+    private static final String PROGRAMS = "programs";
+
+    private final Map<MongoClientProperties.OperationClass, WriteConcern> concerns =
+            new EnumMap<>(MongoClientProperties.OperationClass.class);
+    private final String auditCollection;
+
+    public OperationWriteConcernResolver(MongoClientProperties mongoProperties, AuditProperties auditProperties) {
+        this.auditCollection = auditProperties.getCollection();
+        long timeoutMillis = mongoProperties.getWriteConcernTimeout().toMillis();
+
+        for (MongoClientProperties.OperationClass operationClass : MongoClientProperties.OperationClass.values()) {
+            String configured = mongoProperties.getWriteConcerns().getOrDefault(operationClass,
+                    mongoProperties.getWriteConcerns().getOrDefault(MongoClientProperties.OperationClass.DEFAULT, "majority"));
+            WriteConcern concern = parse(configured);
+            if (timeoutMillis > 0 && concern.isAcknowledged()) {
+                concern = concern.withWTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+            }
+            concerns.put(operationClass, concern);
+        }
+    }
+
+    @Override
+    public WriteConcern resolve(MongoAction action) {
+        return concerns.get(classify(action));
+    }
+
+    public WriteConcern concernFor(MongoClientProperties.OperationClass operationClass) {
+        return concerns.get(operationClass);
+    }
+
+    MongoClientProperties.OperationClass classify(MongoAction action) {
+        if (auditCollection.equals(action.getCollectionName())) {
+            return MongoClientProperties.OperationClass.AUDIT;
+        }
+        boolean program = Program.class.equals(action.getEntityType()) || PROGRAMS.equals(action.getCollectionName());
+        if (!program) {
+            return MongoClientProperties.OperationClass.DEFAULT;
+        }
+        return switch (action.getMongoActionOperation()) {
+            case INSERT, INSERT_LIST -> MongoClientProperties.OperationClass.PROGRAM_INSERT;
+            case REMOVE -> MongoClientProperties.OperationClass.PROGRAM_DELETE;
+            default -> MongoClientProperties.OperationClass.PROGRAM_UPDATE;
+        };
+    }
+
+    static WriteConcern parse(String value) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        if (normalized.matches("\\d+")) {
+            return new WriteConcern(Integer.parseInt(normalized));
+        }
+        WriteConcern concern = WriteConcern.valueOf(normalized);
+        if (concern == null) {
+            throw new IllegalArgumentException("Unknown write concern: " + value);
+        }
+        return concern;
+    }
+}
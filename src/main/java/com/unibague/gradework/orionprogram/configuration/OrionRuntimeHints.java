@@ -0,0 +1,27 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.unibague.gradework.orionprogram.audit.AuditEvent;
+import com.unibague.gradework.orionprogram.model.ArchivedProgram;
+import com.unibague.gradework.orionprogram.model.Program;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Native-image hints for what Spring AOT cannot infer on its own
+ * DeadlineMongoDatabaseFactory creates JDK proxies of MongoDatabase and MongoCollection, and the
+ * embedded store, catalog snapshot and file audit sink bind these types with Jackson directly
+ */
+public class OrionRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.proxies().registerJdkProxy(MongoDatabase.class);
+        hints.proxies().registerJdkProxy(MongoCollection.class);
+
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                Program.class, ArchivedProgram.class, AuditEvent.class);
+    }
+}
@@ -0,0 +1,30 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotBlank;
+import java.time.Duration;
+
+/**
+ * Configuration properties for on-demand JFR recordings
+ * Bounds how long and how large an admin-triggered recording can grow
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "orion.profiling")
+public class ProfilingProperties {
+
+    /**
+     * JFR settings file: "default" (low overhead) or "profile" (more detail)
+     */
+    @NotBlank(message = "JFR settings name is required")
+    private String settings = "profile";
+
+    private Duration maxDuration = Duration.ofMinutes(5);
+
+    private long maxSizeBytes = 256L * 1024 * 1024;
+}
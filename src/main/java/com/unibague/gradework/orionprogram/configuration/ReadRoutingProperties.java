@@ -0,0 +1,26 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for routing read endpoints to replica-set secondaries
+ * Writes always go to the primary; reads use secondaryPreferred within the staleness bound
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "orion.read-routing")
+public class ReadRoutingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Maximum replication lag tolerated for a secondary read (the driver requires at least 90s)
+     */
+    private Duration maxStaleness = Duration.ofSeconds(90);
+}
@@ -22,6 +22,7 @@ public class RestTemplateConfig {
 
     /**
      * Creates RestTemplate with configured timeouts and error handling
+     * Within a request that carries a deadline, each call's timeouts are capped by the remaining budget
      * @return configured RestTemplate bean
      */
     @Bean
@@ -31,8 +32,9 @@ public class RestTemplateConfig {
                 serviceProperties.getReadTimeout());
 
         return builder
-                .setConnectTimeout(serviceProperties.getConnectionTimeout())
-                .setReadTimeout(serviceProperties.getReadTimeout())
+                .requestFactory(() -> new DeadlineAwareRequestFactory(
+                        serviceProperties.getConnectionTimeout(),
+                        serviceProperties.getReadTimeout()))
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the scoped search-result cache
+ * Entries are dropped on any program mutation; the TTL only bounds staleness from lagging secondaries
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "orion.search-cache")
+public class SearchCacheProperties {
+
+    private boolean enabled = true;
+
+    @Min(value = 1, message = "Search cache must hold at least one entry")
+    private int maxEntries = 4096;
+
+    private Duration ttl = Duration.ofSeconds(30);
+}
@@ -1,7 +1,10 @@
 package com.unibague.gradework.orionprogram.configuration;
 
+import com.unibague.gradework.orionprogram.limiter.ConcurrencyLimitFilter;
 import com.unibague.gradework.orionprogram.security.GatewaySecurityFilter;
+import com.unibague.gradework.orionprogram.security.RequestDeadlineFilter;
 import com.unibague.gradework.orionprogram.security.UserContext;
+import io.micrometer.common.KeyValue;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -13,6 +16,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 
 import java.io.IOException;
 
@@ -35,6 +39,7 @@ public class SecurityConfig {
             ) throws ServletException, IOException {
                 try {
                     UserContext.populateFrom(request);
+                    tagServerSpan(request);
                     filterChain.doFilter(request, response);
                 } finally {
                     UserContext.clear();
@@ -43,10 +48,25 @@ public class SecurityConfig {
         };
     }
 
+    /**
+     * Agrega el usuario al span del request; la traza (traceparent / b3) ya la extrajo
+     * el filtro de observación, que corre antes que la cadena de seguridad.
+     * Solo como atributos de alta cardinalidad: no llegan a las métricas.
+     */
+    private static void tagServerSpan(HttpServletRequest request) {
+        UserContext.getCurrentUser().ifPresent(user ->
+                ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> {
+                    context.addHighCardinalityKeyValue(KeyValue.of("orion.user.id", user.getUserId()));
+                    context.addHighCardinalityKeyValue(KeyValue.of("orion.user.role", user.getRole()));
+                }));
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(
             HttpSecurity http,
             GatewaySecurityFilter gatewaySecurityFilter,
+            RequestDeadlineFilter requestDeadlineFilter,
+            ConcurrencyLimitFilter concurrencyLimitFilter,
             Filter userContextPopulateFilter
     ) throws Exception {
 
@@ -55,8 +75,12 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
             // Primero valida que venga del gateway / interno
             .addFilterBefore(gatewaySecurityFilter, BasicAuthenticationFilter.class)
+            // Fija el deadline del gateway y descarta (504) los requests que ya vencieron
+            .addFilterAfter(requestDeadlineFilter, GatewaySecurityFilter.class)
+            // Descarta carga (503) antes de hacer trabajo si el servicio está saturado
+            .addFilterAfter(concurrencyLimitFilter, RequestDeadlineFilter.class)
             // Luego construye el UserContext (inyecta SYSTEM admin si es S2S)
-            .addFilterAfter(userContextPopulateFilter, GatewaySecurityFilter.class);
+            .addFilterAfter(userContextPopulateFilter, ConcurrencyLimitFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,45 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+
+/**
+ * Configuration properties for shadow reads
+ * A sampled fraction of live reads is replayed through an alternate read path and compared
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "orion.shadow")
+public class ShadowProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Fraction of getPrograms / getProgramById / getEducationalAreas calls that are shadowed
+     */
+    @DecimalMin(value = "0.0", message = "Shadow sample rate cannot be negative")
+    @DecimalMax(value = "1.0", message = "Shadow sample rate cannot exceed 1.0")
+    private double sampleRate = 0.01;
+
+    /**
+     * Bounded executor for the alternate reads; shadow calls are dropped when the queue is full
+     */
+    @Min(value = 1, message = "Shadow executor needs at least 1 thread")
+    private int threads = 2;
+
+    @Min(value = 1, message = "Shadow queue capacity must be at least 1")
+    private int queueCapacity = 256;
+
+    /**
+     * At most one mismatch log line per operation within this interval
+     */
+    private Duration mismatchLogInterval = Duration.ofSeconds(10);
+}
@@ -0,0 +1,44 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the local catalog snapshot
+ * The in-memory catalog is saved to a memory-mapped file and served right after a restart
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "orion.snapshot")
+public class SnapshotProperties {
+
+    private boolean enabled = false;
+
+    @NotBlank(message = "Catalog snapshot path is required")
+    private String path = "data/catalog.snapshot";
+
+    /**
+     * How often the catalog is reloaded from the store and saved to the file
+     * The file is rewritten every time, changed or not, since its capture time drives max-staleness
+     */
+    @NotNull
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    /**
+     * A catalog captured longer ago than this is never served, not even when the store is failing
+     */
+    @NotNull
+    private Duration maxStaleness = Duration.ofMinutes(15);
+
+    /**
+     * Serve the catalog when a store read fails (Mongo unreachable or failing over)
+     */
+    private boolean serveOnFailure = true;
+}
@@ -0,0 +1,41 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.unibague.gradework.orionprogram.repository.ProgramRepository;
+import com.unibague.gradework.orionprogram.routing.ProgramReadRouter;
+import com.unibague.gradework.orionprogram.storage.EmbeddedProgramStore;
+import com.unibague.gradework.orionprogram.storage.MongoProgramStore;
+import com.unibague.gradework.orionprogram.storage.ProgramStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.IOException;
+
+/**
+ * Selects the ProgramStore backend from orion.storage.backend when the context starts
+ * A factory rather than @ConditionalOnProperty: Spring AOT evaluates conditions at build time,
+ * so the AOT/native artifact would otherwise ignore STORAGE_BACKEND at runtime.
+ * The Mongo dependencies are only resolved when the Mongo backend is selected.
+ */
+@Slf4j
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    public ProgramStore programStore(StorageProperties storageProperties, ObjectMapper objectMapper,
+                                     ObjectProvider<ProgramRepository> programRepository,
+                                     ObjectProvider<MongoTemplate> mongoTemplate,
+                                     ObjectProvider<ProgramReadRouter> readRouter,
+                                     ObjectProvider<MongoClient> mongoClient) throws IOException {
+        log.info("Program storage backend: {}", storageProperties.getBackend());
+        return switch (storageProperties.getBackend()) {
+            case MONGO -> new MongoProgramStore(programRepository.getObject(), mongoTemplate.getObject(),
+                    readRouter.getObject(), mongoClient.getObject());
+            case EMBEDDED -> new EmbeddedProgramStore(storageProperties, objectMapper);
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Configuration properties for the program storage backend
+ * MONGO is the default; EMBEDDED runs on a local memory-mapped log for edge nodes and tests
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "orion.storage")
+public class StorageProperties {
+
+    public enum Backend { MONGO, EMBEDDED }
+
+    private Backend backend = Backend.MONGO;
+
+    @Valid
+    private Embedded embedded = new Embedded();
+
+    private Indexes indexes = new Indexes();
+
+    @Data
+    public static class Embedded {
+
+        @NotBlank(message = "Embedded store path is required")
+        private String path = "data/programs.log";
+
+        /**
+         * Initial size of the mapped region; doubled whenever the log fills it
+         */
+        @Min(value = 4096, message = "Embedded store initial size must be at least 4096 bytes")
+        private long initialSizeBytes = 16L * 1024 * 1024;
+
+        /**
+         * Flush every append to disk before returning (msync)
+         */
+        private boolean forceOnWrite = true;
+
+        /**
+         * Rewrite the log at startup when superseded records outnumber live programs
+         */
+        private boolean compactOnStartup = true;
+    }
+
+    /**
+     * Mongo index provisioning and verification at startup
+     */
+    @Data
+    public static class Indexes {
+
+        public enum Verification { WARN, FAIL }
+
+        /**
+         * Create declared indexes that are missing (never drops or rebuilds existing ones)
+         */
+        private boolean provision = true;
+
+        /**
+         * What to do when the live index set does not match the declaration
+         */
+        private Verification verification = Verification.WARN;
+    }
+}
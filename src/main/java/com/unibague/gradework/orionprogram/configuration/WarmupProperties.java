@@ -0,0 +1,38 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the startup warm-up stage
+ * Warm-up runs before the readiness probe reports UP and never exceeds its time budget
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "orion.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    private Duration timeBudget = Duration.ofSeconds(30);
+
+    /**
+     * Number of programs loaded individually to warm the Mongo pool and the JIT
+     */
+    @Min(value = 0, message = "Hot program count cannot be negative")
+    private int hotPrograms = 50;
+
+    /**
+     * Rounds of synthetic controller calls and serialization
+     */
+    @Min(value = 0, message = "Warm-up iterations cannot be negative")
+    private int iterations = 200;
+
+    private boolean primeUserService = true;
+}
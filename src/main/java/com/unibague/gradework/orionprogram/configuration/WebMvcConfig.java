@@ -0,0 +1,30 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import com.unibague.gradework.orionprogram.metrics.OutcomeMetricsInterceptor;
+import com.unibague.gradework.orionprogram.security.AuthorizationInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC customizations for the program API
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final OutcomeMetricsInterceptor outcomeMetricsInterceptor;
+    private final AuthorizationInterceptor authorizationInterceptor;
+
+    public WebMvcConfig(OutcomeMetricsInterceptor outcomeMetricsInterceptor,
+                        AuthorizationInterceptor authorizationInterceptor) {
+        this.outcomeMetricsInterceptor = outcomeMetricsInterceptor;
+        this.authorizationInterceptor = authorizationInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Registered first so its afterCompletion also sees requests rejected by authorization
+        registry.addInterceptor(outcomeMetricsInterceptor).addPathPatterns("/service/program/**");
+        registry.addInterceptor(authorizationInterceptor).addPathPatterns("/service/program/**");
+    }
+}
@@ -1,15 +1,28 @@
 package com.unibague.gradework.orionprogram.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.unibague.gradework.orionprogram.audit.AuditAction;
+import com.unibague.gradework.orionprogram.audit.AuditTrail;
+import com.unibague.gradework.orionprogram.cache.SearchResultCache;
 import com.unibague.gradework.orionprogram.exception.ProgramExceptions;
+import com.unibague.gradework.orionprogram.model.AreaBatchRequest;
+import com.unibague.gradework.orionprogram.model.ArchivedProgram;
 import com.unibague.gradework.orionprogram.model.EducationalArea;
+import com.unibague.gradework.orionprogram.model.LeaderReassignRequest;
 import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.model.ProgramFilter;
+import com.unibague.gradework.orionprogram.model.ProgramFilterResult;
 import com.unibague.gradework.orionprogram.model.UserDTO;
+import com.unibague.gradework.orionprogram.security.DeniedResponse;
+import com.unibague.gradework.orionprogram.security.RequiresAccess;
 import com.unibague.gradework.orionprogram.services.IProgramService;
 import com.unibague.gradework.orionprogram.services.IUserService;
 import com.unibague.gradework.orionprogram.security.UserContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,56 +30,56 @@ import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Map;
 
+import static com.unibague.gradework.orionprogram.security.RequiresAccess.Level.ADMIN;
+import static com.unibague.gradework.orionprogram.security.RequiresAccess.Level.AUTHENTICATED;
+import static com.unibague.gradework.orionprogram.security.RequiresAccess.Level.COORDINATOR;
+import static com.unibague.gradework.orionprogram.security.RequiresAccess.Level.PROGRAM_READ;
+import static com.unibague.gradework.orionprogram.security.RequiresAccess.Level.PROGRAM_WRITE;
+
 /**
  * Enhanced REST Controller for Program management with authentication and authorization
  * Handles HTTP requests related to academic programs and educational areas
+ * Access rules are declared with @RequiresAccess and enforced by AuthorizationInterceptor
+ * before any handler runs; handlers only check what depends on the loaded data or the body.
  */
 @Slf4j
 @RestController
 @RequestMapping("/service/program")
 public class ProgramController {
 
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    private static final DeniedResponse PROGRAM_ACCESS_DENIED =
+            DeniedResponse.forbidden("PROGRAM_ACCESS_DENIED", "You don't have access to this program");
+    private static final DeniedResponse AREA_DELETE_DENIED =
+            DeniedResponse.forbidden("ADMIN_REQUIRED", "Only administrators can delete educational areas");
+
     @Autowired
     private IProgramService programService;
 
     @Autowired
     private IUserService userService;
 
+    @Autowired
+    private AuditTrail auditTrail;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
     /**
      * Creates a new program
      * SECURITY: Only COORDINATORS and ADMINS can create programs
      */
     @PostMapping
+    @RequiresAccess(value = COORDINATOR, audit = true,
+            message = "Only coordinators and administrators can create programs")
     public ResponseEntity<?> createProgram(@Valid @RequestBody Program program) {
-        try {
-            // Require authentication
-            UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
 
-            // Check permissions - only coordinators and admins
-            if (!currentUser.isCoordinator() && !currentUser.isAdmin()) {
-                log.warn("UNAUTHORIZED: User {} ({}) attempted to create program",
-                        currentUser.getUserId(), currentUser.getRole());
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(Map.of(
-                                "error", "INSUFFICIENT_PERMISSIONS",
-                                "message", "Only coordinators and administrators can create programs"
-                        ));
-            }
+        Program created = programService.createProgram(program);
+        auditTrail.record(AuditAction.PROGRAM_CREATED, currentUser, created.getProgramId(), null);
 
-            log.info("Creating new program: {} by user: {} ({})",
-                    program.getProgramName(), currentUser.getUserId(), currentUser.getRole());
-
-            Program created = programService.createProgram(program);
-
-            log.info("Program created successfully with ID: {} by user: {}",
-                    created.getProgramId(), currentUser.getUserId());
-
-            return ResponseEntity.status(HttpStatus.CREATED).body(created);
-
-        } catch (SecurityException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("error", "AUTHENTICATION_REQUIRED", "message", e.getMessage()));
-        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
     /**
@@ -74,39 +87,41 @@ public class ProgramController {
      * SECURITY: All authenticated users can view programs (filtered by access)
      */
     @GetMapping
+    @RequiresAccess(AUTHENTICATED)
     public ResponseEntity<?> getAllPrograms(@RequestParam(required = false) String search) {
-        try {
-            // Require authentication
-            UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
-
-            List<Program> programs;
-
-            if (search != null && !search.trim().isEmpty()) {
-                log.debug("Searching programs with term: '{}' by user: {}", search, currentUser.getUserId());
-                programs = programService.getPrograms(search);
-            } else {
-                log.debug("Retrieving all programs for user: {} ({})",
-                        currentUser.getUserId(), currentUser.getRole());
-                programs = programService.getPrograms();
-            }
-
-            // Filter programs based on user access (unless admin)
-            if (!currentUser.isAdmin()) {
-                programs = programs.stream()
-                        .filter(program -> currentUser.hasAccessToProgram(program.getProgramId()) ||
-                                currentUser.isCoordinator()) // Coordinators see all
-                        .toList();
-
-                log.debug("Filtered to {} programs for user access", programs.size());
-            }
-
-            log.debug("Found {} programs for user: {}", programs.size(), currentUser.getUserId());
-            return ResponseEntity.ok(programs);
-
-        } catch (SecurityException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("error", "AUTHENTICATION_REQUIRED", "message", e.getMessage()));
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
+
+        List<Program> programs;
+
+        if (search != null && !search.trim().isEmpty()) {
+            log.debug("Searching programs with term: '{}' by user: {}", search, currentUser.getUserId());
+            // Search results are cached already filtered for the user's access scope
+            programs = searchResultCache.get(search, currentUser,
+                    () -> filterByAccess(programService.getPrograms(search), currentUser));
+        } else {
+            log.debug("Retrieving all programs for user: {} ({})",
+                    currentUser.getUserId(), currentUser.getRole());
+            programs = filterByAccess(programService.getPrograms(), currentUser);
         }
+
+        log.debug("Found {} programs for user: {}", programs.size(), currentUser.getUserId());
+        return ResponseEntity.ok(programs);
+    }
+
+    /**
+     * Filters programs with structured predicates, pagination and facet counts
+     * SECURITY: All authenticated users; results are limited to the programs they can see
+     */
+    @PostMapping("/filter")
+    @RequiresAccess(AUTHENTICATED)
+    public ResponseEntity<?> filterPrograms(@Valid @RequestBody ProgramFilter filter) {
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
+
+        // The access scope is pushed down into the query instead of filtering afterwards
+        ProgramFilterResult result = programService.filterPrograms(filter, currentUser.catalogScope());
+
+        log.debug("Filter matched {} programs for user: {}", result.getTotal(), currentUser.getUserId());
+        return ResponseEntity.ok(result);
     }
 
     /**
@@ -114,38 +129,24 @@ public class ProgramController {
      * SECURITY: Only COORDINATORS and ADMINS can view statistics
      */
     @GetMapping("/statistics")
+    @RequiresAccess(value = COORDINATOR,
+            message = "Only coordinators and administrators can view statistics")
     public ResponseEntity<?> getProgramStatistics() {
-        try {
-            // Require authentication
-            UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
-
-            // Check permissions
-            if (!currentUser.isCoordinator() && !currentUser.isAdmin()) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(Map.of(
-                                "error", "INSUFFICIENT_PERMISSIONS",
-                                "message", "Only coordinators and administrators can view statistics"
-                        ));
-            }
-
-            log.debug("Retrieving program statistics for user: {} ({})",
-                    currentUser.getUserId(), currentUser.getRole());
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
 
-            IProgramService.ProgramStatistics stats = programService.getProgramStatistics();
+        log.debug("Retrieving program statistics for user: {} ({})",
+                currentUser.getUserId(), currentUser.getRole());
 
-            // Add audit info
-            Map<String, Object> response = Map.of(
-                    "statistics", stats,
-                    "requestedBy", currentUser.getUserId(),
-                    "requestedAt", java.time.LocalDateTime.now()
-            );
+        IProgramService.ProgramStatistics stats = programService.getProgramStatistics();
 
-            return ResponseEntity.ok(response);
+        // Add audit info
+        Map<String, Object> response = Map.of(
+                "statistics", stats,
+                "requestedBy", currentUser.getUserId(),
+                "requestedAt", java.time.LocalDateTime.now()
+        );
 
-        } catch (SecurityException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("error", "AUTHENTICATION_REQUIRED", "message", e.getMessage()));
-        }
+        return ResponseEntity.ok(response);
     }
 
     /**
@@ -153,69 +154,39 @@ public class ProgramController {
      * SECURITY: Users can only view programs they have access to (unless admin/coordinator)
      */
     @GetMapping("/{programId}")
+    @RequiresAccess(value = PROGRAM_READ, audit = true,
+            error = "PROGRAM_ACCESS_DENIED", message = "You don't have access to this program")
     public ResponseEntity<?> getProgramById(@PathVariable String programId) {
-        try {
-            // Require authentication
-            UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
-
-            // Check access to specific program (unless admin/coordinator)
-            if (!currentUser.isAdmin() && !currentUser.isCoordinator() &&
-                    !currentUser.hasAccessToProgram(programId)) {
-
-                log.warn("ACCESS DENIED: User {} attempted to access program {}",
-                        currentUser.getUserId(), programId);
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(Map.of(
-                                "error", "PROGRAM_ACCESS_DENIED",
-                                "message", "You don't have access to this program"
-                        ));
-            }
-
-            log.debug("Retrieving program by ID: {} for user: {}", programId, currentUser.getUserId());
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
 
-            Program program = programService.getProgramById(programId)
-                    .orElseThrow(() -> new ProgramExceptions.ProgramNotFoundException(programId));
+        log.debug("Retrieving program by ID: {} for user: {}", programId, currentUser.getUserId());
 
-            return ResponseEntity.ok(program);
+        Program program = programService.getProgramById(programId)
+                .orElseThrow(() -> new ProgramExceptions.ProgramNotFoundException(programId));
 
-        } catch (SecurityException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("error", "AUTHENTICATION_REQUIRED", "message", e.getMessage()));
-        }
+        return ResponseEntity.ok(program);
     }
 
     /**
      * Retrieves a program by name
-     * SECURITY: Same access control as getProgramById
+     * SECURITY: Same access control as getProgramById, checked once the program ID is known
      */
     @GetMapping("/name/{programName}")
+    @RequiresAccess(AUTHENTICATED)
     public ResponseEntity<?> getProgramByName(@PathVariable String programName) {
-        try {
-            // Require authentication
-            UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
-
-            log.debug("Retrieving program by name: {} for user: {}", programName, currentUser.getUserId());
-
-            Program program = programService.getProgramByName(programName)
-                    .orElseThrow(() -> new ProgramExceptions.ProgramNotFoundException("name", programName));
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
 
-            // Check access to the found program
-            if (!currentUser.isAdmin() && !currentUser.isCoordinator() &&
-                    !currentUser.hasAccessToProgram(program.getProgramId())) {
+        log.debug("Retrieving program by name: {} for user: {}", programName, currentUser.getUserId());
 
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(Map.of(
-                                "error", "PROGRAM_ACCESS_DENIED",
-                                "message", "You don't have access to this program"
-                        ));
-            }
+        Program program = programService.getProgramByName(programName)
+                .orElseThrow(() -> new ProgramExceptions.ProgramNotFoundException("name", programName));
 
-            return ResponseEntity.ok(program);
-
-        } catch (SecurityException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("error", "AUTHENTICATION_REQUIRED", "message", e.getMessage()));
+        // Check access to the found program
+        if (!PROGRAM_READ.permits(currentUser, program.getProgramId())) {
+            return PROGRAM_ACCESS_DENIED.toResponseEntity();
         }
+
+        return ResponseEntity.ok(program);
     }
 
     /**
@@ -223,40 +194,32 @@ public class ProgramController {
      * SECURITY: Only ADMINS and COORDINATORS of the specific program can update
      */
     @PutMapping("/{programId}")
+    @RequiresAccess(value = PROGRAM_WRITE, audit = true,
+            message = "You don't have permission to update this program")
     public ResponseEntity<?> updateProgram(@PathVariable String programId, @RequestBody Program program) {
-        try {
-            // Require authentication
-            UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
-
-            // Check if program exists first
-            Program existingProgram = programService.getProgramById(programId)
-                    .orElseThrow(() -> new ProgramExceptions.ProgramNotFoundException(programId));
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
 
-            // Check permissions - admin or coordinator with access to this program
-            if (!currentUser.isAdmin() &&
-                    (!currentUser.isCoordinator() || !currentUser.hasAccessToProgram(programId))) {
-
-                log.warn("UPDATE DENIED: User {} ({}) attempted to update program {}",
-                        currentUser.getUserId(), currentUser.getRole(), programId);
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(Map.of(
-                                "error", "INSUFFICIENT_PERMISSIONS",
-                                "message", "You don't have permission to update this program"
-                        ));
-            }
-
-            log.info("Updating program with ID: {} by user: {} ({})",
-                    programId, currentUser.getUserId(), currentUser.getRole());
-
-            Program updated = programService.updateProgram(programId, program);
-
-            log.info("Program updated successfully: {} by user: {}", programId, currentUser.getUserId());
-            return ResponseEntity.ok(updated);
+        Program updated = programService.updateProgram(programId, program);
+        auditTrail.record(AuditAction.PROGRAM_UPDATED, currentUser, programId, null);
+        return ResponseEntity.ok(updated);
+    }
 
-        } catch (SecurityException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("error", "AUTHENTICATION_REQUIRED", "message", e.getMessage()));
-        }
+    /**
+     * Applies an RFC 7386 merge patch to a program: only the fields present change, null removes a field
+     * An If-Match header with the program version makes the patch conditional (412 when stale)
+     * SECURITY: Only ADMINS and COORDINATORS of the specific program can update
+     */
+    @PatchMapping(value = "/{programId}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    @RequiresAccess(value = PROGRAM_WRITE, audit = true,
+            message = "You don't have permission to update this program")
+    public ResponseEntity<?> patchProgram(@PathVariable String programId,
+                                          @RequestBody JsonNode patch,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
+
+        Program patched = programService.patchProgram(programId, patch, expectedVersion(ifMatch));
+        auditTrail.record(AuditAction.PROGRAM_UPDATED, currentUser, programId, null);
+        return ResponseEntity.ok().eTag(versionTag(patched)).body(patched);
     }
 
     /**
@@ -264,65 +227,90 @@ public class ProgramController {
      * SECURITY: Only ADMINS can delete programs
      */
     @DeleteMapping("/{programId}")
+    @RequiresAccess(value = ADMIN, error = "ADMIN_REQUIRED",
+            message = "Only administrators can delete programs")
     public ResponseEntity<?> deleteProgram(@PathVariable String programId) {
-        try {
-            // Require admin privileges
-            UserContext.requireAdmin();
-            UserContext.AuthenticatedUser currentUser = UserContext.getCurrentUser().get();
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
 
-            log.warn("DELETING PROGRAM: {} by admin user: {}", programId, currentUser.getUserId());
+        programService.deleteProgram(programId);
+        auditTrail.record(AuditAction.PROGRAM_DELETED, currentUser, programId, null);
 
-            programService.deleteProgram(programId);
+        return ResponseEntity.noContent().build();
+    }
 
-            log.warn("Program deleted successfully: {} by admin: {}", programId, currentUser.getUserId());
+    /**
+     * Retires a program: it leaves the catalog, areas included, but is kept in the archive
+     * SECURITY: Only ADMINS can archive programs
+     */
+    @PostMapping("/{programId}/archive")
+    @RequiresAccess(value = ADMIN, error = "ADMIN_REQUIRED",
+            message = "Only administrators can archive programs")
+    public ResponseEntity<?> archiveProgram(@PathVariable String programId) {
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
 
-            return ResponseEntity.noContent().build();
+        ArchivedProgram archived = programService.archiveProgram(programId, currentUser.getUserId());
+        auditTrail.record(AuditAction.PROGRAM_ARCHIVED, currentUser, programId, null);
 
-        } catch (SecurityException e) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                    .body(Map.of(
-                            "error", "ADMIN_REQUIRED",
-                            "message", "Only administrators can delete programs"
-                    ));
-        }
+        return ResponseEntity.ok(archived);
     }
 
     /**
-     * Creates a new educational area for a program
-     * SECURITY: Only coordinators of the program or admins can create areas
+     * Lists archived programs, most recently archived first
+     * SECURITY: Only COORDINATORS and ADMINS can view the archive
      */
-    @PostMapping("/{programId}/area")
-    public ResponseEntity<?> createEducationalArea(@PathVariable String programId,
-                                                   @Valid @RequestBody EducationalArea area) {
-        try {
-            // Require authentication
-            UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
+    @GetMapping("/archive")
+    @RequiresAccess(value = COORDINATOR,
+            message = "Only coordinators and administrators can view archived programs")
+    public ResponseEntity<?> getArchivedPrograms(@RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(programService.getArchivedPrograms(page, size));
+    }
 
-            // Check permissions - admin or coordinator with access to this program
-            if (!currentUser.isAdmin() &&
-                    (!currentUser.isCoordinator() || !currentUser.hasAccessToProgram(programId))) {
+    /**
+     * Retrieves one archived program
+     * SECURITY: Only COORDINATORS and ADMINS can view the archive
+     */
+    @GetMapping("/archive/{programId}")
+    @RequiresAccess(value = COORDINATOR,
+            message = "Only coordinators and administrators can view archived programs")
+    public ResponseEntity<?> getArchivedProgram(@PathVariable String programId) {
+        ArchivedProgram archived = programService.getArchivedProgram(programId)
+                .orElseThrow(() -> new ProgramExceptions.ProgramNotFoundException("archived ID", programId));
+
+        return ResponseEntity.ok(archived);
+    }
 
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(Map.of(
-                                "error", "INSUFFICIENT_PERMISSIONS",
-                                "message", "You don't have permission to create areas in this program"
-                        ));
-            }
+    /**
+     * Moves an archived program back into the catalog
+     * SECURITY: Only ADMINS can restore programs
+     */
+    @PostMapping("/archive/{programId}/restore")
+    @RequiresAccess(value = ADMIN, error = "ADMIN_REQUIRED",
+            message = "Only administrators can restore archived programs")
+    public ResponseEntity<?> restoreProgram(@PathVariable String programId) {
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
 
-            log.info("Creating educational area '{}' for program: {} by user: {} ({})",
-                    area.getName(), programId, currentUser.getUserId(), currentUser.getRole());
+        Program restored = programService.restoreProgram(programId);
+        auditTrail.record(AuditAction.PROGRAM_RESTORED, currentUser, programId, null);
 
-            Program updated = programService.createEducationalArea(area, programId);
+        return ResponseEntity.ok().eTag(versionTag(restored)).body(restored);
+    }
 
-            log.info("Educational area created successfully for program: {} by user: {}",
-                    programId, currentUser.getUserId());
+    /**
+     * Creates a new educational area for a program
+     * SECURITY: Only coordinators of the program or admins can create areas
+     */
+    @PostMapping("/{programId}/area")
+    @RequiresAccess(value = PROGRAM_WRITE,
+            message = "You don't have permission to create areas in this program")
+    public ResponseEntity<?> createEducationalArea(@PathVariable String programId,
+                                                   @Valid @RequestBody EducationalArea area) {
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
 
-            return ResponseEntity.status(HttpStatus.CREATED).body(updated);
+        Program updated = programService.createEducationalArea(area, programId);
+        auditTrail.record(AuditAction.AREA_CREATED, currentUser, programId, area.getEducationalAreaId());
 
-        } catch (SecurityException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("error", "AUTHENTICATION_REQUIRED", "message", e.getMessage()));
-        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(updated);
     }
 
     /**
@@ -330,34 +318,18 @@ public class ProgramController {
      * SECURITY: Users need access to the program to view its areas
      */
     @GetMapping("/{programId}/area")
+    @RequiresAccess(value = PROGRAM_READ,
+            error = "PROGRAM_ACCESS_DENIED", message = "You don't have access to this program's areas")
     public ResponseEntity<?> getEducationalAreas(@PathVariable String programId) {
-        try {
-            // Require authentication
-            UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
-
-            // Check access to program
-            if (!currentUser.isAdmin() && !currentUser.isCoordinator() &&
-                    !currentUser.hasAccessToProgram(programId)) {
-
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(Map.of(
-                                "error", "PROGRAM_ACCESS_DENIED",
-                                "message", "You don't have access to this program's areas"
-                        ));
-            }
-
-            log.debug("Retrieving educational areas for program: {} by user: {}",
-                    programId, currentUser.getUserId());
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
 
-            List<EducationalArea> areas = programService.getEducationalAreas(programId);
+        log.debug("Retrieving educational areas for program: {} by user: {}",
+                programId, currentUser.getUserId());
 
-            log.debug("Found {} educational areas for program: {}", areas.size(), programId);
-            return ResponseEntity.ok(areas);
+        List<EducationalArea> areas = programService.getEducationalAreas(programId);
 
-        } catch (SecurityException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("error", "AUTHENTICATION_REQUIRED", "message", e.getMessage()));
-        }
+        log.debug("Found {} educational areas for program: {}", areas.size(), programId);
+        return ResponseEntity.ok(areas);
     }
 
     /**
@@ -365,34 +337,19 @@ public class ProgramController {
      * SECURITY: Same access control as getEducationalAreas
      */
     @GetMapping("/{programId}/area/{areaId}")
+    @RequiresAccess(value = PROGRAM_READ,
+            error = "PROGRAM_ACCESS_DENIED", message = "You don't have access to this program's areas")
     public ResponseEntity<?> getEducationalAreaById(@PathVariable String programId,
                                                     @PathVariable String areaId) {
-        try {
-            // Require authentication and program access
-            UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
-
-            if (!currentUser.isAdmin() && !currentUser.isCoordinator() &&
-                    !currentUser.hasAccessToProgram(programId)) {
-
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(Map.of(
-                                "error", "PROGRAM_ACCESS_DENIED",
-                                "message", "You don't have access to this program's areas"
-                        ));
-            }
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
 
-            log.debug("Retrieving educational area {} for program: {} by user: {}",
-                    areaId, programId, currentUser.getUserId());
+        log.debug("Retrieving educational area {} for program: {} by user: {}",
+                areaId, programId, currentUser.getUserId());
 
-            EducationalArea area = programService.getEducationalAreaById(programId, areaId)
-                    .orElseThrow(() -> new ProgramExceptions.EducationalAreaNotFoundException(programId, areaId));
+        EducationalArea area = programService.getEducationalAreaById(programId, areaId)
+                .orElseThrow(() -> new ProgramExceptions.EducationalAreaNotFoundException(programId, areaId));
 
-            return ResponseEntity.ok(area);
-
-        } catch (SecurityException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("error", "AUTHENTICATION_REQUIRED", "message", e.getMessage()));
-        }
+        return ResponseEntity.ok(area);
     }
 
     /**
@@ -400,47 +357,32 @@ public class ProgramController {
      * SECURITY: Same access control as educational areas
      */
     @GetMapping("/{programId}/area/{areaId}/leader")
+    @RequiresAccess(value = PROGRAM_READ,
+            error = "PROGRAM_ACCESS_DENIED", message = "You don't have access to this program's information")
     public ResponseEntity<?> getEducationalAreaLeader(@PathVariable String programId,
                                                       @PathVariable String areaId) {
-        try {
-            // Require authentication and program access
-            UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
-
-            if (!currentUser.isAdmin() && !currentUser.isCoordinator() &&
-                    !currentUser.hasAccessToProgram(programId)) {
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
 
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(Map.of(
-                                "error", "PROGRAM_ACCESS_DENIED",
-                                "message", "You don't have access to this program's information"
-                        ));
-            }
+        log.debug("Retrieving leader for educational area {} in program: {} by user: {}",
+                areaId, programId, currentUser.getUserId());
 
-            log.debug("Retrieving leader for educational area {} in program: {} by user: {}",
-                    areaId, programId, currentUser.getUserId());
+        // Get the educational area
+        EducationalArea area = programService.getEducationalAreaById(programId, areaId)
+                .orElseThrow(() -> new ProgramExceptions.EducationalAreaNotFoundException(programId, areaId));
 
-            // Get the educational area
-            EducationalArea area = programService.getEducationalAreaById(programId, areaId)
-                    .orElseThrow(() -> new ProgramExceptions.EducationalAreaNotFoundException(programId, areaId));
-
-            // Check if leader is assigned
-            if (area.getLeaderId() == null || area.getLeaderId().isBlank()) {
-                throw new ProgramExceptions.InvalidProgramDataException("No leader assigned to educational area: " + areaId);
-            }
-
-            // Get leader user data from User Service
-            UserDTO leader = userService.getUserById(area.getLeaderId())
-                    .orElseThrow(() -> new ProgramExceptions.InvalidProgramDataException("Leader user not found with ID: " + area.getLeaderId()));
+        // Check if leader is assigned
+        if (area.getLeaderId() == null || area.getLeaderId().isBlank()) {
+            throw new ProgramExceptions.InvalidProgramDataException("No leader assigned to educational area: " + areaId);
+        }
 
-            log.debug("Found leader '{}' for educational area: {} requested by: {}",
-                    leader.getName(), areaId, currentUser.getUserId());
+        // Get leader user data from User Service
+        UserDTO leader = userService.getUserById(area.getLeaderId())
+                .orElseThrow(() -> new ProgramExceptions.InvalidProgramDataException("Leader user not found with ID: " + area.getLeaderId()));
 
-            return ResponseEntity.ok(leader);
+        log.debug("Found leader '{}' for educational area: {} requested by: {}",
+                leader.getName(), areaId, currentUser.getUserId());
 
-        } catch (SecurityException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("error", "AUTHENTICATION_REQUIRED", "message", e.getMessage()));
-        }
+        return ResponseEntity.ok(leader);
     }
 
     /**
@@ -448,36 +390,39 @@ public class ProgramController {
      * SECURITY: Only coordinators of the program or admins can update areas
      */
     @PutMapping("/{programId}/area/{areaId}")
+    @RequiresAccess(value = PROGRAM_WRITE,
+            message = "You don't have permission to update areas in this program")
     public ResponseEntity<?> updateEducationalArea(@PathVariable String programId,
                                                    @PathVariable String areaId,
                                                    @RequestBody EducationalArea area) {
-        try {
-            // Require authentication
-            UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
-
-            // Check permissions
-            if (!currentUser.isAdmin() &&
-                    (!currentUser.isCoordinator() || !currentUser.hasAccessToProgram(programId))) {
-
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(Map.of(
-                                "error", "INSUFFICIENT_PERMISSIONS",
-                                "message", "You don't have permission to update areas in this program"
-                        ));
-            }
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
 
-            log.info("Updating educational area {} for program: {} by user: {} ({})",
-                    areaId, programId, currentUser.getUserId(), currentUser.getRole());
-
-            EducationalArea updated = programService.updateEducationalArea(programId, areaId, area);
-
-            log.info("Educational area updated successfully: {} by user: {}", areaId, currentUser.getUserId());
-            return ResponseEntity.ok(updated);
+        EducationalArea updated = programService.updateEducationalArea(programId, areaId, area);
+        auditTrail.record(AuditAction.AREA_UPDATED, currentUser, programId, areaId);
+        return ResponseEntity.ok(updated);
+    }
 
-        } catch (SecurityException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("error", "AUTHENTICATION_REQUIRED", "message", e.getMessage()));
-        }
+    /**
+     * Applies an RFC 7386 merge patch to an educational area
+     * If-Match carries the version of the owning program; the ETag is its new version
+     * SECURITY: Only coordinators of the program or admins can update areas
+     */
+    @PatchMapping(value = "/{programId}/area/{areaId}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    @RequiresAccess(value = PROGRAM_WRITE,
+            message = "You don't have permission to update areas in this program")
+    public ResponseEntity<?> patchEducationalArea(@PathVariable String programId,
+                                                  @PathVariable String areaId,
+                                                  @RequestBody JsonNode patch,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
+
+        Program patched = programService.patchEducationalArea(programId, areaId, patch, expectedVersion(ifMatch));
+        auditTrail.record(AuditAction.AREA_UPDATED, currentUser, programId, areaId);
+        EducationalArea area = patched.getEducationalArea().stream()
+                .filter(candidate -> candidate.getEducationalAreaId().equals(areaId))
+                .findFirst()
+                .orElseThrow(() -> new ProgramExceptions.EducationalAreaNotFoundException(programId, areaId));
+        return ResponseEntity.ok().eTag(versionTag(patched)).body(area);
     }
 
     /**
@@ -485,29 +430,95 @@ public class ProgramController {
      * SECURITY: Only admins can delete educational areas
      */
     @DeleteMapping("/{programId}/area/{areaId}")
+    @RequiresAccess(value = ADMIN, error = "ADMIN_REQUIRED",
+            message = "Only administrators can delete educational areas")
     public ResponseEntity<?> deleteEducationalArea(@PathVariable String programId,
                                                    @PathVariable String areaId) {
-        try {
-            // Require admin privileges
-            UserContext.requireAdmin();
-            UserContext.AuthenticatedUser currentUser = UserContext.getCurrentUser().get();
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
+
+        programService.deleteEducationalArea(programId, areaId);
+        auditTrail.record(AuditAction.AREA_DELETED, currentUser, programId, areaId);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Applies many educational area operations (CREATE, UPDATE, DELETE) in one atomic update
+     * SECURITY: Only coordinators of the program or admins; DELETE operations require admin
+     */
+    @RequestMapping(value = "/{programId}/area/batch", method = {RequestMethod.POST, RequestMethod.PATCH})
+    @RequiresAccess(value = PROGRAM_WRITE, audit = true,
+            message = "You don't have permission to modify areas in this program")
+    public ResponseEntity<?> applyEducationalAreaBatch(@PathVariable String programId,
+                                                       @Valid @RequestBody AreaBatchRequest batch) {
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
+
+        // Depends on the body, so it cannot be declared on the endpoint
+        boolean deletes = batch.getOperations().stream()
+                .anyMatch(operation -> operation.getOp() == AreaBatchRequest.Operation.DELETE);
+        if (deletes && !currentUser.isAdmin()) {
+            auditTrail.record(AuditAction.ACCESS_DENIED, currentUser, programId, null);
+            return AREA_DELETE_DENIED.toResponseEntity();
+        }
 
-            log.warn("DELETING EDUCATIONAL AREA: {} from program {} by admin: {}",
-                    areaId, programId, currentUser.getUserId());
+        Program updated = programService.applyEducationalAreaBatch(programId, batch.getOperations());
+        auditTrail.record(AuditAction.AREA_BATCH_APPLIED, currentUser, programId, null);
 
-            programService.deleteEducationalArea(programId, areaId);
+        return ResponseEntity.ok(updated);
+    }
 
-            log.warn("Educational area deleted successfully: {} by admin: {}",
-                    areaId, currentUser.getUserId());
+    /**
+     * Reassigns every educational area led by one user to another, across all programs
+     * SECURITY: Only ADMINS can reassign leaders
+     */
+    @PostMapping("/leaders/reassign")
+    @RequiresAccess(value = ADMIN, error = "ADMIN_REQUIRED",
+            message = "Only administrators can reassign area leaders")
+    public ResponseEntity<?> reassignLeader(@Valid @RequestBody LeaderReassignRequest request) {
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
+
+        long areas = programService.reassignLeader(request.getFrom(), request.getTo());
+        auditTrail.record(AuditAction.LEADERS_REASSIGNED, currentUser, null, null);
+
+        return ResponseEntity.ok(Map.of(
+                "from", request.getFrom(),
+                "to", request.getTo(),
+                "affectedAreas", areas
+        ));
+    }
 
-            return ResponseEntity.noContent().build();
+    /**
+     * Version named by an If-Match header ("3", W/"3" or 3); null when absent or "*"
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
 
-        } catch (SecurityException e) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                    .body(Map.of(
-                            "error", "ADMIN_REQUIRED",
-                            "message", "Only administrators can delete educational areas"
-                    ));
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) tag = tag.substring(2);
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) tag = tag.substring(1, tag.length() - 1);
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new ProgramExceptions.InvalidProgramDataException("If-Match must be a program version");
         }
     }
-}
\ No newline at end of file
+
+    private static String versionTag(Program program) {
+        return String.valueOf(program.getVersion() != null ? program.getVersion() : 0);
+    }
+
+    /**
+     * Filters programs based on user access (unless admin)
+     */
+    private List<Program> filterByAccess(List<Program> programs, UserContext.AuthenticatedUser currentUser) {
+        if (currentUser.isAdmin()) return programs;
+
+        List<Program> filtered = programs.stream()
+                .filter(program -> currentUser.hasAccessToProgram(program.getProgramId()) ||
+                        currentUser.isCoordinator()) // Coordinators see all
+                .toList();
+
+        log.debug("Filtered to {} programs for user access", filtered.size());
+        return filtered;
+    }
+}
@@ -1,11 +1,15 @@
 package com.unibague.gradework.orionprogram.exception;
 
+import com.unibague.gradework.orionprogram.security.DeniedResponse;
+import com.unibague.gradework.orionprogram.security.RequestDeadline;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
@@ -17,7 +21,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ProgramExceptions.ProgramNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleProgramNotFound(ProgramExceptions.ProgramNotFoundException ex, WebRequest request) {
-        log.warn("Program not found: {}", ex.getMessage());
+        log.debug("Program not found: {}", ex.getMessage());
 
         ErrorResponse error = ErrorResponse.builder()
                 .error("PROGRAM_NOT_FOUND")
@@ -33,7 +37,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ProgramExceptions.EducationalAreaNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleEducationalAreaNotFound(ProgramExceptions.EducationalAreaNotFoundException ex, WebRequest request) {
-        log.warn("Educational area not found: {}", ex.getMessage());
+        log.debug("Educational area not found: {}", ex.getMessage());
 
         ErrorResponse error = ErrorResponse.builder()
                 .error("EDUCATIONAL_AREA_NOT_FOUND")
@@ -63,6 +67,60 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(ProgramExceptions.ConcurrentProgramModificationException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrentModification(ProgramExceptions.ConcurrentProgramModificationException ex, WebRequest request) {
+        log.warn("Concurrent modification: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .error("CONCURRENT_MODIFICATION")
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .status(HttpStatus.CONFLICT.value())
+                .service("orion-program")
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(ProgramExceptions.ProgramVersionMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleVersionMismatch(ProgramExceptions.ProgramVersionMismatchException ex, WebRequest request) {
+        log.debug("Version mismatch: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .error("VERSION_MISMATCH")
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .service("orion-program")
+                .build();
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    /**
+     * The gateway has usually given up already; the status only matters to direct S2S callers
+     * QueryTimeoutException is what a Mongo maxTimeMS expiry becomes under a request deadline
+     * Marked on the request so the concurrency limiter does not take the caller's deadline as overload
+     */
+    @ExceptionHandler({ProgramExceptions.DeadlineExceededException.class, QueryTimeoutException.class})
+    public ResponseEntity<ErrorResponse> handleDeadlineExceeded(RuntimeException ex, WebRequest request) {
+        log.debug("Deadline exceeded: {}", ex.getMessage());
+        request.setAttribute(RequestDeadline.EXPIRED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+
+        ErrorResponse error = ErrorResponse.builder()
+                .error("DEADLINE_EXCEEDED")
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .status(HttpStatus.GATEWAY_TIMEOUT.value())
+                .service("orion-program")
+                .build();
+
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(error);
+    }
+
     @ExceptionHandler(ProgramExceptions.InvalidProgramDataException.class)
     public ResponseEntity<ErrorResponse> handleInvalidProgramData(ProgramExceptions.InvalidProgramDataException ex, WebRequest request) {
         log.warn("Invalid program data: {}", ex.getMessage());
@@ -79,6 +137,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error);
     }
 
+    /**
+     * Handlers called outside AuthorizationInterceptor (which answers 401 before the handler runs)
+     */
+    @ExceptionHandler(SecurityException.class)
+    public ResponseEntity<byte[]> handleAuthenticationRequired(SecurityException ex) {
+        return DeniedResponse.AUTHENTICATION_REQUIRED.toResponseEntity();
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleValidationError(IllegalArgumentException ex, WebRequest request) {
         log.warn("Validation error: {}", ex.getMessage());
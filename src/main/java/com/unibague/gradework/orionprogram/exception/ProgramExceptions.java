@@ -2,7 +2,18 @@ package com.unibague.gradework.orionprogram.exception;
 
 public class ProgramExceptions {
 
-    public static class ProgramNotFoundException extends RuntimeException {
+    /**
+     * Base for expected domain outcomes (not found, duplicates, invalid data)
+     * They are mapped to a status by GlobalExceptionHandler and never logged with a trace,
+     * so no stack trace is captured: throwing one costs little more than a normal return
+     */
+    public abstract static class DomainException extends RuntimeException {
+        protected DomainException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    public static class ProgramNotFoundException extends DomainException {
         public ProgramNotFoundException(String programId) {
             super("Program not found with ID: " + programId);
         }
@@ -12,7 +23,7 @@ public class ProgramExceptions {
         }
     }
 
-    public static class EducationalAreaNotFoundException extends RuntimeException {
+    public static class EducationalAreaNotFoundException extends DomainException {
         public EducationalAreaNotFoundException(String areaId) {
             super("Educational area not found with ID: " + areaId);
         }
@@ -25,16 +36,47 @@ public class ProgramExceptions {
     /**
      * Exception thrown when trying to create a duplicate program
      */
-    public static class DuplicateProgramException extends RuntimeException {
+    public static class DuplicateProgramException extends DomainException {
         public DuplicateProgramException(String programName) {
             super("Program with name '" + programName + "' already exists");
         }
+
+        public DuplicateProgramException(String field, String value) {
+            super("Program with " + field + " '" + value + "' already exists");
+        }
+    }
+
+    /**
+     * Exception thrown when a program changed between read and a conditional write
+     */
+    public static class ConcurrentProgramModificationException extends DomainException {
+        public ConcurrentProgramModificationException(String programId) {
+            super("Program " + programId + " was modified concurrently, please retry");
+        }
+    }
+
+    /**
+     * Exception thrown when a conditional write names a version that is no longer current
+     */
+    public static class ProgramVersionMismatchException extends DomainException {
+        public ProgramVersionMismatchException(String programId, long expectedVersion) {
+            super("Program " + programId + " is no longer at version " + expectedVersion);
+        }
+    }
+
+    /**
+     * Exception thrown when the caller's deadline passed before an operation could start
+     */
+    public static class DeadlineExceededException extends DomainException {
+        public DeadlineExceededException(String operation) {
+            super("Request deadline exceeded before " + operation);
+        }
     }
 
     /**
      * Exception thrown for invalid program data
      */
-    public static class InvalidProgramDataException extends RuntimeException {
+    public static class InvalidProgramDataException extends DomainException {
         public InvalidProgramDataException(String message) {
             super(message);
         }
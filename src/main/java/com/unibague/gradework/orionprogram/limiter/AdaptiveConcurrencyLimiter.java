@@ -0,0 +1,96 @@
+package com.unibague.gradework.orionprogram.limiter;
+
+import com.unibague.gradework.orionprogram.configuration.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency-driven AIMD concurrency limit
+ * Every completed request is a sample. Latency is tracked as two moving averages over all routes:
+ * a recent one (the last few requests) and a long-term baseline. If the recent average exceeds
+ * latencyTolerance × the baseline, or the request failed, the limit shrinks multiplicatively
+ * (at most once per round of in-flight requests). Comparing averages, not single samples, keeps a
+ * normal mix of fast and slow endpoints from reading as congestion. Otherwise, while the limit is
+ * actually being used, it grows by about one per round trip; while it is mostly idle, a limit left
+ * below initialLimit by an earlier back-off recovers towards it.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final ConcurrencyLimitProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final double recentWeight;
+    private final double baselineWeight;
+
+    private volatile double limit;
+    private double recentNanos;
+    private double baselineNanos;
+    private long samples;
+    private int samplesSinceBackoff;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limit = properties.getInitialLimit();
+        // Exponential moving averages with the usual N-sample smoothing factor 2 / (N + 1)
+        this.recentWeight = 2.0 / (properties.getRecentWindow() + 1);
+        this.baselineWeight = 2.0 / (properties.getBaselineWindow() + 1);
+
+        Gauge.builder("orion.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("orion.concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("Requests currently being processed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param priority internal/S2S traffic may use the whole limit, user traffic only its share
+     * @return true if the request may proceed; it must then call {@link #release}
+     */
+    public boolean tryAcquire(boolean priority) {
+        double current = limit;
+        int cap = Math.max(1, (int) (priority ? current : current * properties.getUserShare()));
+        while (true) {
+            int active = inFlight.get();
+            if (active >= cap) return false;
+            if (inFlight.compareAndSet(active, active + 1)) return true;
+        }
+    }
+
+    public void release(long latencyNanos, boolean failed) {
+        int active = inFlight.getAndDecrement();
+        synchronized (this) {
+            // Plain running mean until a window is full, so the first samples do not skew the baseline
+            double sampleWeight = 1.0 / ++samples;
+            recentNanos += Math.max(sampleWeight, recentWeight) * (latencyNanos - recentNanos);
+            baselineNanos += Math.max(sampleWeight, baselineWeight) * (latencyNanos - baselineNanos);
+
+            double next = limit;
+            samplesSinceBackoff++;
+            if (failed || recentNanos > baselineNanos * properties.getLatencyTolerance()) {
+                // Back off at most once per round of in-flight requests, not once per slow sample
+                if (samplesSinceBackoff >= limit) {
+                    next = limit * properties.getBackoffRatio();
+                    samplesSinceBackoff = 0;
+                }
+            } else if (active >= limit / 2) {
+                next = limit + 1.0 / limit;
+            } else if (limit < properties.getInitialLimit()) {
+                // Light traffic never fills half the limit, so growth alone would leave it low for the next burst
+                next = Math.min(properties.getInitialLimit(), limit + 1);
+            }
+            limit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), next));
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
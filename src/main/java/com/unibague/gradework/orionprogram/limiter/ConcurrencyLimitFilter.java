@@ -0,0 +1,94 @@
+package com.unibague.gradework.orionprogram.limiter;
+
+import com.unibague.gradework.orionprogram.configuration.ConcurrencyLimitProperties;
+import com.unibague.gradework.orionprogram.security.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sheds load before it queues on Tomcat threads
+ * Runs right after RequestDeadlineFilter; internal/S2S requests are shed last.
+ */
+@Slf4j
+@Component
+@Order(2)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String H_INTERNAL_REQUEST = "X-Internal-Request";
+    private static final String H_SERVICE_REQUEST  = "X-Service-Request";
+
+    private static final byte[] OVERLOADED_BODY = """
+            {"error":"SERVICE_OVERLOADED",
+             "message":"The service is overloaded, retry later",
+             "status":503,"service":"orion-program"}""".getBytes(StandardCharsets.UTF_8);
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ConcurrencyLimitProperties properties;
+    private final Counter rejectedPriority;
+    private final Counter rejectedUser;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, ConcurrencyLimitProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.properties = properties;
+        this.rejectedPriority = Counter.builder("orion.concurrency.rejected")
+                .tag("priority", "internal")
+                .register(meterRegistry);
+        this.rejectedUser = Counter.builder("orion.concurrency.rejected")
+                .tag("priority", "user")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Health probes must keep answering even when the service is saturated
+        return !properties.isEnabled() || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+
+        boolean priority = "true".equalsIgnoreCase(req.getHeader(H_SERVICE_REQUEST))
+                || "true".equalsIgnoreCase(req.getHeader(H_INTERNAL_REQUEST));
+
+        if (!limiter.tryAcquire(priority)) {
+            (priority ? rejectedPriority : rejectedUser).increment();
+            log.debug("Shedding {} request {} (limit: {}, in flight: {})",
+                    priority ? "internal" : "user", req.getRequestURI(), limiter.getLimit(), limiter.getInFlight());
+            reject(res);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(req, res);
+            // A 504 for the caller's own deadline says nothing about our capacity; a short
+            // deadline header must not be able to drive the limit down
+            failed = res.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR
+                    && !RequestDeadline.isMarkedExpired(req);
+        } finally {
+            limiter.release(System.nanoTime() - start, failed);
+        }
+    }
+
+    private void reject(HttpServletResponse res) throws IOException {
+        res.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        res.setHeader("Retry-After", String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds())));
+        res.setContentType("application/json");
+        res.setContentLength(OVERLOADED_BODY.length);
+        res.getOutputStream().write(OVERLOADED_BODY);
+    }
+}
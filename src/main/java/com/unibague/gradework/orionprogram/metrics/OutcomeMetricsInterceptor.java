@@ -0,0 +1,33 @@
+package com.unibague.gradework.orionprogram.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Records denied and not-found outcomes once per request, after the handler and
+ * exception handlers have settled the final status code
+ * Requests rejected before dispatch never reach it; GatewaySecurityFilter counts its own 403s
+ */
+@Component
+public class OutcomeMetricsInterceptor implements HandlerInterceptor {
+
+    private final ProgramMetrics programMetrics;
+
+    public OutcomeMetricsInterceptor(ProgramMetrics programMetrics) {
+        this.programMetrics = programMetrics;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        int status = response.getStatus();
+        if (status == HttpStatus.UNAUTHORIZED.value() || status == HttpStatus.FORBIDDEN.value()) {
+            programMetrics.accessDenied(status);
+        } else if (status == HttpStatus.NOT_FOUND.value()) {
+            programMetrics.notFound();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.unibague.gradework.orionprogram.metrics;
+
+import com.unibague.gradework.orionprogram.security.UserContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Business outcome counters for the program API
+ * Role tags are normalized to a fixed set so header values cannot explode metric cardinality
+ */
+@Component
+public class ProgramMetrics {
+
+    private static final String ROLE_ADMIN = "admin";
+    private static final String ROLE_COORDINATOR = "coordinator";
+    private static final String ROLE_OTHER = "other";
+    private static final String ROLE_ANONYMOUS = "anonymous";
+
+    private static final String[] ROLES = {ROLE_ADMIN, ROLE_COORDINATOR, ROLE_OTHER, ROLE_ANONYMOUS};
+
+    // Registered up front: rejected requests only look up an array slot
+    private final Counter[] unauthorized = new Counter[ROLES.length];
+    private final Counter[] forbidden = new Counter[ROLES.length];
+    private final Counter[] notFound = new Counter[ROLES.length];
+
+    public ProgramMetrics(MeterRegistry meterRegistry) {
+        for (int i = 0; i < ROLES.length; i++) {
+            unauthorized[i] = deniedCounter(meterRegistry, ROLES[i], HttpStatus.UNAUTHORIZED);
+            forbidden[i] = deniedCounter(meterRegistry, ROLES[i], HttpStatus.FORBIDDEN);
+            notFound[i] = Counter.builder("orion.program.not.found")
+                    .description("Requests for programs or areas that do not exist")
+                    .tag("role", ROLES[i])
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Counts a 401/403 outcome for the current user
+     */
+    public void accessDenied(int status) {
+        Counter[] counters = status == HttpStatus.UNAUTHORIZED.value() ? unauthorized : forbidden;
+        counters[currentRoleIndex()].increment();
+    }
+
+    /**
+     * Counts a 404 outcome for the current user
+     */
+    public void notFound() {
+        notFound[currentRoleIndex()].increment();
+    }
+
+    private static Counter deniedCounter(MeterRegistry meterRegistry, String role, HttpStatus status) {
+        return Counter.builder("orion.program.access.denied")
+                .description("Requests rejected for missing authentication or permissions")
+                .tag("role", role)
+                .tag("status", String.valueOf(status.value()))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Index into ROLES for the current user
+     */
+    private static int currentRoleIndex() {
+        UserContext.AuthenticatedUser user = UserContext.getCurrentUser().orElse(null);
+        if (user == null) return 3;
+        if (user.isAdmin()) return 0;
+        if (user.isCoordinator()) return 1;
+        return 2;
+    }
+}
@@ -0,0 +1,31 @@
+package com.unibague.gradework.orionprogram.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A retired program kept for records, outside the hot programs collection
+ * The program is stored as it was when archived, educational areas included
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "programs_archive")
+public class ArchivedProgram {
+
+    @Id
+    private String programId;
+
+    private Program program;
+
+    private Instant archivedAt;
+
+    private String archivedBy;
+}
@@ -0,0 +1,52 @@
+package com.unibague.gradework.orionprogram.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Body of POST/PATCH /{programId}/area/batch
+ * Operations are applied in order and committed together, or not at all
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AreaBatchRequest {
+
+    public enum Operation { CREATE, UPDATE, DELETE }
+
+    @NotEmpty(message = "At least one area operation is required")
+    @Size(max = 500, message = "A batch cannot contain more than 500 operations")
+    @Valid
+    private List<AreaOperation> operations;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AreaOperation {
+
+        @NotNull(message = "Operation type is required")
+        private Operation op;
+
+        /**
+         * Required for UPDATE and DELETE; assigned by the service for CREATE
+         */
+        private String educationalAreaId;
+
+        @Size(min = 2, max = 80, message = "Educational area name must be between 2 and 80 characters")
+        private String name;
+
+        private String leaderId;
+
+        private String image;
+    }
+}
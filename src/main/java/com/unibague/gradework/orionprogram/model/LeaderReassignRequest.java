@@ -0,0 +1,25 @@
+package com.unibague.gradework.orionprogram.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Body of POST /service/program/leaders/reassign
+ * Every educational area led by {@code from}, in any program, is handed over to {@code to}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderReassignRequest {
+
+    @NotBlank(message = "Current leader ID is required")
+    private String from;
+
+    @NotBlank(message = "New leader ID is required")
+    private String to;
+}
@@ -29,10 +29,18 @@ public class Program {
     private String programName;
 
     @Email(message = "Email format is invalid")
-    @Indexed(unique = true)
+    @Indexed(unique = true, partialFilter = "{ 'email': { '$type': 'string' } }")
     private String email;
 
     private String image;
 
     private List<EducationalArea> educationalArea;
+
+    /**
+     * Incremented by every write; used as the precondition (If-Match) of merge patches
+     * Documents written before versioning have no value and count as version 0.
+     * Server-owned: a value in a create or update body is ignored. Not READ_ONLY for Jackson,
+     * because the embedded store and the catalog snapshot persist programs as JSON.
+     */
+    private Long version;
 }
\ No newline at end of file
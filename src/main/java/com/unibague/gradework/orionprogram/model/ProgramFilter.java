@@ -0,0 +1,52 @@
+package com.unibague.gradework.orionprogram.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Body of POST /service/program/filter
+ * All predicates are optional and combined with AND; results are sorted by program name
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgramFilter {
+
+    /**
+     * Case-insensitive substring of the program name (taken literally, not as a regex)
+     */
+    @Size(max = 100, message = "Name filter cannot exceed 100 characters")
+    private String nameContains;
+
+    /**
+     * Email domain, e.g. unibague.edu.co
+     */
+    @Size(max = 100, message = "Email domain filter cannot exceed 100 characters")
+    private String emailDomain;
+
+    /**
+     * true: only programs with areas; false: only programs without areas
+     */
+    private Boolean hasAreas;
+
+    /**
+     * Only programs where this user leads at least one area
+     */
+    private String leaderId;
+
+    @Min(value = 0, message = "Page cannot be negative")
+    @Builder.Default
+    private int page = 0;
+
+    @Min(value = 1, message = "Page size must be at least 1")
+    @Max(value = 200, message = "Page size cannot exceed 200")
+    @Builder.Default
+    private int size = 20;
+}
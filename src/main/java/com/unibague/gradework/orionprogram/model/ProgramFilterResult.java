@@ -0,0 +1,32 @@
+package com.unibague.gradework.orionprogram.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of filtered programs plus facet counts over every match
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgramFilterResult {
+
+    public static final String FACET_AREAS = "areas";
+    public static final String FACET_EMAIL_DOMAIN = "emailDomain";
+
+    private List<Program> items;
+    private int page;
+    private int size;
+    private long total;
+
+    /**
+     * Facet name -> value -> count ("areas": with/without, "emailDomain": top domains)
+     */
+    private Map<String, Map<String, Long>> facets;
+}
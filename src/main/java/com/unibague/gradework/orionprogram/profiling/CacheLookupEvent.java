@@ -0,0 +1,36 @@
+package com.unibague.gradework.orionprogram.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted for lookups in the service's in-process caches
+ */
+@Name("orion.CacheLookup")
+@Label("Cache Lookup")
+@Category({"Orion", "Cache"})
+@Description("Lookup in an in-process cache")
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+
+    @Label("Cache")
+    String cache;
+
+    @Label("Hit")
+    boolean hit;
+
+    /**
+     * Commits a lookup event if JFR is recording this event type
+     */
+    public static void emit(String cache, boolean hit) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        if (!event.isEnabled()) return;
+        event.cache = cache;
+        event.hit = hit;
+        event.commit();
+    }
+}
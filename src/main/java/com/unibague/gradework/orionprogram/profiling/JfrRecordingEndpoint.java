@@ -0,0 +1,135 @@
+package com.unibague.gradework.orionprogram.profiling;
+
+import com.unibague.gradework.orionprogram.configuration.ProfilingProperties;
+import com.unibague.gradework.orionprogram.security.GatewaySecurityFilter;
+import com.unibague.gradework.orionprogram.security.UserContext;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Admin-only Actuator endpoint for bounded, on-demand JFR recordings
+ * POST /actuator/jfr starts a recording, GET reports its state and
+ * DELETE stops it and streams the .jfr file back to the caller.
+ * Callers must present the S2S service token (checked by GatewaySecurityFilter); the
+ * header-derived UserContext alone is not trusted, since actuator paths bypass the gateway check.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final String RECORDING_NAME = "orion-on-demand";
+    private static final int STATUS_FORBIDDEN = 403;
+    private static final int STATUS_CONFLICT = 409;
+
+    private final ProfilingProperties profilingProperties;
+    private Recording recording;
+
+    public JfrRecordingEndpoint(ProfilingProperties profilingProperties) {
+        this.profilingProperties = profilingProperties;
+    }
+
+    @ReadOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> status() {
+        if (!isAuthorized()) return new WebEndpointResponse<>(STATUS_FORBIDDEN);
+        return new WebEndpointResponse<>(describe());
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Long durationSeconds)
+            throws IOException, java.text.ParseException {
+        if (!isAuthorized()) return new WebEndpointResponse<>(STATUS_FORBIDDEN);
+
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(describe(), STATUS_CONFLICT);
+        }
+        closeRecording();
+
+        Duration maxDuration = profilingProperties.getMaxDuration();
+        Duration duration = durationSeconds != null && durationSeconds > 0
+                && Duration.ofSeconds(durationSeconds).compareTo(maxDuration) < 0
+                ? Duration.ofSeconds(durationSeconds) : maxDuration;
+
+        recording = new Recording(Configuration.getConfiguration(profilingProperties.getSettings()));
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setDuration(duration);
+        recording.setMaxSize(profilingProperties.getMaxSizeBytes());
+        recording.start();
+
+        log.info("Started JFR recording '{}' for {} by {}", RECORDING_NAME, duration,
+                UserContext.getCurrentUser().map(UserContext.AuthenticatedUser::getUserId).orElse("unknown"));
+        return new WebEndpointResponse<>(describe());
+    }
+
+    @DeleteOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> stop() throws IOException {
+        if (!isAuthorized()) return new WebEndpointResponse<>(STATUS_FORBIDDEN);
+        if (recording == null) return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+
+        Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+        recording.dump(file);
+        closeRecording();
+
+        log.info("Stopped JFR recording '{}' ({} bytes)", RECORDING_NAME, Files.size(file));
+        // The temp file is removed as soon as the response stream is closed
+        return new WebEndpointResponse<>(new InputStreamResource(
+                Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE)));
+    }
+
+    private Map<String, Object> describe() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("name", RECORDING_NAME);
+        state.put("state", recording != null ? recording.getState().name() : "NONE");
+        if (recording != null) {
+            state.put("startTime", recording.getStartTime());
+            state.put("duration", recording.getDuration());
+            state.put("maxSizeBytes", recording.getMaxSize());
+        }
+        return state;
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * A validated service credential on this request, and an admin user on top of it
+     */
+    static boolean isAuthorized() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        boolean serviceAuthenticated = request != null && Boolean.TRUE.equals(
+                request.getAttribute(GatewaySecurityFilter.SERVICE_AUTHENTICATED, RequestAttributes.SCOPE_REQUEST));
+        return serviceAuthenticated && UserContext.getCurrentUser()
+                .map(UserContext.AuthenticatedUser::isAdmin)
+                .orElse(false);
+    }
+}
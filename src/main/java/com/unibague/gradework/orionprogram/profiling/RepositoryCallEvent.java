@@ -0,0 +1,64 @@
+package com.unibague.gradework.orionprogram.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * JFR event emitted for every ProgramRepository invocation
+ * Reads that bypass the repository (routed and projected reads) emit it through {@link #around}
+ */
+@Name("orion.RepositoryCall")
+@Label("Program Repository Call")
+@Category({"Orion", "MongoDB"})
+@Description("Time spent in a ProgramRepository method")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Query Shape")
+    String queryShape;
+
+    @Label("Document Count")
+    long documentCount;
+
+    @Label("Failed")
+    boolean failed;
+
+    /**
+     * Emits the event for a read made outside the ProgramRepository proxy
+     */
+    public static <T> T around(String queryShape, Supplier<T> call) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return call.get();
+        }
+
+        event.begin();
+        try {
+            T result = call.get();
+            event.documentCount = documentCount(result);
+            return result;
+        } catch (RuntimeException e) {
+            event.failed = true;
+            throw e;
+        } finally {
+            event.queryShape = queryShape;
+            event.commit();
+        }
+    }
+
+    static long documentCount(Object result) {
+        if (result == null) return 0;
+        if (result instanceof Collection<?> collection) return collection.size();
+        if (result instanceof Optional<?> optional) return optional.isPresent() ? 1 : 0;
+        if (result instanceof Number || result instanceof Boolean) return 0;
+        return 1;
+    }
+}
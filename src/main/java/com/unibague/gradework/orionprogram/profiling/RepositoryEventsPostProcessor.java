@@ -0,0 +1,62 @@
+package com.unibague.gradework.orionprogram.profiling;
+
+import com.unibague.gradework.orionprogram.repository.ProgramRepository;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Wraps the ProgramRepository bean so every call emits a {@link RepositoryCallEvent}
+ * When JFR is not recording the event the interceptor only pays an isEnabled() check
+ */
+@Component
+public class RepositoryEventsPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof ProgramRepository)) {
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.addAdvice(new RepositoryEventInterceptor());
+        return proxyFactory.getProxy();
+    }
+
+    static class RepositoryEventInterceptor implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            RepositoryCallEvent event = new RepositoryCallEvent();
+            if (!event.isEnabled()) {
+                return invocation.proceed();
+            }
+
+            event.begin();
+            try {
+                Object result = invocation.proceed();
+                event.documentCount = RepositoryCallEvent.documentCount(result);
+                return result;
+            } catch (Throwable t) {
+                event.failed = true;
+                throw t;
+            } finally {
+                event.queryShape = queryShape(invocation.getMethod());
+                event.commit();
+            }
+        }
+
+        private static String queryShape(Method method) {
+            StringBuilder shape = new StringBuilder(method.getName()).append('(');
+            Class<?>[] types = method.getParameterTypes();
+            for (int i = 0; i < types.length; i++) {
+                if (i > 0) shape.append(',');
+                shape.append(types[i].getSimpleName());
+            }
+            return shape.append(')').toString();
+        }
+    }
+}
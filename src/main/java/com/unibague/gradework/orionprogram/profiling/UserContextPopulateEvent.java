@@ -0,0 +1,34 @@
+package com.unibague.gradework.orionprogram.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted when the per-request UserContext is built from gateway headers
+ */
+@Name("orion.UserContextPopulate")
+@Label("UserContext Populate")
+@Category({"Orion", "Security"})
+@Description("Parsing of X-User-* headers into the request UserContext")
+@StackTrace(false)
+public class UserContextPopulateEvent extends Event {
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Program Count")
+    int programCount;
+
+    /**
+     * Fills the event fields and commits it if it is enabled and over its threshold
+     */
+    public void complete(String outcome, int programCount) {
+        this.outcome = outcome;
+        this.programCount = programCount;
+        commit();
+    }
+}
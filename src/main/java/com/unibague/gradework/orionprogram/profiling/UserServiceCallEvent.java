@@ -0,0 +1,39 @@
+package com.unibague.gradework.orionprogram.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted for every outbound call to the User Service
+ * The event duration is the call latency
+ */
+@Name("orion.UserServiceCall")
+@Label("User Service Call")
+@Category({"Orion", "HTTP"})
+@Description("Outbound UserService.getUserById call")
+@StackTrace(false)
+public class UserServiceCallEvent extends Event {
+
+    @Label("User ID")
+    String userId;
+
+    @Label("HTTP Status")
+    int status;
+
+    @Label("Outcome")
+    String outcome;
+
+    /**
+     * Fills the event fields and commits it if it is enabled and over its threshold
+     */
+    public void complete(String userId, int status, String outcome) {
+        this.userId = userId;
+        this.status = status;
+        this.outcome = outcome;
+        commit();
+    }
+}
@@ -30,14 +30,15 @@ public interface ProgramRepository extends MongoRepository<Program, String> {
 
     /**
      * Count programs with educational areas
+     * $exists on the multikey educationalArea._id index instead of $size, which always scans the collection
      */
-    @Query(value = "{'educationalArea': {$exists: true, $not: {$size: 0}}}", count = true)
+    @Query(value = "{'educationalArea._id': {$exists: true}}", count = true)
     long countProgramsWithEducationalAreas();
 
     /**
-     * Count programs without educational areas
+     * Count programs without educational areas (missing, null or empty array)
      */
-    @Query(value = "{'$or': [{'educationalArea': {$exists: false}}, {'educationalArea': {$size: 0}}]}", count = true)
+    @Query(value = "{'educationalArea._id': {$exists: false}}", count = true)
     long countProgramsWithoutEducationalAreas();
 
     /**
@@ -0,0 +1,77 @@
+package com.unibague.gradework.orionprogram.routing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonTimestamp;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Captures the client's causal-consistency token for the duration of the request
+ * Clients echo back the X-Causal-Token returned by a write so their next reads see it.
+ */
+@Slf4j
+@Component
+public class CausalConsistencyFilter extends OncePerRequestFilter {
+
+    public static final String H_CAUSAL_TOKEN = "X-Causal-Token";
+
+    // Tolerated clock difference between this service and the replica set
+    private static final long MAX_CLOCK_SKEW_SECONDS = 60;
+
+    private static final ThreadLocal<BsonTimestamp> TOKEN = new ThreadLocal<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        String token = req.getHeader(H_CAUSAL_TOKEN);
+        if (token != null && !token.isBlank()) {
+            try {
+                BsonTimestamp operationTime = decode(token.trim());
+                if (isFuture(operationTime)) {
+                    log.debug("Ignoring causal token from the future: {}", token);
+                } else {
+                    TOKEN.set(operationTime);
+                }
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring malformed causal token: {}", token);
+            }
+        }
+
+        try {
+            chain.doFilter(req, res);
+        } finally {
+            TOKEN.remove();
+        }
+    }
+
+    /**
+     * Operation time the current request must observe, or null if the client sent none
+     */
+    public static BsonTimestamp currentToken() {
+        return TOKEN.get();
+    }
+
+    static String encode(BsonTimestamp operationTime) {
+        return Long.toHexString(operationTime.getValue());
+    }
+
+    static BsonTimestamp decode(String token) {
+        return new BsonTimestamp(Long.parseUnsignedLong(token, 16));
+    }
+
+    /**
+     * The server rejects an afterClusterTime beyond its own cluster time, so such a token
+     * (forged, or from another cluster) would fail the read instead of just not waiting
+     */
+    static boolean isFuture(BsonTimestamp operationTime) {
+        return Integer.toUnsignedLong(operationTime.getTime())
+                > Instant.now().getEpochSecond() + MAX_CLOCK_SKEW_SECONDS;
+    }
+}
@@ -0,0 +1,178 @@
+package com.unibague.gradework.orionprogram.routing;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import com.unibague.gradework.orionprogram.configuration.ReadRoutingProperties;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.profiling.RepositoryCallEvent;
+import com.unibague.gradework.orionprogram.repository.ProgramRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonTimestamp;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Routes program reads to replica-set secondaries with read-your-writes support
+ * Reads carrying a causal token run in a causally consistent session, so the secondary
+ * waits until it has replicated up to that operation time before answering.
+ * Writes run in a causally consistent session on the primary, and the operation time the primary
+ * returned for the write goes back to the client as the next token.
+ * Reads that bypass ProgramRepository are timed under the same spring.data.repository.invocations
+ * metric and emit the same JFR event, so dashboards see every program read.
+ */
+@Slf4j
+@Component
+public class ProgramReadRouter {
+
+    private static final ClientSessionOptions CAUSAL_SESSION = ClientSessionOptions.builder()
+            .causallyConsistent(true)
+            .build();
+
+    private static final String REPOSITORY_INVOCATIONS = "spring.data.repository.invocations";
+
+    private final ProgramRepository programRepository;
+    private final MongoTemplate primaryTemplate;
+    private final MongoTemplate secondaryTemplate;
+    private final MongoClient mongoClient;
+    private final ReadRoutingProperties readRoutingProperties;
+    private final MeterRegistry meterRegistry;
+
+    public ProgramReadRouter(ProgramRepository programRepository,
+                             MongoTemplate mongoTemplate,
+                             @Qualifier("secondaryMongoTemplate") MongoTemplate secondaryMongoTemplate,
+                             MongoClient mongoClient,
+                             ReadRoutingProperties readRoutingProperties,
+                             MeterRegistry meterRegistry) {
+        this.programRepository = programRepository;
+        this.primaryTemplate = mongoTemplate;
+        this.secondaryTemplate = secondaryMongoTemplate;
+        this.mongoClient = mongoClient;
+        this.readRoutingProperties = readRoutingProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public List<Program> findAllSortedByName() {
+        if (!readRoutingProperties.isEnabled()) return programRepository.findAllSortedByName();
+        return timed("findAllSortedByName", "findAllSortedByName()",
+                () -> read(ops -> ops.find(new Query().with(Sort.by("programName")), Program.class)));
+    }
+
+    /**
+     * The term is matched literally, as the derived repository query does
+     */
+    public List<Program> findByProgramNameContainingIgnoreCase(String term) {
+        if (!readRoutingProperties.isEnabled()) return programRepository.findByProgramNameContainingIgnoreCase(term);
+        Query query = Query.query(Criteria.where("programName").regex(Pattern.quote(term), "i"));
+        return timed("findByProgramNameContainingIgnoreCase", "findByProgramNameContainingIgnoreCase(String)",
+                () -> read(ops -> ops.find(query, Program.class)));
+    }
+
+    public Optional<Program> findById(String programId) {
+        if (!readRoutingProperties.isEnabled()) return programRepository.findById(programId);
+        return timed("findById", "findById(String)",
+                () -> Optional.ofNullable(read(ops -> ops.findById(programId, Program.class))));
+    }
+
+    /**
+     * Runs an arbitrary read with the same routing as the finders above, timed under the given method name
+     */
+    public <T> T route(String method, Function<MongoOperations, T> query) {
+        return timed(method, method + "(Query)", () -> {
+            if (!readRoutingProperties.isEnabled()) return query.apply(primaryTemplate);
+            return read(query);
+        });
+    }
+
+    /**
+     * Runs a write on the primary and publishes its operation time as the X-Causal-Token response header
+     * The session only exists client-side, so the token costs no extra round trip.
+     * Must be called before the response is committed.
+     */
+    public <T> T write(Function<MongoOperations, T> write) {
+        HttpServletResponse response = readRoutingProperties.isEnabled() ? currentResponse() : null;
+        if (response == null) return write.apply(primaryTemplate);
+
+        try (ClientSession session = mongoClient.startSession(CAUSAL_SESSION)) {
+            T result = write.apply(primaryTemplate.withSession(session));
+            publish(session, response);
+            return result;
+        }
+    }
+
+    /**
+     * Publishes the operation time of a session the caller wrote in itself (e.g. a transaction)
+     */
+    public void afterWrite(ClientSession session) {
+        if (!readRoutingProperties.isEnabled()) return;
+
+        HttpServletResponse response = currentResponse();
+        if (response != null) publish(session, response);
+    }
+
+    /**
+     * Standalone servers report no operation time; clients then simply read without a token
+     */
+    private static void publish(ClientSession session, HttpServletResponse response) {
+        BsonTimestamp operationTime = session.getOperationTime();
+        if (operationTime != null) {
+            response.setHeader(CausalConsistencyFilter.H_CAUSAL_TOKEN, CausalConsistencyFilter.encode(operationTime));
+        }
+    }
+
+    /**
+     * Same tags as Spring Data's repository metrics, so both land in one time series per method
+     */
+    private <T> T timed(String method, String queryShape, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String state = "SUCCESS";
+        String exception = "None";
+        try {
+            return RepositoryCallEvent.around(queryShape, call);
+        } catch (RuntimeException e) {
+            state = "ERROR";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(REPOSITORY_INVOCATIONS)
+                    .tags("repository", ProgramRepository.class.getSimpleName(), "method", method,
+                            "state", state, "exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private <T> T read(Function<MongoOperations, T> query) {
+        BsonTimestamp token = CausalConsistencyFilter.currentToken();
+        if (token == null) {
+            return query.apply(secondaryTemplate);
+        }
+
+        try (ClientSession session = mongoClient.startSession(CAUSAL_SESSION)) {
+            session.advanceOperationTime(token);
+            return query.apply(secondaryTemplate.withSession(session));
+        }
+    }
+
+    private static HttpServletResponse currentResponse() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getResponse();
+        }
+        return null;
+    }
+}
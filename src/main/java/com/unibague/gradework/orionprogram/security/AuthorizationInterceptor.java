@@ -0,0 +1,86 @@
+package com.unibague.gradework.orionprogram.security;
+
+import com.unibague.gradework.orionprogram.audit.AuditAction;
+import com.unibague.gradework.orionprogram.audit.AuditTrail;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aplica las reglas @RequiresAccess antes del handler.
+ * La regla de cada método se resuelve una vez y se guarda con su 403 ya codificado,
+ * así un rechazo solo consulta el UserContext y copia bytes a la respuesta.
+ */
+@Component
+public class AuthorizationInterceptor implements HandlerInterceptor {
+
+    private static final String PROGRAM_ID = "programId";
+
+    private final AuditTrail auditTrail;
+    private final Map<Method, Rule> rules = new ConcurrentHashMap<>();
+
+    public AuthorizationInterceptor(AuditTrail auditTrail) {
+        this.auditTrail = auditTrail;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!(handler instanceof HandlerMethod handlerMethod)) return true;
+
+        Rule rule = ruleFor(handlerMethod.getMethod());
+        if (rule == Rule.NONE) return true;
+
+        UserContext.AuthenticatedUser user = UserContext.getCurrentUser().orElse(null);
+        if (user == null) {
+            DeniedResponse.AUTHENTICATION_REQUIRED.writeTo(response);
+            return false;
+        }
+
+        String programId = programId(request);
+        if (rule.level().permits(user, programId)) return true;
+
+        if (rule.audit()) {
+            auditTrail.record(AuditAction.ACCESS_DENIED, user, programId, null);
+        }
+        rule.denied().writeTo(response);
+        return false;
+    }
+
+    private Rule ruleFor(Method method) {
+        Rule rule = rules.get(method);
+        if (rule == null) {
+            rule = Rule.of(method);
+            rules.putIfAbsent(method, rule);
+        }
+        return rule;
+    }
+
+    /**
+     * Las variables de ruta ya las extrajo el HandlerMapping; no se vuelve a parsear la URI
+     */
+    @SuppressWarnings("unchecked")
+    private static String programId(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables instanceof Map<?, ?> map ? ((Map<String, String>) map).get(PROGRAM_ID) : null;
+    }
+
+    private record Rule(RequiresAccess.Level level, DeniedResponse denied, boolean audit) {
+
+        static final Rule NONE = new Rule(null, null, false);
+
+        static Rule of(Method method) {
+            RequiresAccess access = method.getAnnotation(RequiresAccess.class);
+            if (access == null) return NONE;
+            return new Rule(access.value(), DeniedResponse.forbidden(access.error(), access.message()), access.audit());
+        }
+    }
+}
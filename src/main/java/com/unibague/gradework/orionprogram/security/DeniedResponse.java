@@ -0,0 +1,74 @@
+package com.unibague.gradework.orionprogram.security;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Respuesta de rechazo con cuerpo fijo, codificada una sola vez.
+ * Los 401/403 son la mayoría del tráfico en tormentas de scraping o clientes mal configurados:
+ * escribirlos no debe reservar mapas, ni pasar por Jackson, ni construir excepciones.
+ */
+public final class DeniedResponse {
+
+    public static final DeniedResponse AUTHENTICATION_REQUIRED =
+            new DeniedResponse(HttpStatus.UNAUTHORIZED, "AUTHENTICATION_REQUIRED", "Authentication required");
+
+    // El gateway ya dejó de esperar: se descarta el request sin hacer trabajo
+    public static final DeniedResponse DEADLINE_EXCEEDED =
+            new DeniedResponse(HttpStatus.GATEWAY_TIMEOUT, "DEADLINE_EXCEEDED", "Request deadline exceeded before processing");
+
+    private static final String CONTENT_TYPE = MediaType.APPLICATION_JSON_VALUE;
+
+    private final HttpStatus status;
+    private final byte[] body;
+    private final ResponseEntity<byte[]> entity;
+
+    private DeniedResponse(HttpStatus status, String error, String message) {
+        this.status = status;
+        this.body = encode(error, message);
+        this.entity = ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    public static DeniedResponse forbidden(String error, String message) {
+        return new DeniedResponse(HttpStatus.FORBIDDEN, error, message);
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Escribe el cuerpo precodificado directamente en la respuesta del servlet
+     */
+    public void writeTo(HttpServletResponse response) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Para rechazos que solo se conocen dentro del handler; la misma instancia en cada llamada
+     */
+    public ResponseEntity<byte[]> toResponseEntity() {
+        return entity;
+    }
+
+    private static byte[] encode(String error, String message) {
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + message.length());
+        out.writeBytes("{\"error\":\"".getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(encoder.quoteAsUTF8(error));
+        out.writeBytes("\",\"message\":\"".getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(encoder.quoteAsUTF8(message));
+        out.writeBytes("\"}".getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+}
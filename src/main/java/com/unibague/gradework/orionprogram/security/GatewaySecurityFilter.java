@@ -1,5 +1,6 @@
 package com.unibague.gradework.orionprogram.security;
 
+import com.unibague.gradework.orionprogram.metrics.ProgramMetrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,6 +12,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 
 @Slf4j
 @Component
@@ -23,15 +26,39 @@ public class GatewaySecurityFilter extends OncePerRequestFilter {
     private static final String H_SERVICE_NAME      = "X-Service-Name";
     private static final String H_SERVICE_TOKEN     = "X-Service-Token";
 
+    // Endpoints de actuator que operan sobre el proceso: solo con token S2S, nunca por header
+    private static final String PRIVILEGED_ACTUATOR = "/actuator/jfr";
+
+    // Atributo del request: el llamador presentó un token de servicio válido
+    public static final String SERVICE_AUTHENTICATED = GatewaySecurityFilter.class.getName() + ".SERVICE_AUTHENTICATED";
+
     @Value("${gateway.service.token:${GATEWAY_SERVICE_TOKEN:dev-token-unibague-orion}}")
     private String gatewayServiceToken;
 
+    private final ProgramMetrics programMetrics;
+
+    public GatewaySecurityFilter(ProgramMetrics programMetrics) {
+        this.programMetrics = programMetrics;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
             throws ServletException, IOException {
 
         final String path = req.getRequestURI();
 
+        // 0) Privilegiados (JFR): X-Internal-Request / X-Gateway-Validated no bastan, se exige el token
+        if (path.startsWith(PRIVILEGED_ACTUATOR)) {
+            if (!hasValidServiceToken(req)) {
+                log.warn("Rejected {} without a valid service token", path);
+                deny(res, path);
+                return;
+            }
+            req.setAttribute(SERVICE_AUTHENTICATED, Boolean.TRUE);
+            chain.doFilter(req, res);
+            return;
+        }
+
         // 0) Públicos (health)
         if (path.startsWith("/actuator") || path.equals("/health")) {
             chain.doFilter(req, res);
@@ -47,17 +74,31 @@ public class GatewaySecurityFilter extends OncePerRequestFilter {
         }
 
         // 2) Si es S2S con token válido → deja pasar
-        String sr = req.getHeader(H_SERVICE_REQUEST);
-        String st = req.getHeader(H_SERVICE_TOKEN);
-        String sn = req.getHeader(H_SERVICE_NAME);
-
-        if ("true".equalsIgnoreCase(sr) && st != null && st.equals(gatewayServiceToken)) {
-            log.debug("S2S allowed from {}", sn);
+        if (hasValidServiceToken(req)) {
+            log.debug("S2S allowed from {}", req.getHeader(H_SERVICE_NAME));
+            req.setAttribute(SERVICE_AUTHENTICATED, Boolean.TRUE);
             chain.doFilter(req, res);
             return;
         }
 
         // 3) Todo lo demás bloqueado (evita acceso directo por fuera del gateway)
+        deny(res, path);
+    }
+
+    /**
+     * S2S marcado y con el token compartido; la comparación no depende de cuántos bytes coinciden
+     */
+    private boolean hasValidServiceToken(HttpServletRequest req) {
+        String st = req.getHeader(H_SERVICE_TOKEN);
+        return "true".equalsIgnoreCase(req.getHeader(H_SERVICE_REQUEST))
+                && st != null
+                && MessageDigest.isEqual(st.getBytes(StandardCharsets.UTF_8),
+                        gatewayServiceToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void deny(HttpServletResponse res, String path) throws IOException {
+        // Se cuenta aquí: este 403 nunca llega al OutcomeMetricsInterceptor
+        programMetrics.accessDenied(HttpServletResponse.SC_FORBIDDEN);
         res.setStatus(HttpServletResponse.SC_FORBIDDEN);
         res.setContentType("application/json");
         res.getWriter().write(("""
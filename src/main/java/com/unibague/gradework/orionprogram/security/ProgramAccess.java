@@ -0,0 +1,168 @@
+package com.unibague.gradework.orionprogram.security;
+
+import com.unibague.gradework.orionprogram.profiling.CacheLookupEvent;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Representación compacta e inmutable de los programas a los que accede un usuario.
+ * Los IDs se guardan internados en un arreglo ordenado y se consultan con búsqueda binaria.
+ * El resultado del parseo se cachea por valor de header, así los usuarios recurrentes
+ * no vuelven a dividir ni a reservar memoria en cada request.
+ */
+public final class ProgramAccess {
+
+    public static final ProgramAccess NONE = new ProgramAccess(new String[0], false);
+    public static final ProgramAccess ALL = new ProgramAccess(new String[0], true);
+
+    private static final String WILDCARD = "*";
+    private static final int MAX_CACHED_HEADERS = 4096;
+    private static final ConcurrentHashMap<String, ProgramAccess> CACHE = new ConcurrentHashMap<>();
+
+    private final String[] sortedIds;
+    private final boolean wildcard;
+    private Set<String> asSet;
+    private int hash;
+
+    private ProgramAccess(String[] sortedIds, boolean wildcard) {
+        this.sortedIds = sortedIds;
+        this.wildcard = wildcard;
+    }
+
+    /**
+     * Devuelve el acceso para un valor de X-User-Programs, usando la caché cuando es posible
+     */
+    public static ProgramAccess forHeader(String header) {
+        if (header == null || header.isBlank()) return NONE;
+        if (WILDCARD.equals(header)) return ALL;
+
+        ProgramAccess cached = CACHE.get(header);
+        CacheLookupEvent.emit("program-access", cached != null);
+        if (cached != null) return cached;
+
+        ProgramAccess parsed = parse(header);
+        if (CACHE.size() >= MAX_CACHED_HEADERS) {
+            // Caché acotada: se vacía completa en vez de llevar orden LRU en el camino caliente
+            CACHE.clear();
+        }
+        CACHE.putIfAbsent(header, parsed);
+        return parsed;
+    }
+
+    /**
+     * Parsea una lista separada por comas sin regex ni colecciones intermedias
+     */
+    static ProgramAccess parse(String header) {
+        String[] ids = new String[countTokens(header)];
+        int count = 0;
+        int length = header.length();
+        int start = 0;
+
+        while (start <= length) {
+            int end = header.indexOf(',', start);
+            if (end < 0) end = length;
+
+            int from = start;
+            int to = end;
+            while (from < to && Character.isWhitespace(header.charAt(from))) from++;
+            while (to > from && Character.isWhitespace(header.charAt(to - 1))) to--;
+
+            if (to > from) {
+                String id = header.substring(from, to);
+                if (WILDCARD.equals(id)) return ALL;
+                ids[count++] = id.intern();
+            }
+            start = end + 1;
+        }
+
+        if (count == 0) return NONE;
+        Arrays.sort(ids, 0, count);
+        return new ProgramAccess(dedupe(ids, count), false);
+    }
+
+    /**
+     * Construye el acceso a partir de un conjunto ya parseado (usuarios internos o de sistema)
+     */
+    public static ProgramAccess of(Collection<String> programIds) {
+        if (programIds == null || programIds.isEmpty()) return NONE;
+        if (programIds.contains(WILDCARD)) return ALL;
+        String[] ids = programIds.stream().map(String::intern).sorted().toArray(String[]::new);
+        return new ProgramAccess(dedupe(ids, ids.length), false);
+    }
+
+    public boolean contains(String programId) {
+        if (wildcard) return true;
+        if (programId == null || sortedIds.length == 0) return false;
+        return Arrays.binarySearch(sortedIds, programId) >= 0;
+    }
+
+    public boolean isWildcard() {
+        return wildcard;
+    }
+
+    public boolean isEmpty() {
+        return !wildcard && sortedIds.length == 0;
+    }
+
+    public int size() {
+        return wildcard ? 1 : sortedIds.length;
+    }
+
+    /**
+     * Vista como Set para quien la necesite; se crea una sola vez por instancia
+     */
+    public Set<String> asSet() {
+        Set<String> set = asSet;
+        if (set == null) {
+            set = wildcard ? Set.of(WILDCARD) : Set.of(sortedIds);
+            asSet = set;
+        }
+        return set;
+    }
+
+    /**
+     * Dos accesos son iguales si cubren los mismos programas; permite usarlos como clave de caché
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ProgramAccess other)) return false;
+        return wildcard == other.wildcard && Arrays.equals(sortedIds, other.sortedIds);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = 31 * Arrays.hashCode(sortedIds) + Boolean.hashCode(wildcard);
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return wildcard ? "[*]" : Arrays.toString(sortedIds);
+    }
+
+    private static int countTokens(String header) {
+        int tokens = 1;
+        for (int i = 0; i < header.length(); i++) {
+            if (header.charAt(i) == ',') tokens++;
+        }
+        return tokens;
+    }
+
+    private static String[] dedupe(String[] sorted, int count) {
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || !sorted[i].equals(sorted[unique - 1])) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return unique == sorted.length ? sorted : Arrays.copyOf(sorted, unique);
+    }
+}
@@ -0,0 +1,97 @@
+package com.unibague.gradework.orionprogram.security;
+
+import com.unibague.gradework.orionprogram.exception.ProgramExceptions;
+import lombok.extern.slf4j.Slf4j;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline del request actual, tal como lo envía el gateway.
+ * Se guarda como instante de System.nanoTime para no depender del reloj de pared
+ * mientras el request está en curso; sin header no hay deadline y nada se limita.
+ */
+@Slf4j
+public final class RequestDeadline {
+
+    // Instante absoluto (epoch millis) en que el gateway deja de esperar; detecta también la espera en cola
+    public static final String H_DEADLINE = "X-Request-Deadline";
+    // Presupuesto restante en milisegundos, para llamadores sin reloj sincronizado
+    public static final String H_TIMEOUT  = "X-Request-Timeout";
+
+    // Atributo que marca un 504 por deadline del llamador: no es una falla del servicio
+    public static final String EXPIRED_ATTRIBUTE = RequestDeadline.class.getName() + ".EXPIRED";
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * Lee el deadline de los headers, descontando la reserva para escribir la respuesta.
+     * Headers mal formados se ignoran: el request sigue sin deadline.
+     */
+    public static void populateFrom(HttpServletRequest req, Duration reserve) {
+        Long budgetMillis = budgetFrom(req);
+        if (budgetMillis == null) return;
+        long remaining = budgetMillis - reserve.toMillis();
+        DEADLINE.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(remaining));
+    }
+
+    public static boolean isSet() {
+        return DEADLINE.get() != null;
+    }
+
+    /**
+     * Milisegundos que quedan (cero o negativo si ya venció); Long.MAX_VALUE si no hay deadline
+     */
+    public static long remainingMillis() {
+        Long deadline = DEADLINE.get();
+        if (deadline == null) return Long.MAX_VALUE;
+        return TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+    }
+
+    public static boolean isExpired() {
+        return remainingMillis() <= 0;
+    }
+
+    /**
+     * Corta antes de empezar una operación que el gateway ya no va a esperar
+     */
+    public static void check(String operation) {
+        if (isExpired()) throw new ProgramExceptions.DeadlineExceededException(operation);
+    }
+
+    /**
+     * Marca la respuesta como vencida por el deadline, para que el limitador no la cuente como falla
+     */
+    public static void markExpired(ServletRequest req) {
+        req.setAttribute(EXPIRED_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    public static boolean isMarkedExpired(ServletRequest req) {
+        return Boolean.TRUE.equals(req.getAttribute(EXPIRED_ATTRIBUTE));
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    private static Long budgetFrom(HttpServletRequest req) {
+        String deadline = req.getHeader(H_DEADLINE);
+        String timeout = req.getHeader(H_TIMEOUT);
+        try {
+            if (deadline != null && !deadline.isBlank()) {
+                return Long.parseLong(deadline.trim()) - System.currentTimeMillis();
+            }
+            if (timeout != null && !timeout.isBlank()) {
+                return Long.parseLong(timeout.trim());
+            }
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring malformed deadline headers: {}={}, {}={}", H_DEADLINE, deadline, H_TIMEOUT, timeout);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.unibague.gradework.orionprogram.security;
+
+import com.unibague.gradework.orionprogram.configuration.DeadlineProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Fija el RequestDeadline del request y descarta los que llegan vencidos.
+ * Corre antes del limitador de concurrencia: un request que nadie espera no ocupa cupo.
+ */
+@Slf4j
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private final DeadlineProperties properties;
+    private final Counter dropped;
+
+    public RequestDeadlineFilter(DeadlineProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.dropped = Counter.builder("orion.deadline.dropped")
+                .description("Requests dropped on arrival because the caller's deadline had already passed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            RequestDeadline.populateFrom(req, properties.getResponseReserve());
+            if (RequestDeadline.isExpired()) {
+                dropped.increment();
+                log.debug("Dropping {} {}: deadline passed {} ms ago",
+                        req.getMethod(), req.getRequestURI(), -RequestDeadline.remainingMillis());
+                RequestDeadline.markExpired(req);
+                DeniedResponse.DEADLINE_EXCEEDED.writeTo(res);
+                return;
+            }
+            chain.doFilter(req, res);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+}
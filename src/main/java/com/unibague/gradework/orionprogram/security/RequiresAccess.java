@@ -0,0 +1,58 @@
+package com.unibague.gradework.orionprogram.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Regla de autorización de un endpoint.
+ * La evalúa AuthorizationInterceptor antes de invocar el handler; el programa se toma
+ * de la variable de ruta {programId}. Sin usuario autenticado siempre responde 401.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequiresAccess {
+
+    enum Level {
+        /** Cualquier usuario autenticado */
+        AUTHENTICATED,
+        /** Admin, coordinador o usuario con acceso al programa */
+        PROGRAM_READ,
+        /** Admin, o coordinador con acceso al programa */
+        PROGRAM_WRITE,
+        /** Admin o coordinador */
+        COORDINATOR,
+        /** Solo admin */
+        ADMIN;
+
+        public boolean permits(UserContext.AuthenticatedUser user, String programId) {
+            return switch (this) {
+                case AUTHENTICATED -> true;
+                case PROGRAM_READ -> user.isAdmin() || user.isCoordinator() || user.hasAccessToProgram(programId);
+                case PROGRAM_WRITE -> user.isAdmin() || (user.isCoordinator() && user.hasAccessToProgram(programId));
+                case COORDINATOR -> user.isAdmin() || user.isCoordinator();
+                case ADMIN -> user.isAdmin();
+            };
+        }
+    }
+
+    Level value();
+
+    /**
+     * Código de error del 403
+     */
+    String error() default "INSUFFICIENT_PERMISSIONS";
+
+    /**
+     * Mensaje del 403
+     */
+    String message() default "You don't have permission to perform this operation";
+
+    /**
+     * Registra el rechazo en la auditoría como ACCESS_DENIED
+     */
+    boolean audit() default false;
+}
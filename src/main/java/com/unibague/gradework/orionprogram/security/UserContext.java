@@ -1,6 +1,7 @@
 package com.unibague.gradework.orionprogram.security;
 
-import lombok.AllArgsConstructor;
+import com.unibague.gradework.orionprogram.profiling.UserContextPopulateEvent;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -24,27 +25,58 @@ public class UserContext {
 
     // Rol del usuario de sistema
     public static final String ROLE_ADMIN = "ADMIN";
+    public static final String ROLE_COORDINATOR = "COORDINATOR";
 
     @Getter
     @ToString
-    @AllArgsConstructor
     public static class AuthenticatedUser {
-        private String userId;
-        private String email;
-        private String role;
-        private Set<String> programs;
+        private final String userId;
+        private final String email;
+        private final String role;
+        private final ProgramAccess programAccess;
+
+        // Roles resueltos una sola vez; se consultan varias veces por request
+        @Getter(AccessLevel.NONE)
+        @ToString.Exclude
+        private final boolean admin;
+        @Getter(AccessLevel.NONE)
+        @ToString.Exclude
+        private final boolean coordinator;
+
+        public AuthenticatedUser(String userId, String email, String role, ProgramAccess programAccess) {
+            this.userId = userId;
+            this.email = email;
+            this.role = role;
+            this.programAccess = programAccess != null ? programAccess : ProgramAccess.NONE;
+            this.admin = ROLE_ADMIN.equalsIgnoreCase(role);
+            this.coordinator = ROLE_COORDINATOR.equalsIgnoreCase(role);
+        }
+
+        public AuthenticatedUser(String userId, String email, String role, Set<String> programs) {
+            this(userId, email, role, ProgramAccess.of(programs));
+        }
 
         public boolean isAdmin() {
-            return ROLE_ADMIN.equalsIgnoreCase(role);
+            return admin;
         }
 
         public boolean isCoordinator() {
-            return "COORDINATOR".equalsIgnoreCase(role);
+            return coordinator;
+        }
+
+        public Set<String> getPrograms() {
+            return programAccess.asSet();
         }
 
         public boolean hasAccessToProgram(String programId) {
-            if (programs == null || programs.isEmpty()) return false;
-            return programs.contains("*") || programs.contains(programId);
+            return programAccess.contains(programId);
+        }
+
+        /**
+         * Programs visible in catalog listings: admins and coordinators see everything
+         */
+        public ProgramAccess catalogScope() {
+            return admin || coordinator ? ProgramAccess.ALL : programAccess;
         }
     }
 
@@ -56,6 +88,9 @@ public class UserContext {
     public static void populateFrom(HttpServletRequest req) {
         if (CTX.get() != null) return; // ya poblado
 
+        UserContextPopulateEvent event = new UserContextPopulateEvent();
+        event.begin();
+
         String userId = header(req, H_USER_ID);
         String email  = header(req, H_USER_EMAIL);
         String role   = header(req, H_USER_ROLE);
@@ -69,25 +104,24 @@ public class UserContext {
                     "system",
                     "system@local",
                     ROLE_ADMIN,
-                    Set.of("*")
+                    ProgramAccess.ALL
             );
             CTX.set(sys);
             log.debug("Injected SYSTEM user for internal request");
+            event.complete("SYSTEM", 1);
             return;
         }
 
         if (userId == null) {
             log.debug("No user ID in headers");
+            event.complete("ANONYMOUS", 0);
             return;
         }
 
-        Set<String> programs = new HashSet<>();
-        if (progs != null && !progs.isBlank()) {
-            Arrays.stream(progs.split(","))
-                    .map(String::trim)
-                    .filter(s -> !s.isBlank())
-                    .forEach(programs::add);
-        }
+        // Admin y comodín no necesitan parsear la lista; el resto sale de la caché por header
+        ProgramAccess programs = ROLE_ADMIN.equalsIgnoreCase(role)
+                ? ProgramAccess.ALL
+                : ProgramAccess.forHeader(progs);
 
         AuthenticatedUser au = new AuthenticatedUser(
                 userId,
@@ -96,6 +130,7 @@ public class UserContext {
                 programs
         );
         CTX.set(au);
+        event.complete("USER", programs.size());
     }
 
     public static Optional<AuthenticatedUser> getCurrentUser() {
@@ -117,6 +152,21 @@ public class UserContext {
         CTX.remove();
     }
 
+    /**
+     * Ejecuta una acción con un usuario fijo (tareas internas como el warm-up)
+     * y restaura el contexto anterior al terminar.
+     */
+    public static void runAs(AuthenticatedUser user, Runnable action) {
+        AuthenticatedUser previous = CTX.get();
+        CTX.set(user);
+        try {
+            action.run();
+        } finally {
+            if (previous != null) CTX.set(previous);
+            else CTX.remove();
+        }
+    }
+
     private static String header(HttpServletRequest req, String name) {
         String v = req.getHeader(name);
         return (v == null || v.isBlank()) ? null : v;
@@ -1,7 +1,13 @@
 package com.unibague.gradework.orionprogram.services;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.unibague.gradework.orionprogram.model.AreaBatchRequest;
+import com.unibague.gradework.orionprogram.model.ArchivedProgram;
 import com.unibague.gradework.orionprogram.model.EducationalArea;
 import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.model.ProgramFilter;
+import com.unibague.gradework.orionprogram.model.ProgramFilterResult;
+import com.unibague.gradework.orionprogram.security.ProgramAccess;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +23,16 @@ public interface IProgramService {
      */
     List<Program> getPrograms(String search);
 
+    /**
+     * Hands every educational area led by one user over to another; returns the number of areas changed
+     */
+    long reassignLeader(String fromLeaderId, String toLeaderId);
+
+    /**
+     * Filter programs within an access scope, with pagination and facet counts
+     */
+    ProgramFilterResult filterPrograms(ProgramFilter filter, ProgramAccess scope);
+
     /**
      * Get simple program statistics
      */
@@ -28,8 +44,31 @@ public interface IProgramService {
 
     Program updateProgram(String programId, Program program);
 
+    /**
+     * Applies an RFC 7386 merge patch to the program's own fields
+     * expectedVersion, when not null, must match the stored version
+     */
+    Program patchProgram(String programId, JsonNode patch, Long expectedVersion);
+
     void deleteProgram(String programId);
 
+    /**
+     * Moves a retired program and its areas out of the catalog into the archive
+     */
+    ArchivedProgram archiveProgram(String programId, String archivedBy);
+
+    /**
+     * Moves an archived program back into the catalog
+     */
+    Program restoreProgram(String programId);
+
+    /**
+     * Archived programs, most recently archived first
+     */
+    List<ArchivedProgram> getArchivedPrograms(int page, int size);
+
+    Optional<ArchivedProgram> getArchivedProgram(String programId);
+
     Program createEducationalArea(EducationalArea educationalArea, String programId);
 
     List<EducationalArea> getEducationalAreas(String programId);
@@ -38,8 +77,21 @@ public interface IProgramService {
 
     EducationalArea updateEducationalArea(String programId, String educationalAreaId, EducationalArea educationalArea);
 
+    /**
+     * Applies an RFC 7386 merge patch to one educational area
+     * expectedVersion, when not null, must match the owning program's version.
+     * Returns the owning program, whose new version is the next precondition
+     */
+    Program patchEducationalArea(String programId, String educationalAreaId, JsonNode patch,
+                                 Long expectedVersion);
+
     void deleteEducationalArea(String programId, String educationalAreaId);
 
+    /**
+     * Applies create/update/delete area operations as one atomic update of the program
+     */
+    Program applyEducationalAreaBatch(String programId, List<AreaBatchRequest.AreaOperation> operations);
+
     /**
      * Simple statistics class for program metrics
      */
@@ -48,13 +100,16 @@ public interface IProgramService {
         private final long programsWithAreas;
         private final long programsWithoutAreas;
         private final long totalEducationalAreas;
+        private final long archivedPrograms;
 
         public ProgramStatistics(long totalPrograms, long programsWithAreas,
-                                 long programsWithoutAreas, long totalEducationalAreas) {
+                                 long programsWithoutAreas, long totalEducationalAreas,
+                                 long archivedPrograms) {
             this.totalPrograms = totalPrograms;
             this.programsWithAreas = programsWithAreas;
             this.programsWithoutAreas = programsWithoutAreas;
             this.totalEducationalAreas = totalEducationalAreas;
+            this.archivedPrograms = archivedPrograms;
         }
 
         // Getters
@@ -62,5 +117,6 @@ public interface IProgramService {
         public long getProgramsWithAreas() { return programsWithAreas; }
         public long getProgramsWithoutAreas() { return programsWithoutAreas; }
         public long getTotalEducationalAreas() { return totalEducationalAreas; }
+        public long getArchivedPrograms() { return archivedPrograms; }
     }
 }
\ No newline at end of file
@@ -1,15 +1,35 @@
 package com.unibague.gradework.orionprogram.services;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.unibague.gradework.orionprogram.cache.SearchResultCache;
+import com.unibague.gradework.orionprogram.model.AreaBatchRequest;
+import com.unibague.gradework.orionprogram.model.ArchivedProgram;
 import com.unibague.gradework.orionprogram.model.EducationalArea;
 import com.unibague.gradework.orionprogram.model.Program;
-import com.unibague.gradework.orionprogram.repository.ProgramRepository;
+import com.unibague.gradework.orionprogram.model.ProgramFilter;
+import com.unibague.gradework.orionprogram.model.ProgramFilterResult;
+import com.unibague.gradework.orionprogram.security.ProgramAccess;
+import com.unibague.gradework.orionprogram.shadow.ShadowReadPath;
+import com.unibague.gradework.orionprogram.shadow.ShadowReads;
+import com.unibague.gradework.orionprogram.snapshot.CatalogSnapshot;
+import com.unibague.gradework.orionprogram.storage.ProgramStore;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.unibague.gradework.orionprogram.exception.ProgramExceptions.*;
 
@@ -17,8 +37,28 @@ import static com.unibague.gradework.orionprogram.exception.ProgramExceptions.*;
 @Service
 public class ProgramService implements IProgramService {
 
+    // Merge patches may only touch these fields; required ones can be changed but not removed
+    private static final Set<String> PROGRAM_PATCHABLE = Set.of("programName", "email", "image");
+    private static final Set<String> PROGRAM_REQUIRED = Set.of("programName");
+    private static final Set<String> AREA_PATCHABLE = Set.of("name", "leaderId", "image");
+    private static final Set<String> AREA_REQUIRED = Set.of("name");
+
+    private static final int MAX_ARCHIVE_PAGE_SIZE = 200;
+
+    @Autowired
+    private ProgramStore programStore;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ShadowReads shadowReads;
+
     @Autowired
-    private ProgramRepository programRepository;
+    private CatalogSnapshot catalogSnapshot;
 
     @Override
     public Program createProgram(Program program) {
@@ -29,7 +69,7 @@ public class ProgramService implements IProgramService {
         }
 
         // Check if program name already exists
-        if (programRepository.findByProgramName(program.getProgramName()).isPresent()) {
+        if (programStore.findByProgramName(program.getProgramName()).isPresent()) {
             throw new DuplicateProgramException(program.getProgramName());
         }
 
@@ -38,7 +78,17 @@ public class ProgramService implements IProgramService {
             program.setEducationalArea(new ArrayList<>());
         }
 
-        Program saved = programRepository.save(program);
+        // The version is server-owned: a new program starts at 1 whatever the body carried
+        program.setVersion(null);
+
+        Program saved;
+        try {
+            saved = programStore.save(program);
+        } catch (DuplicateKeyException e) {
+            // Lost a race with another create, or the email is taken: the unique index decides
+            throw duplicate(e, program.getProgramName(), program.getEmail());
+        }
+        afterWrite();
         log.info("Program created successfully with ID: {}", saved.getProgramId());
         return saved;
     }
@@ -46,7 +96,9 @@ public class ProgramService implements IProgramService {
     @Override
     public List<Program> getPrograms() {
         log.debug("Retrieving all programs (sorted by name)");
-        List<Program> programs = programRepository.findAllSortedByName();
+        List<Program> programs = catalogSnapshot.read(CatalogSnapshot.Catalog::programs,
+                () -> shadowReads.read(ShadowReads.GET_PROGRAMS,
+                        programStore::findAllSortedByName, ShadowReadPath::getPrograms));
         log.debug("Found {} programs", programs.size());
         return programs;
     }
@@ -55,36 +107,50 @@ public class ProgramService implements IProgramService {
     public List<Program> getPrograms(String search) {
         if (search == null || search.trim().isEmpty()) {
             log.debug("Retrieving all programs (no search)");
-            return programRepository.findAllSortedByName();
+            return catalogSnapshot.read(CatalogSnapshot.Catalog::programs, programStore::findAllSortedByName);
         }
 
         log.debug("Searching programs with term: '{}'", search);
-        List<Program> programs = programRepository.findByProgramNameContainingIgnoreCase(search.trim());
+        String term = search.trim();
+        List<Program> programs = catalogSnapshot.read(catalog -> catalog.search(term),
+                () -> programStore.searchByName(term));
         log.debug("Found {} programs matching search", programs.size());
         return programs;
     }
 
+    @Override
+    public ProgramFilterResult filterPrograms(ProgramFilter filter, ProgramAccess scope) {
+        log.debug("Filtering programs: {} (scope: {} programs)", filter, scope.isWildcard() ? "all" : scope.size());
+
+        if (scope.isEmpty()) {
+            // Nothing visible: skip the query entirely
+            return ProgramFilterResult.builder()
+                    .items(List.of())
+                    .page(filter.getPage())
+                    .size(filter.getSize())
+                    .total(0)
+                    .facets(Map.of())
+                    .build();
+        }
+        return programStore.filter(filter, scope);
+    }
+
     @Override
     public ProgramStatistics getProgramStatistics() {
         log.debug("Calculating simple program statistics");
 
-        long totalPrograms = programRepository.count();
-        long programsWithAreas = programRepository.countProgramsWithEducationalAreas();
-        long programsWithoutAreas = programRepository.countProgramsWithoutEducationalAreas();
-
-        // Calculate total educational areas (simple way)
-        List<Program> allPrograms = programRepository.findAll();
-        long totalEducationalAreas = allPrograms.stream()
-                .mapToLong(program -> program.getEducationalArea() != null ?
-                        program.getEducationalArea().size() : 0)
-                .sum();
+        long totalPrograms = programStore.count();
+        long programsWithAreas = programStore.countWithEducationalAreas();
+        long programsWithoutAreas = programStore.countWithoutEducationalAreas();
+        long totalEducationalAreas = programStore.countEducationalAreas();
+        long archivedPrograms = programStore.countArchived();
 
         ProgramStatistics stats = new ProgramStatistics(
-                totalPrograms, programsWithAreas, programsWithoutAreas, totalEducationalAreas
+                totalPrograms, programsWithAreas, programsWithoutAreas, totalEducationalAreas, archivedPrograms
         );
 
-        log.debug("Statistics calculated - Total: {}, With areas: {}, Without areas: {}, Total areas: {}",
-                totalPrograms, programsWithAreas, programsWithoutAreas, totalEducationalAreas);
+        log.debug("Statistics calculated - Total: {}, With areas: {}, Without areas: {}, Total areas: {}, Archived: {}",
+                totalPrograms, programsWithAreas, programsWithoutAreas, totalEducationalAreas, archivedPrograms);
 
         return stats;
     }
@@ -95,7 +161,9 @@ public class ProgramService implements IProgramService {
         if (programId == null || programId.isBlank()) {
             throw new InvalidProgramDataException("Program ID cannot be null or empty");
         }
-        return programRepository.findById(programId);
+        return catalogSnapshot.read(catalog -> catalog.findById(programId),
+                () -> shadowReads.read(ShadowReads.GET_PROGRAM_BY_ID,
+                        () -> programStore.findByIdForRead(programId), alternate -> alternate.getProgramById(programId)));
     }
 
     @Override
@@ -104,7 +172,7 @@ public class ProgramService implements IProgramService {
         if (name == null || name.isBlank()) {
             throw new InvalidProgramDataException("Program name cannot be null or empty");
         }
-        return programRepository.findByProgramName(name);
+        return catalogSnapshot.read(catalog -> catalog.findByName(name), () -> programStore.findByProgramName(name));
     }
 
     @Override
@@ -116,7 +184,7 @@ public class ProgramService implements IProgramService {
         // Update program name if provided
         if (updatedProgram.getProgramName() != null && !updatedProgram.getProgramName().isBlank()) {
             // Check if new name conflicts with existing program
-            Optional<Program> existingWithName = programRepository.findByProgramName(updatedProgram.getProgramName());
+            Optional<Program> existingWithName = programStore.findByProgramName(updatedProgram.getProgramName());
             if (existingWithName.isPresent() && !existingWithName.get().getProgramId().equals(programId)) {
                 throw new DuplicateProgramException(updatedProgram.getProgramName());
             }
@@ -134,21 +202,111 @@ public class ProgramService implements IProgramService {
             log.debug("Updated image for program: {}", programId);
         }
 
-        Program saved = programRepository.save(program);
+        Program saved;
+        try {
+            saved = programStore.save(program);
+        } catch (DuplicateKeyException e) {
+            throw duplicate(e, program.getProgramName(), program.getEmail());
+        }
+        afterWrite();
         log.info("Program updated successfully: {}", programId);
         return saved;
     }
 
+    @Override
+    public Program patchProgram(String programId, JsonNode patch, Long expectedVersion) {
+        log.info("Patching program with ID: {}", programId);
+
+        ProgramStore.FieldPatch fields = toFieldPatch(patch, Program.class, PROGRAM_PATCHABLE, PROGRAM_REQUIRED);
+        if (fields.isEmpty()) {
+            // An empty merge patch changes nothing, but the precondition still applies
+            return requireVersion(getProgramOrThrow(programId), expectedVersion);
+        }
+
+        Object newName = fields.set().get("programName");
+        if (newName != null) {
+            Optional<Program> existingWithName = programStore.findByProgramName((String) newName);
+            if (existingWithName.isPresent() && !existingWithName.get().getProgramId().equals(programId)) {
+                throw new DuplicateProgramException((String) newName);
+            }
+        }
+
+        Program patched;
+        try {
+            patched = programStore.patch(programId, fields, expectedVersion)
+                    .orElseThrow(() -> missingOrStale(programId, expectedVersion));
+        } catch (DuplicateKeyException e) {
+            // The name was checked above, so this is usually the email; the index says which
+            throw duplicate(e, (String) newName, (String) fields.set().get("email"));
+        }
+        afterWrite();
+        log.info("Program patched successfully: {} (fields: {}, removed: {})",
+                programId, fields.set().keySet(), fields.unset());
+        return patched;
+    }
+
     @Override
     public void deleteProgram(String programId) {
         log.info("Deleting program with ID: {}", programId);
 
-        Program program = getProgramOrThrow(programId);
-        programRepository.delete(program);
+        getProgramOrThrow(programId);
+        if (!programStore.deleteById(programId)) {
+            throw new ProgramNotFoundException(programId);
+        }
+        afterWrite();
 
         log.info("Program deleted successfully: {}", programId);
     }
 
+    @Override
+    public ArchivedProgram archiveProgram(String programId, String archivedBy) {
+        log.info("Archiving program with ID: {}", programId);
+
+        ArchivedProgram archived = programStore.archive(programId, archivedBy)
+                .orElseThrow(() -> new ProgramNotFoundException(programId));
+        afterWrite();
+
+        int areas = archived.getProgram().getEducationalArea() != null
+                ? archived.getProgram().getEducationalArea().size() : 0;
+        log.info("Program archived successfully: {} ({} educational areas)", programId, areas);
+        return archived;
+    }
+
+    @Override
+    public Program restoreProgram(String programId) {
+        log.info("Restoring archived program with ID: {}", programId);
+
+        Program restored;
+        try {
+            restored = programStore.restore(programId)
+                    .orElseThrow(() -> new ProgramNotFoundException("archived ID", programId));
+        } catch (DuplicateKeyException e) {
+            // The name or email was reused by a catalog program after archiving
+            Program archived = programStore.findArchivedById(programId)
+                    .map(ArchivedProgram::getProgram)
+                    .orElseGet(() -> Program.builder().programName(programId).build());
+            throw duplicate(e, archived.getProgramName(), archived.getEmail());
+        }
+        afterWrite();
+
+        log.info("Program restored successfully: {}", programId);
+        return restored;
+    }
+
+    @Override
+    public List<ArchivedProgram> getArchivedPrograms(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_ARCHIVE_PAGE_SIZE) {
+            throw new InvalidProgramDataException(
+                    "Page must be >= 0 and size between 1 and " + MAX_ARCHIVE_PAGE_SIZE);
+        }
+        return programStore.findArchived(page, size);
+    }
+
+    @Override
+    public Optional<ArchivedProgram> getArchivedProgram(String programId) {
+        return programStore.findArchivedById(programId);
+    }
+
     @Override
     public Program createEducationalArea(EducationalArea educationalArea, String programId) {
         log.info("Creating educational area '{}' for program: {}", educationalArea.getName(), programId);
@@ -175,9 +333,9 @@ public class ProgramService implements IProgramService {
         String areaId = String.format("%sA%02d", programId, areaCount);
         educationalArea.setEducationalAreaId(areaId);
 
-        program.getEducationalArea().add(educationalArea);
-
-        Program saved = programRepository.save(program);
+        Program saved = programStore.addEducationalArea(programId, educationalArea)
+                .orElseThrow(() -> new ProgramNotFoundException(programId));
+        afterWrite();
         log.info("Educational area created successfully for program: {}", programId);
         return saved;
     }
@@ -186,9 +344,10 @@ public class ProgramService implements IProgramService {
     public List<EducationalArea> getEducationalAreas(String programId) {
         log.debug("Retrieving educational areas for program: {}", programId);
 
-        Program program = getProgramOrThrow(programId);
-        List<EducationalArea> areas = program.getEducationalArea() != null ?
-                program.getEducationalArea() : new ArrayList<>();
+        List<EducationalArea> areas = shadowReads.read(ShadowReads.GET_EDUCATIONAL_AREAS, () -> {
+            Program program = getProgramForReadOrThrow(programId);
+            return program.getEducationalArea() != null ? program.getEducationalArea() : new ArrayList<>();
+        }, alternate -> alternate.getEducationalAreas(programId));
 
         log.debug("Found {} educational areas for program: {}", areas.size(), programId);
         return areas;
@@ -202,7 +361,7 @@ public class ProgramService implements IProgramService {
             throw new InvalidProgramDataException("Educational area ID cannot be null or empty");
         }
 
-        Program program = getProgramOrThrow(programId);
+        Program program = getProgramForReadOrThrow(programId);
 
         if (program.getEducationalArea() == null) {
             return Optional.empty();
@@ -256,42 +415,290 @@ public class ProgramService implements IProgramService {
             log.debug("Updated image for educational area: {}", educationalAreaId);
         }
 
-        programRepository.save(program);
+        if (!programStore.replaceEducationalArea(programId, area)) {
+            throw new EducationalAreaNotFoundException(programId, educationalAreaId);
+        }
+        afterWrite();
         log.info("Educational area updated successfully: {}", educationalAreaId);
 
         return area;
     }
 
+    @Override
+    public Program patchEducationalArea(String programId, String educationalAreaId, JsonNode patch,
+                                        Long expectedVersion) {
+        log.info("Patching educational area {} for program: {}", educationalAreaId, programId);
+
+        ProgramStore.FieldPatch fields = toFieldPatch(patch, EducationalArea.class, AREA_PATCHABLE, AREA_REQUIRED);
+
+        Program program = getProgramOrThrow(programId);
+        findArea(program, educationalAreaId)
+                .orElseThrow(() -> new EducationalAreaNotFoundException(programId, educationalAreaId));
+
+        if (fields.isEmpty()) {
+            return requireVersion(program, expectedVersion);
+        }
+
+        Object newName = fields.set().get("name");
+        if (newName != null) {
+            boolean nameConflict = program.getEducationalArea().stream()
+                    .anyMatch(other -> !other.getEducationalAreaId().equals(educationalAreaId) &&
+                            other.getName().equalsIgnoreCase((String) newName));
+            if (nameConflict) {
+                throw new InvalidProgramDataException("Educational area with name '" + newName + "' already exists in this program");
+            }
+        }
+
+        Program patched = programStore.patchEducationalArea(programId, educationalAreaId, fields, expectedVersion)
+                .orElseThrow(() -> missingOrStale(programId, expectedVersion));
+        afterWrite();
+        log.info("Educational area patched successfully: {} (fields: {}, removed: {})",
+                educationalAreaId, fields.set().keySet(), fields.unset());
+        return patched;
+    }
+
     @Override
     public void deleteEducationalArea(String programId, String educationalAreaId) {
         log.info("Deleting educational area {} for program: {}", educationalAreaId, programId);
 
-        Program program = getProgramOrThrow(programId);
+        getProgramOrThrow(programId);
 
-        if (program.getEducationalArea() == null) {
+        if (!programStore.removeEducationalArea(programId, educationalAreaId)) {
             throw new EducationalAreaNotFoundException(programId, educationalAreaId);
         }
+        afterWrite();
+        log.info("Educational area deleted successfully: {}", educationalAreaId);
+    }
+
+    @Override
+    public Program applyEducationalAreaBatch(String programId, List<AreaBatchRequest.AreaOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new InvalidProgramDataException("At least one area operation is required");
+        }
+        log.info("Applying {} educational area operations to program: {}", operations.size(), programId);
 
-        boolean removed = program.getEducationalArea().removeIf(
-                area -> area.getEducationalAreaId().equals(educationalAreaId));
+        Program program = getProgramOrThrow(programId);
+        List<EducationalArea> original = program.getEducationalArea() != null ?
+                program.getEducationalArea() : List.of();
+
+        // Working copy keyed by ID, in document order
+        Map<String, EducationalArea> areas = new LinkedHashMap<>();
+        int nextSequence = 1;
+        for (EducationalArea area : original) {
+            areas.put(area.getEducationalAreaId(), copyOf(area));
+            nextSequence = Math.max(nextSequence, areaSequence(programId, area.getEducationalAreaId()) + 1);
+        }
 
-        if (!removed) {
-            throw new EducationalAreaNotFoundException(programId, educationalAreaId);
+        for (AreaBatchRequest.AreaOperation operation : operations) {
+            if (operation.getOp() == null) {
+                throw new InvalidProgramDataException("Operation type is required");
+            }
+            switch (operation.getOp()) {
+                case CREATE -> {
+                    requireAreaName(operation.getName());
+                    String areaId;
+                    do {
+                        areaId = String.format("%sA%02d", programId, nextSequence++);
+                    } while (areas.containsKey(areaId));
+                    operation.setEducationalAreaId(areaId);
+                    areas.put(areaId, EducationalArea.builder()
+                            .educationalAreaId(areaId)
+                            .name(operation.getName())
+                            .leaderId(operation.getLeaderId())
+                            .image(operation.getImage())
+                            .build());
+                }
+                case UPDATE -> {
+                    EducationalArea area = areas.get(operation.getEducationalAreaId());
+                    if (area == null) {
+                        throw new EducationalAreaNotFoundException(programId, operation.getEducationalAreaId());
+                    }
+                    if (operation.getName() != null) {
+                        requireAreaName(operation.getName());
+                        area.setName(operation.getName());
+                    }
+                    if (operation.getLeaderId() != null) area.setLeaderId(operation.getLeaderId());
+                    if (operation.getImage() != null) area.setImage(operation.getImage());
+                }
+                case DELETE -> {
+                    if (areas.remove(operation.getEducationalAreaId()) == null) {
+                        throw new EducationalAreaNotFoundException(programId, operation.getEducationalAreaId());
+                    }
+                }
+            }
         }
 
-        programRepository.save(program);
-        log.info("Educational area deleted successfully: {}", educationalAreaId);
+        // Names must be unique (case-insensitive) in the resulting set: one pass with a hash set
+        Set<String> names = new HashSet<>(areas.size() * 2);
+        for (EducationalArea area : areas.values()) {
+            if (!names.add(area.getName().toLowerCase(Locale.ROOT))) {
+                throw new InvalidProgramDataException("Educational area with name '" + area.getName() + "' already exists in this program");
+            }
+        }
+
+        List<EducationalArea> replacement = new ArrayList<>(areas.values());
+        if (!programStore.compareAndSetEducationalAreas(programId, original, replacement)) {
+            throw new ConcurrentProgramModificationException(programId);
+        }
+        afterWrite();
+
+        program.setEducationalArea(replacement);
+        log.info("Applied {} educational area operations to program: {} ({} areas)",
+                operations.size(), programId, replacement.size());
+        return program;
+    }
+
+    @Override
+    public long reassignLeader(String fromLeaderId, String toLeaderId) {
+        if (fromLeaderId == null || fromLeaderId.isBlank() || toLeaderId == null || toLeaderId.isBlank()) {
+            throw new InvalidProgramDataException("Both current and new leader IDs are required");
+        }
+        if (fromLeaderId.equals(toLeaderId)) {
+            throw new InvalidProgramDataException("Current and new leader must be different users");
+        }
+        log.info("Reassigning educational areas from leader {} to {}", fromLeaderId, toLeaderId);
+
+        long areas = programStore.reassignLeader(fromLeaderId, toLeaderId);
+        if (areas > 0) {
+            afterWrite();
+        }
+
+        log.info("Reassigned {} educational areas from leader {} to {}", areas, fromLeaderId, toLeaderId);
+        return areas;
+    }
+
+    /**
+     * Translates an RFC 7386 merge patch into fields to set and fields to remove
+     * Every patchable field is a string, so a value is either a string (set) or null (remove);
+     * set values are checked against the model's own bean validation constraints
+     */
+    private <T> ProgramStore.FieldPatch toFieldPatch(JsonNode patch, Class<T> type,
+                                                     Set<String> patchable, Set<String> required) {
+        if (patch == null || !patch.isObject()) {
+            throw new InvalidProgramDataException("A merge patch must be a JSON object");
+        }
+
+        Map<String, Object> set = new LinkedHashMap<>();
+        Set<String> unset = new LinkedHashSet<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            JsonNode value = field.getValue();
+
+            if (!patchable.contains(name)) {
+                throw new InvalidProgramDataException("Field '" + name + "' cannot be patched");
+            }
+            if (value.isNull()) {
+                if (required.contains(name)) {
+                    throw new InvalidProgramDataException("Field '" + name + "' is required and cannot be removed");
+                }
+                unset.add(name);
+            } else if (value.isTextual()) {
+                Set<ConstraintViolation<T>> violations = validator.validateValue(type, name, value.textValue());
+                if (!violations.isEmpty()) {
+                    throw new InvalidProgramDataException(violations.iterator().next().getMessage());
+                }
+                set.put(name, value.textValue());
+            } else {
+                throw new InvalidProgramDataException("Field '" + name + "' must be a string or null");
+            }
+        }
+        return new ProgramStore.FieldPatch(set, unset);
+    }
+
+    private static Program requireVersion(Program program, Long expectedVersion) {
+        if (!ProgramStore.versionMatches(program, expectedVersion)) {
+            throw new ProgramVersionMismatchException(program.getProgramId(), expectedVersion);
+        }
+        return program;
+    }
+
+    /**
+     * A conditional write matched nothing: tell a missing program apart from a stale version
+     */
+    private RuntimeException missingOrStale(String programId, Long expectedVersion) {
+        if (expectedVersion == null || programStore.findById(programId).isEmpty()) {
+            return new ProgramNotFoundException(programId);
+        }
+        return new ProgramVersionMismatchException(programId, expectedVersion);
+    }
+
+    private static Optional<EducationalArea> findArea(Program program, String educationalAreaId) {
+        if (program.getEducationalArea() == null) return Optional.empty();
+        return program.getEducationalArea().stream()
+                .filter(area -> area.getEducationalAreaId().equals(educationalAreaId))
+                .findFirst();
+    }
+
+    private static void requireAreaName(String name) {
+        if (name == null || name.isBlank()) {
+            throw new InvalidProgramDataException("Educational area name is required");
+        }
+    }
+
+    /**
+     * Numeric suffix of an area ID generated as {programId}Ann, or 0 for other IDs
+     */
+    private static int areaSequence(String programId, String areaId) {
+        String prefix = programId + "A";
+        if (areaId == null || !areaId.startsWith(prefix)) return 0;
+        try {
+            return Integer.parseInt(areaId.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static EducationalArea copyOf(EducationalArea area) {
+        return EducationalArea.builder()
+                .educationalAreaId(area.getEducationalAreaId())
+                .name(area.getName())
+                .leaderId(area.getLeaderId())
+                .image(area.getImage())
+                .build();
+    }
+
+    /**
+     * Bookkeeping shared by every mutation: search cache invalidation and ending snapshot-first reads
+     * (the store itself publishes the causal token for read-your-writes)
+     */
+    private void afterWrite() {
+        searchResultCache.invalidateAll();
+        catalogSnapshot.afterWrite();
+    }
+
+    /**
+     * 409 naming the unique field that actually collided
+     */
+    private static DuplicateProgramException duplicate(DuplicateKeyException e, String programName, String email) {
+        return "email".equals(ProgramStore.duplicateField(e))
+                ? new DuplicateProgramException("email", email)
+                : new DuplicateProgramException(programName);
     }
 
     /**
      * Helper method to get program or throw exception
+     * Always reads up-to-date data; used before writes
      */
     private Program getProgramOrThrow(String programId) {
         if (programId == null || programId.isBlank()) {
             throw new InvalidProgramDataException("Program ID cannot be null or empty");
         }
 
-        return programRepository.findById(programId)
+        return programStore.findById(programId)
+                .orElseThrow(() -> new ProgramNotFoundException(programId));
+    }
+
+    /**
+     * Same as getProgramOrThrow, but for read-only endpoints (may be served by a secondary)
+     */
+    private Program getProgramForReadOrThrow(String programId) {
+        if (programId == null || programId.isBlank()) {
+            throw new InvalidProgramDataException("Program ID cannot be null or empty");
+        }
+
+        return catalogSnapshot.read(catalog -> catalog.findById(programId), () -> programStore.findByIdForRead(programId))
                 .orElseThrow(() -> new ProgramNotFoundException(programId));
     }
 }
\ No newline at end of file
@@ -1,10 +1,15 @@
 package com.unibague.gradework.orionprogram.services;
 
 import com.unibague.gradework.orionprogram.configuration.ServiceProperties;
+import com.unibague.gradework.orionprogram.exception.ProgramExceptions;
 import com.unibague.gradework.orionprogram.model.UserDTO;
+import com.unibague.gradework.orionprogram.profiling.UserServiceCallEvent;
+import com.unibague.gradework.orionprogram.security.RequestDeadline;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.LinkedHashMap;
@@ -33,13 +38,22 @@ public class UserService implements IUserService {
             throw new IllegalArgumentException("The user id cannot be null or empty");
         }
 
-        String url = serviceProperties.getUserServiceUrl() + "/" + id;
+        // URI template keeps the http.client.requests "uri" tag bounded to one value
+        String url = serviceProperties.getUserServiceUrl() + "/{id}";
         log.debug("Fetching user by ID: {} from URL: {}", id, url);
 
+        // No point calling out once the gateway stopped waiting; the call's timeouts are capped by what is left
+        RequestDeadline.check("the user service call");
+
+        UserServiceCallEvent event = new UserServiceCallEvent();
+        event.begin();
+        int status = 0;
+        String outcome = "ERROR";
+
         try {
-            Object response = restTemplate
-                    .getForEntity(url, Object.class)
-                    .getBody();
+            ResponseEntity<Object> entity = restTemplate.getForEntity(url, Object.class, id);
+            status = entity.getStatusCode().value();
+            Object response = entity.getBody();
 
             if (response instanceof LinkedHashMap<?, ?> userMap) {
                 String idUser = (String) userMap.get("idUser");
@@ -59,21 +73,34 @@ public class UserService implements IUserService {
                         .build();
 
                 log.debug("Successfully retrieved user: {}", idUser);
+                outcome = "SUCCESS";
                 return Optional.of(dto);
             }
 
             log.warn("Unexpected response format from User Service for ID: {}", id);
+            outcome = "UNEXPECTED_FORMAT";
             return Optional.empty();
 
         } catch (HttpClientErrorException.NotFound e) {
             log.debug("User not found with ID: {}", id);
+            status = e.getStatusCode().value();
+            outcome = "NOT_FOUND";
             return Optional.empty();
-        } catch (HttpClientErrorException e) {
+        } catch (HttpStatusCodeException e) {
+            // 4xx and 5xx alike keep the real status in the profiling event
+            status = e.getStatusCode().value();
             log.error("HTTP error while fetching user {}: {} - {}", id, e.getStatusCode(), e.getMessage());
             return Optional.empty();
         } catch (Exception e) {
+            if (RequestDeadline.isExpired()) {
+                outcome = "DEADLINE_EXCEEDED";
+                log.debug("User service call for {} cut off by the request deadline", id);
+                throw new ProgramExceptions.DeadlineExceededException("the user service answered");
+            }
             log.error("Error fetching user with ID {}: {}", id, e.getMessage(), e);
             return Optional.empty();
+        } finally {
+            event.complete(id, status, outcome);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.unibague.gradework.orionprogram.shadow;
+
+import com.unibague.gradework.orionprogram.configuration.StorageProperties;
+import com.unibague.gradework.orionprogram.model.EducationalArea;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.routing.ProgramReadRouter;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Candidate read path that pushes more of the work into Mongo:
+ * the catalog is read in programName index order instead of a sort stage, single programs
+ * skip the repository layer, and areas are fetched with a projection instead of the whole program
+ */
+@Component
+public class MongoProjectionReadPath implements ShadowReadPath {
+
+    private static final String AREAS = "educationalArea";
+
+    private final ProgramReadRouter readRouter;
+    private final StorageProperties storageProperties;
+
+    public MongoProjectionReadPath(ProgramReadRouter readRouter, StorageProperties storageProperties) {
+        this.readRouter = readRouter;
+        this.storageProperties = storageProperties;
+    }
+
+    @Override
+    public String name() {
+        return "mongo-projection";
+    }
+
+    /**
+     * Only comparable with the Mongo backend; the embedded store reads different data
+     */
+    @Override
+    public boolean isAvailable() {
+        return storageProperties.getBackend() == StorageProperties.Backend.MONGO;
+    }
+
+    @Override
+    public List<Program> getPrograms() {
+        // Hint by key pattern, not index name: survives the index being recreated under another name
+        Query query = new Query().with(Sort.by("programName")).withHint(new Document("programName", 1));
+        return readRouter.route("findAllInNameOrder", ops -> ops.find(query, Program.class));
+    }
+
+    @Override
+    public Optional<Program> getProgramById(String programId) {
+        Query query = Query.query(Criteria.where("programId").is(programId));
+        return Optional.ofNullable(readRouter.route("findOneById", ops -> ops.findOne(query, Program.class)));
+    }
+
+    @Override
+    public List<EducationalArea> getEducationalAreas(String programId) {
+        Query query = Query.query(Criteria.where("programId").is(programId));
+        query.fields().include(AREAS);
+        Program program = readRouter.route("findEducationalAreas", ops -> ops.findOne(query, Program.class));
+        return program != null && program.getEducationalArea() != null ? program.getEducationalArea() : new ArrayList<>();
+    }
+}
@@ -0,0 +1,36 @@
+package com.unibague.gradework.orionprogram.shadow;
+
+import com.unibague.gradework.orionprogram.model.EducationalArea;
+import com.unibague.gradework.orionprogram.model.Program;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Alternate implementation of the shadowed ProgramService reads
+ * Must return exactly what the current path returns; ShadowReads proves it under live traffic.
+ * Runs on the shadow executor, so it cannot rely on request-scoped state (user, causal token).
+ */
+public interface ShadowReadPath {
+
+    /**
+     * Name used in shadow metrics and logs
+     */
+    String name();
+
+    /**
+     * False when this path cannot stand in for the configured backend
+     */
+    default boolean isAvailable() {
+        return true;
+    }
+
+    List<Program> getPrograms();
+
+    Optional<Program> getProgramById(String programId);
+
+    /**
+     * Areas of an existing program (only called when the current path found it)
+     */
+    List<EducationalArea> getEducationalAreas(String programId);
+}
@@ -0,0 +1,258 @@
+package com.unibague.gradework.orionprogram.shadow;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unibague.gradework.orionprogram.configuration.ShadowProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Shadow execution of program reads
+ * The caller always gets the current path's result. For a sampled fraction of calls the same read
+ * is queued on a small bounded executor, run through the alternate {@link ShadowReadPath}, and the
+ * two results are compared structurally (as JSON trees, so field order and instance types do not
+ * matter). Outcomes and latencies go to orion.shadow.* metrics; mismatches are logged at most once
+ * per operation and interval, with the first differing path.
+ */
+@Slf4j
+@Component
+public class ShadowReads {
+
+    public static final String GET_PROGRAMS = "getPrograms";
+    public static final String GET_PROGRAM_BY_ID = "getProgramById";
+    public static final String GET_EDUCATIONAL_AREAS = "getEducationalAreas";
+
+    private final ShadowProperties shadowProperties;
+    private final ShadowReadPath candidate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, OperationMeters> meters = new ConcurrentHashMap<>();
+    private final Counter dropped;
+
+    public ShadowReads(ShadowProperties shadowProperties, Optional<ShadowReadPath> candidate,
+                       ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.shadowProperties = shadowProperties;
+        this.candidate = shadowProperties.isEnabled() ? candidate.filter(ShadowReadPath::isAvailable).orElse(null) : null;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.dropped = Counter.builder("orion.shadow.dropped")
+                .description("Sampled shadow reads skipped because the shadow queue was full")
+                .register(meterRegistry);
+
+        if (this.candidate == null) {
+            this.executor = null;
+            if (shadowProperties.isEnabled()) {
+                log.warn("Shadow reads enabled but no alternate read path is available");
+            }
+            return;
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(shadowProperties.getThreads(), shadowProperties.getThreads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(shadowProperties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "shadow-read-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Shadow reads enabled (candidate: {}, sample rate: {}, threads: {}, queue: {})",
+                this.candidate.name(), shadowProperties.getSampleRate(),
+                shadowProperties.getThreads(), shadowProperties.getQueueCapacity());
+    }
+
+    /**
+     * Returns primary's result; when sampled, also schedules the alternate read and the comparison
+     * Failures of the primary propagate as usual and are never shadowed
+     */
+    public <T> T read(String operation, Supplier<T> primary, Function<ShadowReadPath, T> alternate) {
+        if (candidate == null || !sampled()) {
+            return primary.get();
+        }
+
+        long start = System.nanoTime();
+        T result = primary.get();
+        long primaryNanos = System.nanoTime() - start;
+
+        try {
+            executor.execute(() -> compare(operation, result, primaryNanos, alternate));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+        return result;
+    }
+
+    private boolean sampled() {
+        double rate = shadowProperties.getSampleRate();
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private <T> void compare(String operation, T primaryResult, long primaryNanos,
+                             Function<ShadowReadPath, T> alternate) {
+        OperationMeters operationMeters = meters.computeIfAbsent(operation, this::register);
+        operationMeters.primaryLatency.record(primaryNanos, TimeUnit.NANOSECONDS);
+
+        T alternateResult;
+        long alternateNanos;
+        try {
+            long start = System.nanoTime();
+            alternateResult = alternate.apply(candidate);
+            alternateNanos = System.nanoTime() - start;
+        } catch (RuntimeException e) {
+            operationMeters.errors.increment();
+            if (operationMeters.shouldLog(shadowProperties.getMismatchLogInterval().toNanos())) {
+                log.warn("Shadow {} failed on {}: {}", operation, candidate.name(), e.toString());
+            }
+            return;
+        }
+
+        operationMeters.alternateLatency.record(alternateNanos, TimeUnit.NANOSECONDS);
+        operationMeters.latencyRatio.record((double) alternateNanos / Math.max(primaryNanos, 1));
+
+        JsonNode expected = objectMapper.valueToTree(primaryResult);
+        JsonNode actual = objectMapper.valueToTree(alternateResult);
+        if (expected.equals(actual)) {
+            operationMeters.matches.increment();
+            return;
+        }
+
+        operationMeters.mismatches.increment();
+        if (operationMeters.shouldLog(shadowProperties.getMismatchLogInterval().toNanos())) {
+            String path = firstDifference(expected, actual, "");
+            log.warn("Shadow mismatch in {} on {} at '{}': current={} alternate={}",
+                    operation, candidate.name(), path.isEmpty() ? "/" : path,
+                    abbreviate(expected.at(path)), abbreviate(actual.at(path)));
+        }
+    }
+
+    /**
+     * JSON pointer of the first node that differs between the two trees, null when they are equal
+     */
+    static String firstDifference(JsonNode expected, JsonNode actual, String path) {
+        if (expected.equals(actual)) return null;
+        if (expected.getNodeType() != actual.getNodeType()) return path;
+
+        if (expected.isArray()) {
+            if (expected.size() != actual.size()) return path;
+            for (int i = 0; i < expected.size(); i++) {
+                String difference = firstDifference(expected.get(i), actual.get(i), path + "/" + i);
+                if (difference != null) return difference;
+            }
+        } else if (expected.isObject()) {
+            Iterator<String> names = expected.fieldNames();
+            while (names.hasNext()) {
+                String name = names.next();
+                JsonNode other = actual.get(name);
+                String child = path + "/" + escape(name);
+                if (other == null) return child;
+                String difference = firstDifference(expected.get(name), other, child);
+                if (difference != null) return difference;
+            }
+            Iterator<String> extra = actual.fieldNames();
+            while (extra.hasNext()) {
+                String name = extra.next();
+                if (!expected.has(name)) return path + "/" + escape(name);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * RFC 6901 escaping, so the pointer can be resolved with JsonNode.at
+     */
+    private static String escape(String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static String abbreviate(JsonNode node) {
+        String text = node.isMissingNode() ? "<missing>" : node.toString();
+        return text.length() <= 200 ? text : text.substring(0, 200) + "...";
+    }
+
+    private OperationMeters register(String operation) {
+        String name = candidate.name();
+        return new OperationMeters(
+                comparisons(operation, name, "match"),
+                comparisons(operation, name, "mismatch"),
+                comparisons(operation, name, "error"),
+                latency(operation, "current"),
+                latency(operation, name),
+                DistributionSummary.builder("orion.shadow.latency.ratio")
+                        .description("Alternate read latency divided by the current read latency")
+                        .tag("operation", operation)
+                        .tag("candidate", name)
+                        .register(meterRegistry));
+    }
+
+    private Counter comparisons(String operation, String candidateName, String result) {
+        return Counter.builder("orion.shadow.comparisons")
+                .description("Shadow read comparisons by outcome")
+                .tag("operation", operation)
+                .tag("candidate", candidateName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Timer latency(String operation, String path) {
+        return Timer.builder("orion.shadow.latency")
+                .description("Latency of shadowed reads, current path and alternate path")
+                .tag("operation", operation)
+                .tag("path", path)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) executor.shutdownNow();
+    }
+
+    private static final class OperationMeters {
+        final Counter matches;
+        final Counter mismatches;
+        final Counter errors;
+        final Timer primaryLatency;
+        final Timer alternateLatency;
+        final DistributionSummary latencyRatio;
+        final AtomicLong lastLog = new AtomicLong(System.nanoTime() - Long.MAX_VALUE / 2);
+
+        OperationMeters(Counter matches, Counter mismatches, Counter errors, Timer primaryLatency,
+                        Timer alternateLatency, DistributionSummary latencyRatio) {
+            this.matches = matches;
+            this.mismatches = mismatches;
+            this.errors = errors;
+            this.primaryLatency = primaryLatency;
+            this.alternateLatency = alternateLatency;
+            this.latencyRatio = latencyRatio;
+        }
+
+        /**
+         * True for at most one caller per interval
+         */
+        boolean shouldLog(long intervalNanos) {
+            long now = System.nanoTime();
+            long last = lastLog.get();
+            return now - last >= intervalNanos && lastLog.compareAndSet(last, now);
+        }
+    }
+}
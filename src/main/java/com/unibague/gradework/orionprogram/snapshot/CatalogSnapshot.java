@@ -0,0 +1,250 @@
+package com.unibague.gradework.orionprogram.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.unibague.gradework.orionprogram.cache.SearchResultCache;
+import com.unibague.gradework.orionprogram.configuration.SnapshotProperties;
+import com.unibague.gradework.orionprogram.exception.ProgramExceptions;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.storage.ProgramStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory copy of the program catalog, persisted to a local memory-mapped snapshot
+ * On startup the last snapshot is mapped and served at once, without waiting for the store; a
+ * background refresh then reloads the catalog from the store, and from the first successful
+ * refresh (or the first write) reads go back to the store. After that the catalog only answers
+ * when a store read fails. It is never served once older than orion.snapshot.max-staleness.
+ * A store read that ran out of the caller's deadline is not a failure and is never answered from the catalog.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshot {
+
+    private final SnapshotProperties snapshotProperties;
+    private final ProgramStore programStore;
+    private final SearchResultCache searchResultCache;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final Path path;
+    private final ScheduledExecutorService refresher;
+
+    private final Counter servedAtStartup;
+    private final Counter servedOnFailure;
+
+    private volatile Catalog catalog;
+    // True from a snapshot load until the store has answered a refresh or taken a write
+    private volatile boolean preferCatalog;
+
+    public CatalogSnapshot(SnapshotProperties snapshotProperties, ProgramStore programStore,
+                           SearchResultCache searchResultCache, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.snapshotProperties = snapshotProperties;
+        this.programStore = programStore;
+        this.searchResultCache = searchResultCache;
+        this.reader = objectMapper.readerFor(Program.class);
+        this.writer = objectMapper.writerFor(Program.class);
+        this.path = Path.of(snapshotProperties.getPath());
+        this.servedAtStartup = served(meterRegistry, "startup");
+        this.servedOnFailure = served(meterRegistry, "failure");
+        Gauge.builder("orion.snapshot.age", this, CatalogSnapshot::ageSeconds)
+                .description("Seconds since the in-memory catalog was captured from the store")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        if (!snapshotProperties.isEnabled()) {
+            this.refresher = null;
+            return;
+        }
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        load();
+    }
+
+    /**
+     * Catch-up starts as soon as the context is up and repeats every refresh interval
+     */
+    @PostConstruct
+    void start() {
+        if (refresher == null) return;
+        long interval = snapshotProperties.getRefreshInterval().toMillis();
+        refresher.scheduleWithFixedDelay(this::refresh, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (refresher != null) refresher.shutdownNow();
+    }
+
+    /**
+     * Answers from the catalog while it is preferred (right after a restart) or when the store read
+     * fails; everything else goes to the store
+     */
+    public <T> T read(Function<Catalog, T> fromCatalog, Supplier<T> fromStore) {
+        Catalog current = catalog;
+        if (current == null) return fromStore.get();
+
+        if (preferCatalog && fresh(current)) {
+            servedAtStartup.increment();
+            return fromCatalog.apply(current);
+        }
+        try {
+            return fromStore.get();
+        } catch (QueryTimeoutException | ProgramExceptions.DeadlineExceededException e) {
+            // The caller's deadline ran out; the store is not failing and a late answer helps no one
+            throw e;
+        } catch (DataAccessException e) {
+            if (!snapshotProperties.isServeOnFailure() || !fresh(current)) throw e;
+            servedOnFailure.increment();
+            log.debug("Store read failed, serving the catalog captured at {}: {}", current.capturedAt(), e.getMessage());
+            return fromCatalog.apply(current);
+        }
+    }
+
+    /**
+     * A write reached the store, so the catalog no longer answers ahead of it
+     */
+    public void afterWrite() {
+        stopPreferringCatalog();
+    }
+
+    /**
+     * True while reads are served from a snapshot loaded at startup
+     */
+    public boolean isServing() {
+        Catalog current = catalog;
+        return preferCatalog && current != null && fresh(current);
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        try {
+            CatalogSnapshotFile.Loaded loaded = CatalogSnapshotFile.read(path, reader);
+            Catalog loadedCatalog = Catalog.of(loaded.programs(), loaded.capturedAt());
+            if (!fresh(loadedCatalog)) {
+                log.warn("Catalog snapshot {} captured at {} is older than {}; not serving it",
+                        path.toAbsolutePath(), loaded.capturedAt(), snapshotProperties.getMaxStaleness());
+                return;
+            }
+            catalog = loadedCatalog;
+            preferCatalog = true;
+            log.info("Serving catalog snapshot {} ({} programs captured at {}, mapped in {} ms)",
+                    path.toAbsolutePath(), loaded.programs().size(), loaded.capturedAt(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (NoSuchFileException e) {
+            log.info("No catalog snapshot at {}; first reads go to the store", path.toAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Ignoring catalog snapshot {}: {}", path.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads the catalog from the store and saves it; failures keep the previous catalog
+     * The file is rewritten even when nothing changed, since its capture time is what staleness is judged on
+     */
+    public void refresh() {
+        try {
+            Instant capturedAt = Instant.now();
+            List<Program> programs = programStore.findAllSortedByName();
+            catalog = Catalog.of(programs, capturedAt);
+            stopPreferringCatalog();
+
+            CatalogSnapshotFile.Encoded encoded = CatalogSnapshotFile.encode(programs, writer);
+            CatalogSnapshotFile.write(path, encoded, capturedAt);
+            log.debug("Catalog snapshot saved ({} programs, {} bytes)", programs.size(), encoded.payloadLength());
+        } catch (IOException e) {
+            log.warn("Could not save the catalog snapshot to {}: {}", path.toAbsolutePath(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Catalog refresh from the store failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Searches cached while the snapshot answered may be older than the store; drop them on the switch
+     */
+    private void stopPreferringCatalog() {
+        if (!preferCatalog) return;
+        preferCatalog = false;
+        searchResultCache.invalidateAll();
+    }
+
+    private boolean fresh(Catalog current) {
+        return Duration.between(current.capturedAt(), Instant.now()).compareTo(snapshotProperties.getMaxStaleness()) <= 0;
+    }
+
+    private double ageSeconds() {
+        Catalog current = catalog;
+        return current == null ? Double.NaN : Duration.between(current.capturedAt(), Instant.now()).toMillis() / 1000.0;
+    }
+
+    private static Counter served(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("orion.snapshot.served")
+                .description("Program reads answered from the catalog snapshot instead of the store")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Immutable catalog view with the lookups the read endpoints need; programs must not be modified
+     */
+    public record Catalog(List<Program> programs, Map<String, Program> byId, Map<String, Program> byName,
+                          Instant capturedAt) {
+
+        static Catalog of(List<Program> programs, Instant capturedAt) {
+            Map<String, Program> byId = new HashMap<>(programs.size() * 2);
+            Map<String, Program> byName = new HashMap<>(programs.size() * 2);
+            for (Program program : programs) {
+                byId.put(program.getProgramId(), program);
+                if (program.getProgramName() != null) byName.put(program.getProgramName(), program);
+            }
+            return new Catalog(List.copyOf(programs), Map.copyOf(byId), Map.copyOf(byName), capturedAt);
+        }
+
+        public Optional<Program> findById(String programId) {
+            return Optional.ofNullable(byId.get(programId));
+        }
+
+        public Optional<Program> findByName(String programName) {
+            return Optional.ofNullable(byName.get(programName));
+        }
+
+        /**
+         * Same literal, case-insensitive match as the store's name search
+         */
+        public List<Program> search(String term) {
+            Pattern pattern = Pattern.compile(Pattern.quote(term), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+            return programs.stream()
+                    .filter(program -> program.getProgramName() != null
+                            && pattern.matcher(program.getProgramName()).find())
+                    .toList();
+        }
+    }
+}
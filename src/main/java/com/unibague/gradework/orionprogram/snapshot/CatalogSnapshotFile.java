@@ -0,0 +1,146 @@
+package com.unibague.gradework.orionprogram.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.unibague.gradework.orionprogram.model.Program;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned binary layout of a catalog snapshot, written and read through memory mappings
+ * Layout: a 32-byte header [int magic][int format version][long captured-at epoch millis]
+ * [int program count][int payload length][int CRC32 of the payload][int CRC32 of the first 28 header bytes],
+ * then the payload: one [int length][program JSON] record per program, in catalog (name) order.
+ * A new snapshot is written to a sibling file and renamed over the old one, so a reader only ever
+ * sees a complete file; anything else (torn, foreign, other format version) is rejected as a whole.
+ */
+final class CatalogSnapshotFile {
+
+    private static final int MAGIC = 0x4F524353; // "ORCS"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int HEADER_CHECKED_BYTES = 28;
+
+    record Encoded(List<byte[]> records, int payloadLength, int checksum) {
+    }
+
+    record Loaded(List<Program> programs, Instant capturedAt) {
+    }
+
+    private CatalogSnapshotFile() {
+    }
+
+    static Encoded encode(List<Program> programs, ObjectWriter writer) throws IOException {
+        List<byte[]> records = new ArrayList<>(programs.size());
+        CRC32 crc = new CRC32();
+        long payloadLength = 0;
+
+        for (Program program : programs) {
+            byte[] json = writer.writeValueAsBytes(program);
+            records.add(json);
+            updateInt(crc, json.length);
+            crc.update(json);
+            payloadLength += 4 + json.length;
+        }
+        if (HEADER_SIZE + payloadLength > Integer.MAX_VALUE) {
+            throw new IOException("Catalog snapshot would exceed 2 GiB");
+        }
+        return new Encoded(records, (int) payloadLength, (int) crc.getValue());
+    }
+
+    static void write(Path path, Encoded encoded, Instant capturedAt) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + encoded.payloadLength());
+
+            int position = HEADER_SIZE;
+            for (byte[] record : encoded.records()) {
+                buffer.putInt(position, record.length);
+                buffer.put(position + 4, record);
+                position += 4 + record.length;
+            }
+
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT_VERSION);
+            buffer.putLong(8, capturedAt.toEpochMilli());
+            buffer.putInt(16, encoded.records().size());
+            buffer.putInt(20, encoded.payloadLength());
+            buffer.putInt(24, encoded.checksum());
+            buffer.putInt(HEADER_CHECKED_BYTES, headerChecksum(buffer));
+            buffer.force();
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps the file read-only and decodes every program; throws IOException naming what is wrong with it
+     */
+    static Loaded read(Path path, ObjectReader reader) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("unexpected size " + channel.size());
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt(0) != MAGIC) throw new IOException("not a catalog snapshot");
+        int version = buffer.getInt(4);
+        if (version != FORMAT_VERSION) throw new IOException("unsupported format version " + version);
+        if (buffer.getInt(HEADER_CHECKED_BYTES) != headerChecksum(buffer)) throw new IOException("header checksum mismatch");
+
+        int count = buffer.getInt(16);
+        int payloadLength = buffer.getInt(20);
+        int checksum = buffer.getInt(24);
+        if (count < 0 || payloadLength < 0 || HEADER_SIZE + (long) payloadLength != buffer.capacity()) {
+            throw new IOException("payload length does not match the file size");
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(HEADER_SIZE, payloadLength));
+        if ((int) crc.getValue() != checksum) throw new IOException("payload checksum mismatch");
+
+        List<Program> programs = new ArrayList<>(count);
+        int position = HEADER_SIZE;
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt(position);
+            byte[] json = new byte[length];
+            buffer.get(position + 4, json);
+            programs.add(reader.readValue(json));
+            position += 4 + length;
+        }
+        return new Loaded(programs, Instant.ofEpochMilli(buffer.getLong(8)));
+    }
+
+    private static int headerChecksum(MappedByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, HEADER_CHECKED_BYTES));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Big-endian, the byte order the buffer writes the length prefix in
+     */
+    private static void updateInt(CRC32 crc, int value) {
+        crc.update(value >>> 24);
+        crc.update(value >>> 16);
+        crc.update(value >>> 8);
+        crc.update(value);
+    }
+}
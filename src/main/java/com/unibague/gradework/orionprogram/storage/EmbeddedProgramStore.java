@@ -0,0 +1,564 @@
+package com.unibague.gradework.orionprogram.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unibague.gradework.orionprogram.configuration.StorageProperties;
+import com.unibague.gradework.orionprogram.model.ArchivedProgram;
+import com.unibague.gradework.orionprogram.model.EducationalArea;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.model.ProgramFilter;
+import com.unibague.gradework.orionprogram.model.ProgramFilterResult;
+import com.unibague.gradework.orionprogram.security.ProgramAccess;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Embedded single-node backend: a memory-mapped append-only log plus an in-memory index
+ * Every mutation appends the full new state of the program (or a tombstone) and then updates the index.
+ * Archived programs live in a separate map that catalog reads never touch; a move is one log record.
+ * Writers are serialized; readers never lock and see the immutable sorted view built by the last write.
+ * Instances held by the index are never handed out: every read returns copies, so a caller that
+ * modifies a result cannot change the stored state behind the log's back.
+ * Created by StorageConfig when orion.storage.backend is EMBEDDED.
+ */
+@Slf4j
+public class EmbeddedProgramStore implements ProgramStore {
+
+    private static final int TOP_EMAIL_DOMAINS = 10;
+
+    private static final Comparator<Program> BY_NAME =
+            Comparator.comparing(Program::getProgramName, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final Comparator<ArchivedProgram> MOST_RECENTLY_ARCHIVED =
+            Comparator.comparing(ArchivedProgram::getArchivedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(ArchivedProgram::getProgramId);
+
+    private final ObjectMapper objectMapper;
+    private final StorageProperties.Embedded properties;
+
+    private final Map<String, Program> byId = new ConcurrentHashMap<>();
+    private final Map<String, String> idByName = new HashMap<>();
+    private final Map<String, String> idByEmail = new HashMap<>();
+    private volatile List<Program> sortedByName = List.of();
+    private final Map<String, ArchivedProgram> archived = new ConcurrentHashMap<>();
+
+    private ProgramLog programLog;
+
+    public EmbeddedProgramStore(StorageProperties storageProperties, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.properties = storageProperties.getEmbedded();
+        open();
+    }
+
+    private void open() throws IOException {
+        Path path = Path.of(properties.getPath());
+        programLog = ProgramLog.open(path, properties.getInitialSizeBytes(), properties.isForceOnWrite());
+
+        int records = programLog.replay((type, payload) -> {
+            if (type == ProgramLog.PUT) {
+                index(objectMapper.readValue(payload, Program.class));
+            } else if (type == ProgramLog.DELETE) {
+                unindex(new String(payload, StandardCharsets.UTF_8));
+            } else if (type == ProgramLog.ARCHIVE) {
+                ArchivedProgram record = objectMapper.readValue(payload, ArchivedProgram.class);
+                unindex(record.getProgramId());
+                archived.put(record.getProgramId(), record);
+            } else if (type == ProgramLog.RESTORE) {
+                Program program = objectMapper.readValue(payload, Program.class);
+                archived.remove(program.getProgramId());
+                index(program);
+            }
+        });
+        rebuildSortedView();
+        log.info("Embedded program store opened at {} ({} programs, {} archived, from {} records, {} bytes)",
+                path.toAbsolutePath(), byId.size(), archived.size(), records, programLog.sizeBytes());
+
+        int live = byId.size() + archived.size();
+        int superseded = records - live;
+        if (properties.isCompactOnStartup() && superseded > live) {
+            compact();
+        }
+    }
+
+    /**
+     * Rewrites the log with one record per live or archived program and swaps it in atomically
+     */
+    private void compact() throws IOException {
+        Path path = programLog.path();
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        Files.deleteIfExists(compacted);
+
+        try (ProgramLog target = ProgramLog.open(compacted, properties.getInitialSizeBytes(), false)) {
+            for (Program program : sortedByName) {
+                target.append(ProgramLog.PUT, objectMapper.writeValueAsBytes(program));
+            }
+            for (ArchivedProgram record : archived.values()) {
+                target.append(ProgramLog.ARCHIVE, objectMapper.writeValueAsBytes(record));
+            }
+        }
+        programLog.close();
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        programLog = ProgramLog.open(path, properties.getInitialSizeBytes(), properties.isForceOnWrite());
+        programLog.replay((type, payload) -> { });
+        log.info("Embedded program store compacted to {} bytes", programLog.sizeBytes());
+    }
+
+    @Override
+    public synchronized Program save(Program program) {
+        if (program.getProgramId() == null) {
+            program.setProgramId(new ObjectId().toHexString());
+        }
+        checkUnique(program);
+        program.setVersion(ProgramStore.nextVersion(program));
+        put(copy(program));
+        return program;
+    }
+
+    @Override
+    public synchronized boolean deleteById(String programId) {
+        if (!byId.containsKey(programId)) return false;
+        append(ProgramLog.DELETE, programId.getBytes(StandardCharsets.UTF_8));
+        unindex(programId);
+        rebuildSortedView();
+        return true;
+    }
+
+    @Override
+    public Optional<Program> findById(String programId) {
+        return Optional.ofNullable(byId.get(programId)).map(EmbeddedProgramStore::copy);
+    }
+
+    @Override
+    public Optional<Program> findByIdForRead(String programId) {
+        return findById(programId);
+    }
+
+    @Override
+    public Optional<Program> findByProgramName(String programName) {
+        String programId;
+        synchronized (this) {
+            programId = idByName.get(programName);
+        }
+        return programId == null ? Optional.empty() : findById(programId);
+    }
+
+    @Override
+    public List<Program> findAllSortedByName() {
+        return copies(sortedByName);
+    }
+
+    /**
+     * The term is matched literally, like the Mongo backend's derived query
+     */
+    @Override
+    public List<Program> searchByName(String term) {
+        Pattern pattern = Pattern.compile(Pattern.quote(term), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        return copies(sortedByName.stream()
+                .filter(program -> program.getProgramName() != null
+                        && pattern.matcher(program.getProgramName()).find())
+                .toList());
+    }
+
+    @Override
+    public synchronized Optional<Program> addEducationalArea(String programId, EducationalArea area) {
+        return mutate(programId, program -> program.getEducationalArea().add(copy(area)))
+                .map(EmbeddedProgramStore::copy);
+    }
+
+    @Override
+    public synchronized boolean replaceEducationalArea(String programId, EducationalArea area) {
+        Program current = byId.get(programId);
+        if (current == null || indexOfArea(current, area.getEducationalAreaId()) < 0) return false;
+
+        return mutate(programId, program ->
+                program.getEducationalArea().set(indexOfArea(program, area.getEducationalAreaId()), copy(area)))
+                .isPresent();
+    }
+
+    @Override
+    public synchronized boolean removeEducationalArea(String programId, String educationalAreaId) {
+        Program current = byId.get(programId);
+        if (current == null || indexOfArea(current, educationalAreaId) < 0) return false;
+
+        return mutate(programId, program ->
+                program.getEducationalArea().remove(indexOfArea(program, educationalAreaId)))
+                .isPresent();
+    }
+
+    @Override
+    public synchronized boolean compareAndSetEducationalAreas(String programId, List<EducationalArea> expected,
+                                                              List<EducationalArea> replacement) {
+        Program current = byId.get(programId);
+        if (current == null || !ProgramStore.sameAreas(current.getEducationalArea(), expected)) return false;
+
+        return mutate(programId, program -> {
+            program.getEducationalArea().clear();
+            replacement.forEach(area -> program.getEducationalArea().add(copy(area)));
+        }).isPresent();
+    }
+
+    @Override
+    public synchronized Optional<Program> patch(String programId, FieldPatch patch, Long expectedVersion) {
+        Program current = byId.get(programId);
+        if (current == null || !ProgramStore.versionMatches(current, expectedVersion)) return Optional.empty();
+
+        return mutate(programId, program -> {
+            applyPatch(program, patch);
+            checkUnique(program);
+        }).map(EmbeddedProgramStore::copy);
+    }
+
+    @Override
+    public synchronized Optional<Program> patchEducationalArea(String programId, String educationalAreaId,
+                                                               FieldPatch patch, Long expectedVersion) {
+        Program current = byId.get(programId);
+        if (current == null || indexOfArea(current, educationalAreaId) < 0
+                || !ProgramStore.versionMatches(current, expectedVersion)) {
+            return Optional.empty();
+        }
+
+        return mutate(programId, program ->
+                applyPatch(program.getEducationalArea().get(indexOfArea(program, educationalAreaId)), patch))
+                .map(EmbeddedProgramStore::copy);
+    }
+
+    /**
+     * Field names are bean property names, the same ones the Mongo backend uses as document paths
+     */
+    private static void applyPatch(Object target, FieldPatch patch) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(target);
+        patch.set().forEach(wrapper::setPropertyValue);
+        patch.unset().forEach(field -> wrapper.setPropertyValue(field, null));
+    }
+
+    /**
+     * One log record per affected program; the sorted view is rebuilt once at the end
+     */
+    @Override
+    public synchronized long reassignLeader(String fromLeaderId, String toLeaderId) {
+        long areas = 0;
+        for (Program current : List.copyOf(byId.values())) {
+            if (current.getEducationalArea() == null) continue;
+
+            Program updated = null;
+            for (int i = 0; i < current.getEducationalArea().size(); i++) {
+                if (!fromLeaderId.equals(current.getEducationalArea().get(i).getLeaderId())) continue;
+                if (updated == null) {
+                    updated = copy(current);
+                    updated.setVersion(ProgramStore.nextVersion(current));
+                }
+                updated.getEducationalArea().get(i).setLeaderId(toLeaderId);
+                areas++;
+            }
+            if (updated == null) continue;
+
+            try {
+                append(ProgramLog.PUT, objectMapper.writeValueAsBytes(updated));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            index(updated);
+        }
+        if (areas > 0) rebuildSortedView();
+        return areas;
+    }
+
+    /**
+     * Same semantics as the Mongo backend, evaluated over the sorted in-memory view
+     */
+    @Override
+    public ProgramFilterResult filter(ProgramFilter filter, ProgramAccess scope) {
+        Predicate<Program> predicate = program -> scope.contains(program.getProgramId());
+        if (StringUtils.hasText(filter.getNameContains())) {
+            String term = filter.getNameContains().trim().toLowerCase(Locale.ROOT);
+            predicate = predicate.and(program -> program.getProgramName() != null
+                    && program.getProgramName().toLowerCase(Locale.ROOT).contains(term));
+        }
+        if (StringUtils.hasText(filter.getEmailDomain())) {
+            String suffix = "@" + MongoProgramStore.emailDomain(filter).toLowerCase(Locale.ROOT);
+            predicate = predicate.and(program -> program.getEmail() != null
+                    && program.getEmail().toLowerCase(Locale.ROOT).endsWith(suffix));
+        }
+        if (filter.getHasAreas() != null) {
+            boolean wanted = filter.getHasAreas();
+            predicate = predicate.and(program -> hasAreas(program) == wanted);
+        }
+        if (StringUtils.hasText(filter.getLeaderId())) {
+            String leaderId = filter.getLeaderId();
+            predicate = predicate.and(program -> program.getEducationalArea() != null
+                    && program.getEducationalArea().stream().anyMatch(area -> leaderId.equals(area.getLeaderId())));
+        }
+
+        List<Program> matches = sortedByName.stream().filter(predicate).toList();
+
+        Map<String, Long> areas = new LinkedHashMap<>();
+        areas.put("with", matches.stream().filter(EmbeddedProgramStore::hasAreas).count());
+        areas.put("without", matches.size() - areas.get("with"));
+
+        Map<String, Long> domains = new LinkedHashMap<>();
+        matches.stream()
+                .map(Program::getEmail)
+                .filter(email -> email != null && email.indexOf('@') >= 0)
+                .collect(Collectors.groupingBy(email -> email.substring(email.indexOf('@') + 1).toLowerCase(Locale.ROOT),
+                        Collectors.counting()))
+                .entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP_EMAIL_DOMAINS)
+                .forEach(entry -> domains.put(entry.getKey(), entry.getValue()));
+
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put(ProgramFilterResult.FACET_AREAS, areas);
+        facets.put(ProgramFilterResult.FACET_EMAIL_DOMAIN, domains);
+
+        int from = (int) Math.min((long) filter.getPage() * filter.getSize(), matches.size());
+        int to = Math.min(from + filter.getSize(), matches.size());
+        return ProgramFilterResult.builder()
+                .items(copies(matches.subList(from, to)))
+                .page(filter.getPage())
+                .size(filter.getSize())
+                .total(matches.size())
+                .facets(facets)
+                .build();
+    }
+
+    @Override
+    public synchronized Optional<ArchivedProgram> archive(String programId, String archivedBy) {
+        Program current = byId.get(programId);
+        if (current == null) return Optional.empty();
+
+        ArchivedProgram record = ArchivedProgram.builder()
+                .programId(programId)
+                .program(copy(current))
+                .archivedAt(Instant.now())
+                .archivedBy(archivedBy)
+                .build();
+        append(ProgramLog.ARCHIVE, toJson(record));
+        unindex(programId);
+        archived.put(programId, record);
+        rebuildSortedView();
+        return Optional.of(copy(record));
+    }
+
+    @Override
+    public synchronized Optional<Program> restore(String programId) {
+        ArchivedProgram record = archived.get(programId);
+        if (record == null) return Optional.empty();
+
+        Program program = copy(record.getProgram());
+        checkUnique(program);
+        program.setVersion(ProgramStore.nextVersion(program));
+        append(ProgramLog.RESTORE, toJson(program));
+        archived.remove(programId);
+        index(program);
+        rebuildSortedView();
+        return Optional.of(copy(program));
+    }
+
+    @Override
+    public Optional<ArchivedProgram> findArchivedById(String programId) {
+        return Optional.ofNullable(archived.get(programId)).map(EmbeddedProgramStore::copy);
+    }
+
+    @Override
+    public List<ArchivedProgram> findArchived(int page, int size) {
+        return archived.values().stream()
+                .sorted(MOST_RECENTLY_ARCHIVED)
+                .skip((long) page * size)
+                .limit(size)
+                .map(EmbeddedProgramStore::copy)
+                .toList();
+    }
+
+    @Override
+    public long countArchived() {
+        return archived.size();
+    }
+
+    @Override
+    public long count() {
+        return byId.size();
+    }
+
+    @Override
+    public long countWithEducationalAreas() {
+        return sortedByName.stream().filter(EmbeddedProgramStore::hasAreas).count();
+    }
+
+    @Override
+    public long countWithoutEducationalAreas() {
+        return sortedByName.stream().filter(program -> !hasAreas(program)).count();
+    }
+
+    @Override
+    public long countEducationalAreas() {
+        return sortedByName.stream()
+                .mapToLong(program -> program.getEducationalArea() != null ? program.getEducationalArea().size() : 0)
+                .sum();
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        programLog.close();
+    }
+
+    /**
+     * Applies a change to a copy of the stored program and persists the result
+     */
+    private Optional<Program> mutate(String programId, Consumer<Program> change) {
+        Program current = byId.get(programId);
+        if (current == null) return Optional.empty();
+
+        Program updated = copy(current);
+        if (updated.getEducationalArea() == null) {
+            updated.setEducationalArea(new ArrayList<>());
+        }
+        updated.setVersion(ProgramStore.nextVersion(current));
+        change.accept(updated);
+        put(updated);
+        return Optional.of(updated);
+    }
+
+    private void put(Program program) {
+        append(ProgramLog.PUT, toJson(program));
+        index(program);
+        rebuildSortedView();
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void append(byte type, byte[] payload) {
+        try {
+            programLog.append(type, payload);
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Could not append to the program log", e);
+        }
+    }
+
+    /**
+     * Same unique constraints as the Mongo indexes on programName and email
+     * Like the partial email_1 index, programs without an email never conflict with each other.
+     */
+    private void checkUnique(Program program) {
+        String nameOwner = idByName.get(program.getProgramName());
+        if (nameOwner != null && !nameOwner.equals(program.getProgramId())) {
+            throw new DuplicateKeyException("Duplicate programName: " + program.getProgramName());
+        }
+        String emailOwner = program.getEmail() != null ? idByEmail.get(program.getEmail()) : null;
+        if (emailOwner != null && !emailOwner.equals(program.getProgramId())) {
+            throw new DuplicateKeyException("Duplicate email: " + program.getEmail());
+        }
+    }
+
+    /**
+     * Replaces the program in the index; readers never see it missing in between
+     */
+    private void index(Program program) {
+        Program previous = byId.put(program.getProgramId(), program);
+        if (previous != null) removeKeys(previous);
+        if (program.getProgramName() != null) idByName.put(program.getProgramName(), program.getProgramId());
+        if (program.getEmail() != null) idByEmail.put(program.getEmail(), program.getProgramId());
+    }
+
+    private void unindex(String programId) {
+        Program previous = byId.remove(programId);
+        if (previous != null) removeKeys(previous);
+    }
+
+    private void removeKeys(Program program) {
+        if (program.getProgramName() != null) idByName.remove(program.getProgramName(), program.getProgramId());
+        if (program.getEmail() != null) idByEmail.remove(program.getEmail(), program.getProgramId());
+    }
+
+    private void rebuildSortedView() {
+        sortedByName = byId.values().stream().sorted(BY_NAME).toList();
+    }
+
+    private static int indexOfArea(Program program, String educationalAreaId) {
+        List<EducationalArea> areas = program.getEducationalArea();
+        if (areas == null) return -1;
+        for (int i = 0; i < areas.size(); i++) {
+            if (areas.get(i).getEducationalAreaId().equals(educationalAreaId)) return i;
+        }
+        return -1;
+    }
+
+    private static boolean hasAreas(Program program) {
+        return program.getEducationalArea() != null && !program.getEducationalArea().isEmpty();
+    }
+
+    private static List<Program> copies(List<Program> programs) {
+        List<Program> copies = new ArrayList<>(programs.size());
+        for (Program program : programs) {
+            copies.add(copy(program));
+        }
+        return copies;
+    }
+
+    static ArchivedProgram copy(ArchivedProgram record) {
+        return ArchivedProgram.builder()
+                .programId(record.getProgramId())
+                .program(copy(record.getProgram()))
+                .archivedAt(record.getArchivedAt())
+                .archivedBy(record.getArchivedBy())
+                .build();
+    }
+
+    static Program copy(Program program) {
+        List<EducationalArea> areas = null;
+        if (program.getEducationalArea() != null) {
+            areas = new ArrayList<>(program.getEducationalArea().size());
+            for (EducationalArea area : program.getEducationalArea()) {
+                areas.add(copy(area));
+            }
+        }
+        return Program.builder()
+                .programId(program.getProgramId())
+                .programName(program.getProgramName())
+                .email(program.getEmail())
+                .image(program.getImage())
+                .educationalArea(areas)
+                .version(program.getVersion())
+                .build();
+    }
+
+    static EducationalArea copy(EducationalArea area) {
+        return EducationalArea.builder()
+                .educationalAreaId(area.getEducationalAreaId())
+                .name(area.getName())
+                .leaderId(area.getLeaderId())
+                .image(area.getImage())
+                .build();
+    }
+}
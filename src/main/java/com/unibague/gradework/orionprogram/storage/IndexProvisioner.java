@@ -0,0 +1,241 @@
+package com.unibague.gradework.orionprogram.storage;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import com.unibague.gradework.orionprogram.configuration.StorageProperties;
+import com.unibague.gradework.orionprogram.model.ArchivedProgram;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.snapshot.CatalogSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Declares, builds and verifies the indexes the program queries rely on
+ * Spring Boot 3 leaves auto-index creation off, so the @Indexed annotations alone create nothing.
+ * Provisioning is rolling-safe: it only creates missing indexes (hybrid builds don't block
+ * the replicas still serving traffic), never drops or rebuilds, and reports conflicts.
+ * Runs before the warm-up so warmed plans already use the indexes, except while a catalog snapshot
+ * is being served: then it runs in the background so a slow Mongo does not delay readiness.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class IndexProvisioner implements ApplicationRunner {
+
+    private static final int INDEX_OPTIONS_CONFLICT = 85;
+    private static final int INDEX_KEY_SPECS_CONFLICT = 86;
+    private static final int DUPLICATE_KEY = 11000;
+
+    /**
+     * @param partialFilter only documents matching it are indexed (and so constrained, if unique); null for all
+     */
+    public record IndexDeclaration(String name, Document keys, boolean unique, Document partialFilter) {
+
+        public IndexDeclaration(String name, Document keys, boolean unique) {
+            this(name, keys, unique, null);
+        }
+    }
+
+    /**
+     * Every index the ProgramRepository / ProgramStore queries need
+     */
+    public static final List<IndexDeclaration> PROGRAM_INDEXES = List.of(
+            // findByProgramName, name search (regex scans the index) and the name-sorted catalog
+            new IndexDeclaration("programName_1", new Document("programName", 1), true),
+            // findByEmailContainingIgnoreCase and the unique email constraint. Partial: programs without
+            // an email are left out, instead of all colliding on a null key
+            new IndexDeclaration("email_1", new Document("email", 1), true,
+                    new Document("email", new Document("$type", "string"))),
+            // Multikey: area lookups by ID and the with/without-areas counts ($exists on the path)
+            new IndexDeclaration("educationalArea._id_1", new Document("educationalArea._id", 1), false),
+            // Multikey compound: areas led by a user, returned in catalog order
+            new IndexDeclaration("educationalArea.leaderId_1_programName_1",
+                    new Document("educationalArea.leaderId", 1).append("programName", 1), false),
+            // Multikey: area name lookups across programs
+            new IndexDeclaration("educationalArea.name_1", new Document("educationalArea.name", 1), false)
+    );
+
+    /**
+     * Indexes of the programs_archive collection; lookups by ID use the default _id index
+     */
+    public static final List<IndexDeclaration> ARCHIVE_INDEXES = List.of(
+            // Archive listing, most recently archived first
+            new IndexDeclaration("archivedAt_-1", new Document("archivedAt", -1), false)
+    );
+
+    private final MongoTemplate mongoTemplate;
+    private final StorageProperties.Backend backend;
+    private final StorageProperties.Indexes properties;
+    private final CatalogSnapshot catalogSnapshot;
+
+    public IndexProvisioner(MongoTemplate mongoTemplate, StorageProperties storageProperties) {
+        this(mongoTemplate, storageProperties, null);
+    }
+
+    @Autowired
+    public IndexProvisioner(MongoTemplate mongoTemplate, StorageProperties storageProperties,
+                            CatalogSnapshot catalogSnapshot) {
+        this.mongoTemplate = mongoTemplate;
+        this.backend = storageProperties.getBackend();
+        this.properties = storageProperties.getIndexes();
+        this.catalogSnapshot = catalogSnapshot;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Decided at runtime, not with @ConditionalOnProperty: AOT would freeze the build-time backend
+        if (backend != StorageProperties.Backend.MONGO) return;
+
+        if (catalogSnapshot == null || !catalogSnapshot.isServing()) {
+            provisionAndVerify();
+            return;
+        }
+
+        log.info("Serving the catalog snapshot; provisioning program indexes in the background");
+        Thread thread = new Thread(() -> {
+            try {
+                provisionAndVerify();
+            } catch (RuntimeException e) {
+                log.error("Background index provisioning failed: {}", e.getMessage());
+            }
+        }, "index-provisioner");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void provisionAndVerify() {
+        if (properties.isProvision()) {
+            provision();
+        }
+        List<String> problems = verify();
+        if (problems.isEmpty()) {
+            log.info("Program indexes verified ({} declared)", PROGRAM_INDEXES.size() + ARCHIVE_INDEXES.size());
+            return;
+        }
+
+        String report = String.join("; ", problems);
+        if (properties.getVerification() == StorageProperties.Indexes.Verification.FAIL) {
+            throw new IllegalStateException("Program index verification failed: " + report);
+        }
+        log.warn("Program index verification found problems: {}", report);
+    }
+
+    /**
+     * Creates the declared indexes that do not exist yet
+     */
+    public void provision() {
+        provision(collection(Program.class), PROGRAM_INDEXES);
+        // Also creates the archive collection, which archive transactions expect to exist
+        provision(collection(ArchivedProgram.class), ARCHIVE_INDEXES);
+    }
+
+    private static void provision(MongoCollection<Document> collection, List<IndexDeclaration> declarations) {
+        Map<String, Document> live = liveIndexes(collection);
+
+        for (IndexDeclaration declaration : declarations) {
+            if (findByKeys(live, declaration.keys()) != null) continue;
+
+            IndexOptions options = new IndexOptions().name(declaration.name()).unique(declaration.unique());
+            if (declaration.partialFilter() != null) {
+                options.partialFilterExpression(declaration.partialFilter());
+            }
+
+            long start = System.nanoTime();
+            try {
+                collection.createIndex(declaration.keys(), options);
+                log.info("Created index {} in {} ms", declaration.name(), (System.nanoTime() - start) / 1_000_000);
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == INDEX_OPTIONS_CONFLICT || e.getErrorCode() == INDEX_KEY_SPECS_CONFLICT) {
+                    // Another definition already uses the name or keys; leave it for an operator to resolve
+                    log.error("Index {} conflicts with an existing index: {}", declaration.name(), e.getErrorMessage());
+                } else if (e.getErrorCode() == DUPLICATE_KEY) {
+                    // Existing documents violate the unique constraint; they need cleaning up first
+                    log.error("Index {} cannot be built over duplicate keys: {}", declaration.name(), e.getErrorMessage());
+                } else {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares the live index set with the declaration; returns one message per problem
+     */
+    public List<String> verify() {
+        List<String> problems = new ArrayList<>();
+        verify(collection(Program.class), PROGRAM_INDEXES, problems);
+        verify(collection(ArchivedProgram.class), ARCHIVE_INDEXES, problems);
+        return problems;
+    }
+
+    private static void verify(MongoCollection<Document> collection, List<IndexDeclaration> declarations,
+                               List<String> problems) {
+        Map<String, Document> live = liveIndexes(collection);
+        String prefix = collection.getNamespace().getCollectionName() + ".";
+
+        for (IndexDeclaration declaration : declarations) {
+            Document index = findByKeys(live, declaration.keys());
+            if (index == null) {
+                problems.add("missing " + prefix + declaration.name() + " " + declaration.keys().toJson());
+            } else if (index.getBoolean("unique", false) != declaration.unique()) {
+                problems.add(prefix + index.getString("name") + " should "
+                        + (declaration.unique() ? "" : "not ") + "be unique");
+            } else if (!Objects.equals(index.get("partialFilterExpression", Document.class), declaration.partialFilter())) {
+                problems.add(prefix + index.getString("name") + " should have partialFilterExpression "
+                        + (declaration.partialFilter() != null ? declaration.partialFilter().toJson() : "none"));
+            }
+        }
+    }
+
+    private MongoCollection<Document> collection(Class<?> entityClass) {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(entityClass));
+    }
+
+    private static Map<String, Document> liveIndexes(MongoCollection<Document> collection) {
+        Map<String, Document> indexes = new HashMap<>();
+        for (Document index : collection.listIndexes()) {
+            indexes.put(index.getString("name"), index);
+        }
+        return indexes;
+    }
+
+    /**
+     * Matches on the key pattern rather than the name, so indexes created by hand still count
+     */
+    private static Document findByKeys(Map<String, Document> live, Document keys) {
+        for (Document index : live.values()) {
+            if (sameKeys(index.get("key", Document.class), keys)) return index;
+        }
+        return null;
+    }
+
+    private static boolean sameKeys(Document actual, Document expected) {
+        if (actual == null || actual.size() != expected.size()) return false;
+        List<String> actualFields = new ArrayList<>(actual.keySet());
+        List<String> expectedFields = new ArrayList<>(expected.keySet());
+        if (!actualFields.equals(expectedFields)) return false;
+
+        for (String field : expectedFields) {
+            Object direction = actual.get(field);
+            if (!(direction instanceof Number number)
+                    || number.intValue() != ((Number) expected.get(field)).intValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
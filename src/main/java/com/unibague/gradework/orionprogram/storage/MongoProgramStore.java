@@ -0,0 +1,444 @@
+package com.unibague.gradework.orionprogram.storage;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.TransactionOptions;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.unibague.gradework.orionprogram.model.ArchivedProgram;
+import com.unibague.gradework.orionprogram.model.EducationalArea;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.model.ProgramFilter;
+import com.unibague.gradework.orionprogram.model.ProgramFilterResult;
+import com.unibague.gradework.orionprogram.repository.ProgramRepository;
+import com.unibague.gradework.orionprogram.routing.ProgramReadRouter;
+import com.unibague.gradework.orionprogram.security.ProgramAccess;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * MongoDB backend (default)
+ * Reads for read-only endpoints go through the read router; area mutations are single atomic
+ * updates on the educationalArea array instead of whole-document rewrites.
+ * Archiving moves a program between the programs and programs_archive collections inside a
+ * multi-document transaction, which needs a replica set (the deployment already runs one for read routing).
+ * Created by StorageConfig when orion.storage.backend is MONGO.
+ */
+public class MongoProgramStore implements ProgramStore {
+
+    private static final String AREAS = "educationalArea";
+    private static final String VERSION = "version";
+    private static final int TOP_EMAIL_DOMAINS = 10;
+
+    // A move is only visible once both collections have it, on a majority of the replica set
+    private static final TransactionOptions MOVE_TRANSACTION = TransactionOptions.builder()
+            .readConcern(ReadConcern.SNAPSHOT)
+            .writeConcern(WriteConcern.MAJORITY)
+            .build();
+
+    private static final Document FACET_STAGE = new Document("$facet", new Document()
+            .append("total", List.of(new Document("$count", "n")))
+            .append(ProgramFilterResult.FACET_AREAS, List.of(
+                    new Document("$group", new Document("_id", new Document("$gt", List.of(
+                            new Document("$size", new Document("$ifNull", List.of("$" + AREAS, List.of()))), 0)))
+                            .append("n", new Document("$sum", 1)))))
+            .append(ProgramFilterResult.FACET_EMAIL_DOMAIN, List.of(
+                    new Document("$match", new Document("email", new Document("$type", "string"))),
+                    new Document("$group", new Document("_id", new Document("$toLower",
+                            new Document("$arrayElemAt", List.of(new Document("$split", List.of("$email", "@")), 1))))
+                            .append("n", new Document("$sum", 1))),
+                    new Document("$sort", new Document("n", -1)),
+                    new Document("$limit", TOP_EMAIL_DOMAINS))));
+
+    private final ProgramRepository programRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ProgramReadRouter readRouter;
+    private final MongoClient mongoClient;
+
+    public MongoProgramStore(ProgramRepository programRepository, MongoTemplate mongoTemplate,
+                             ProgramReadRouter readRouter, MongoClient mongoClient) {
+        this.programRepository = programRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.readRouter = readRouter;
+        this.mongoClient = mongoClient;
+    }
+
+    @Override
+    public Program save(Program program) {
+        program.setVersion(ProgramStore.nextVersion(program));
+        return readRouter.write(ops -> ops.save(program));
+    }
+
+    @Override
+    public boolean deleteById(String programId) {
+        DeleteResult result = readRouter.write(ops -> ops.remove(byId(programId), Program.class));
+        return result.getDeletedCount() > 0;
+    }
+
+    @Override
+    public Optional<Program> findById(String programId) {
+        return programRepository.findById(programId);
+    }
+
+    @Override
+    public Optional<Program> findByIdForRead(String programId) {
+        return readRouter.findById(programId);
+    }
+
+    @Override
+    public Optional<Program> findByProgramName(String programName) {
+        return programRepository.findByProgramName(programName);
+    }
+
+    @Override
+    public List<Program> findAllSortedByName() {
+        return readRouter.findAllSortedByName();
+    }
+
+    @Override
+    public List<Program> searchByName(String term) {
+        return readRouter.findByProgramNameContainingIgnoreCase(term);
+    }
+
+    @Override
+    public Optional<Program> addEducationalArea(String programId, EducationalArea area) {
+        Program updated = readRouter.write(ops -> ops.findAndModify(byId(programId),
+                new Update().push(AREAS, area).inc(VERSION, 1),
+                FindAndModifyOptions.options().returnNew(true),
+                Program.class));
+        return Optional.ofNullable(updated);
+    }
+
+    @Override
+    public boolean replaceEducationalArea(String programId, EducationalArea area) {
+        Query query = Query.query(Criteria.where("programId").is(programId)
+                .and(AREAS + ".educationalAreaId").is(area.getEducationalAreaId()));
+        UpdateResult result = readRouter.write(ops ->
+                ops.updateFirst(query, new Update().set(AREAS + ".$", area).inc(VERSION, 1), Program.class));
+        return result.getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean removeEducationalArea(String programId, String educationalAreaId) {
+        UpdateResult result = readRouter.write(ops -> ops.updateFirst(byId(programId),
+                new Update().pull(AREAS, new Document("_id", educationalAreaId)).inc(VERSION, 1),
+                Program.class));
+        return result.getModifiedCount() > 0;
+    }
+
+    /**
+     * The predicate uses the stored BSON array itself, so it matches regardless of field order
+     * in documents written by other tools; the expected list is compared after mapping
+     */
+    @Override
+    public boolean compareAndSetEducationalAreas(String programId, List<EducationalArea> expected,
+                                                 List<EducationalArea> replacement) {
+        Document stored = mongoTemplate.findById(programId, Document.class,
+                mongoTemplate.getCollectionName(Program.class));
+        if (stored == null) return false;
+
+        Program current = mongoTemplate.getConverter().read(Program.class, stored);
+        if (!ProgramStore.sameAreas(current.getEducationalArea(), expected)) return false;
+
+        UpdateResult result = readRouter.write(ops -> ops.updateFirst(unchangedAreas(stored),
+                new Update().set(AREAS, replacement).inc(VERSION, 1), Program.class));
+        return result.getMatchedCount() > 0;
+    }
+
+    static Query unchangedAreas(Document stored) {
+        return new BasicQuery(new Document("_id", stored.get("_id")).append(AREAS, stored.get(AREAS)));
+    }
+
+    /**
+     * A single findAndModify carrying only the patched fields; the version check is part of the filter
+     */
+    @Override
+    public Optional<Program> patch(String programId, FieldPatch patch, Long expectedVersion) {
+        Criteria criteria = withVersion(Criteria.where("programId").is(programId), expectedVersion);
+        return applyPatch(criteria, toUpdate(patch, ""));
+    }
+
+    /**
+     * The positional operator targets the area matched in the filter
+     */
+    @Override
+    public Optional<Program> patchEducationalArea(String programId, String educationalAreaId, FieldPatch patch,
+                                                  Long expectedVersion) {
+        Criteria criteria = withVersion(Criteria.where("programId").is(programId)
+                .and(AREAS + ".educationalAreaId").is(educationalAreaId), expectedVersion);
+        return applyPatch(criteria, toUpdate(patch, AREAS + ".$."));
+    }
+
+    private Optional<Program> applyPatch(Criteria criteria, Update update) {
+        Program updated = readRouter.write(ops -> ops.findAndModify(Query.query(criteria), update,
+                FindAndModifyOptions.options().returnNew(true), Program.class));
+        return Optional.ofNullable(updated);
+    }
+
+    static Update toUpdate(FieldPatch patch, String prefix) {
+        Update update = new Update().inc(VERSION, 1);
+        patch.set().forEach((field, value) -> update.set(prefix + field, value));
+        patch.unset().forEach(field -> update.unset(prefix + field));
+        return update;
+    }
+
+    /**
+     * Version 0 also matches documents written before versioning, which have no version field
+     */
+    static Criteria withVersion(Criteria criteria, Long expectedVersion) {
+        if (expectedVersion == null) return criteria;
+        if (expectedVersion == 0) {
+            return criteria.orOperator(Criteria.where(VERSION).is(0L), Criteria.where(VERSION).exists(false));
+        }
+        return criteria.and(VERSION).is(expectedVersion);
+    }
+
+    /**
+     * One updateMany with an array filter, so each matched program is rewritten server-side in place.
+     * Candidates are found through the multikey educationalArea.leaderId index; the area count is
+     * taken from the same index just before the update (areas assigned concurrently may be missed
+     * by the count, never by the update).
+     */
+    @Override
+    public long reassignLeader(String fromLeaderId, String toLeaderId) {
+        Criteria ledBy = Criteria.where(AREAS + ".leaderId").is(fromLeaderId);
+
+        Aggregation countAreas = Aggregation.newAggregation(
+                Aggregation.match(ledBy),
+                Aggregation.unwind(AREAS),
+                Aggregation.match(ledBy),
+                Aggregation.count().as("n"));
+        Document counted = mongoTemplate.aggregate(countAreas, Program.class, Document.class).getUniqueMappedResult();
+        long areas = counted != null ? ((Number) counted.get("n")).longValue() : 0;
+        if (areas == 0) return 0;
+
+        Update update = new Update()
+                .set(AREAS + ".$[area].leaderId", toLeaderId)
+                .filterArray(Criteria.where("area.leaderId").is(fromLeaderId))
+                .inc(VERSION, 1);
+        readRouter.write(ops -> ops.updateMulti(Query.query(ledBy), update, Program.class));
+        return areas;
+    }
+
+    /**
+     * The page is an index-ordered find (programName, or leaderId + programName); the facets are one
+     * $match + $facet aggregation over the same criteria. Both run with the read routing.
+     */
+    @Override
+    public ProgramFilterResult filter(ProgramFilter filter, ProgramAccess scope) {
+        Criteria criteria = filterCriteria(filter, scope);
+
+        Query page = filterPage(criteria, filter);
+        List<Program> items = readRouter.route("filter", ops -> ops.find(page, Program.class));
+
+        Aggregation facets = filterFacets(criteria);
+        Document counts = readRouter.route("filterFacets", ops -> ops.aggregate(facets, Program.class, Document.class)
+                .getUniqueMappedResult());
+
+        Map<String, Map<String, Long>> facetCounts = new LinkedHashMap<>();
+        Map<String, Long> areas = new LinkedHashMap<>(Map.of("with", 0L, "without", 0L));
+        Map<String, Long> domains = new LinkedHashMap<>();
+        long total = 0;
+
+        if (counts != null) {
+            for (Document bucket : counts.getList("total", Document.class)) {
+                total = ((Number) bucket.get("n")).longValue();
+            }
+            for (Document bucket : counts.getList(ProgramFilterResult.FACET_AREAS, Document.class)) {
+                areas.put(Boolean.TRUE.equals(bucket.get("_id")) ? "with" : "without", ((Number) bucket.get("n")).longValue());
+            }
+            for (Document bucket : counts.getList(ProgramFilterResult.FACET_EMAIL_DOMAIN, Document.class)) {
+                if (bucket.get("_id") instanceof String domain) {
+                    domains.put(domain, ((Number) bucket.get("n")).longValue());
+                }
+            }
+        }
+        facetCounts.put(ProgramFilterResult.FACET_AREAS, areas);
+        facetCounts.put(ProgramFilterResult.FACET_EMAIL_DOMAIN, domains);
+
+        return ProgramFilterResult.builder()
+                .items(items)
+                .page(filter.getPage())
+                .size(filter.getSize())
+                .total(total)
+                .facets(facetCounts)
+                .build();
+    }
+
+    static Query filterPage(Criteria criteria, ProgramFilter filter) {
+        return Query.query(criteria)
+                .with(Sort.by("programName"))
+                .skip((long) filter.getPage() * filter.getSize())
+                .limit(filter.getSize());
+    }
+
+    static Aggregation filterFacets(Criteria criteria) {
+        return Aggregation.newAggregation(Aggregation.match(criteria), context -> FACET_STAGE);
+    }
+
+    /**
+     * Every predicate maps to an indexed path: _id for the access scope, programName and email
+     * (case-insensitive regexes scan index keys, not documents), and the multikey educationalArea indexes.
+     * The email predicate repeats the email_1 partial filter ($type string), or the planner cannot use that index.
+     */
+    static Criteria filterCriteria(ProgramFilter filter, ProgramAccess scope) {
+        List<Criteria> predicates = new ArrayList<>();
+        if (!scope.isWildcard()) {
+            predicates.add(Criteria.where("programId").in(scope.asSet()));
+        }
+        if (StringUtils.hasText(filter.getNameContains())) {
+            predicates.add(Criteria.where("programName").regex(Pattern.quote(filter.getNameContains().trim()), "i"));
+        }
+        if (StringUtils.hasText(filter.getEmailDomain())) {
+            predicates.add(Criteria.where("email").type(JsonSchemaObject.Type.stringType()));
+            predicates.add(Criteria.where("email").regex("@" + Pattern.quote(emailDomain(filter)) + "$", "i"));
+        }
+        if (filter.getHasAreas() != null) {
+            predicates.add(Criteria.where(AREAS + "._id").exists(filter.getHasAreas()));
+        }
+        if (StringUtils.hasText(filter.getLeaderId())) {
+            predicates.add(Criteria.where(AREAS + ".leaderId").is(filter.getLeaderId()));
+        }
+        return predicates.isEmpty() ? new Criteria() : new Criteria().andOperator(predicates);
+    }
+
+    static String emailDomain(ProgramFilter filter) {
+        String domain = filter.getEmailDomain().trim();
+        return domain.startsWith("@") ? domain.substring(1) : domain;
+    }
+
+    /**
+     * findAndRemove from programs and insert into programs_archive commit or abort together
+     */
+    @Override
+    public Optional<ArchivedProgram> archive(String programId, String archivedBy) {
+        ArchivedProgram archived = inTransaction(tx -> {
+            Program program = tx.findAndRemove(byId(programId), Program.class);
+            if (program == null) return null;
+            return tx.insert(ArchivedProgram.builder()
+                    .programId(programId)
+                    .program(program)
+                    .archivedAt(Instant.now())
+                    .archivedBy(archivedBy)
+                    .build());
+        });
+        return Optional.ofNullable(archived);
+    }
+
+    /**
+     * The insert fails with DuplicateKeyException (and the transaction aborts) when the
+     * name or email was taken by another program in the meantime
+     */
+    @Override
+    public Optional<Program> restore(String programId) {
+        Program restored = inTransaction(tx -> {
+            ArchivedProgram archived = tx.findAndRemove(byId(programId), ArchivedProgram.class);
+            if (archived == null) return null;
+            Program program = archived.getProgram();
+            program.setVersion(ProgramStore.nextVersion(program));
+            return tx.insert(program);
+        });
+        return Optional.ofNullable(restored);
+    }
+
+    /**
+     * withTransaction retries the body on transient errors, so it must not keep state between attempts.
+     * The causal token comes from the transaction's own session.
+     */
+    private <T> T inTransaction(Function<MongoTemplate, T> body) {
+        try (ClientSession session = mongoClient.startSession()) {
+            MongoTemplate tx = mongoTemplate.withSession(session);
+            T result = session.withTransaction(() -> body.apply(tx), MOVE_TRANSACTION);
+            readRouter.afterWrite(session);
+            return result;
+        }
+    }
+
+    /**
+     * Archive reads are rare and go to the primary
+     */
+    @Override
+    public Optional<ArchivedProgram> findArchivedById(String programId) {
+        return Optional.ofNullable(mongoTemplate.findById(programId, ArchivedProgram.class));
+    }
+
+    @Override
+    public List<ArchivedProgram> findArchived(int page, int size) {
+        return mongoTemplate.find(archivePage(page, size), ArchivedProgram.class);
+    }
+
+    static Query archivePage(int page, int size) {
+        return new Query()
+                .with(Sort.by(Sort.Direction.DESC, "archivedAt"))
+                .skip((long) page * size)
+                .limit(size);
+    }
+
+    @Override
+    public long countArchived() {
+        return mongoTemplate.estimatedCount(ArchivedProgram.class);
+    }
+
+    /**
+     * Collection metadata count: no scan at all
+     */
+    @Override
+    public long count() {
+        return mongoTemplate.estimatedCount(Program.class);
+    }
+
+    @Override
+    public long countWithEducationalAreas() {
+        return programRepository.countProgramsWithEducationalAreas();
+    }
+
+    @Override
+    public long countWithoutEducationalAreas() {
+        return programRepository.countProgramsWithoutEducationalAreas();
+    }
+
+    /**
+     * Sums array sizes on the server instead of loading every program
+     */
+    @Override
+    public long countEducationalAreas() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.project()
+                        .and(ArrayOperators.Size.lengthOfArray(
+                                ConditionalOperators.ifNull(AREAS).then(Collections.emptyList())))
+                        .as("areas"),
+                Aggregation.group().sum("areas").as("total"));
+
+        Document result = mongoTemplate.aggregate(aggregation, Program.class, Document.class)
+                .getUniqueMappedResult();
+        if (result == null || result.get("total") == null) return 0;
+        return ((Number) result.get("total")).longValue();
+    }
+
+    private static Query byId(String programId) {
+        return Query.query(Criteria.where("programId").is(programId));
+    }
+}
@@ -0,0 +1,175 @@
+package com.unibague.gradework.orionprogram.storage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Memory-mapped append-only log of program records
+ * Layout: an 8-byte header (magic, version) followed by records of
+ * [int payload length][byte type][int CRC32 of type + payload][payload].
+ * The length is written last, so a torn append leaves a zero length and replay stops cleanly there.
+ * Not thread-safe; the embedded store serializes appends.
+ */
+@Slf4j
+final class ProgramLog implements Closeable {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+    // Archive moves are a single record each, so a program is never in both places after replay
+    static final byte ARCHIVE = 3;
+    static final byte RESTORE = 4;
+
+    private static final int MAGIC = 0x4F52504C; // "ORPL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_OVERHEAD = 9;
+
+    interface RecordHandler {
+        void accept(byte type, byte[] payload) throws IOException;
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final boolean forceOnWrite;
+    private MappedByteBuffer buffer;
+    private int position;
+
+    private ProgramLog(Path path, FileChannel channel, MappedByteBuffer buffer, boolean forceOnWrite) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.forceOnWrite = forceOnWrite;
+    }
+
+    static ProgramLog open(Path path, long initialSize, boolean forceOnWrite) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(channel.size(), initialSize);
+        if (size > Integer.MAX_VALUE) {
+            channel.close();
+            throw new IOException("Program log exceeds 2 GiB: " + path);
+        }
+
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        int magic = buffer.getInt(0);
+        if (magic == 0) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+        } else if (magic != MAGIC || buffer.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException("Not a program log (or unsupported version): " + path);
+        }
+
+        ProgramLog log = new ProgramLog(path, channel, buffer, forceOnWrite);
+        log.position = HEADER_SIZE;
+        return log;
+    }
+
+    /**
+     * Replays every intact record and positions the log after the last one
+     * Returns the number of records replayed
+     */
+    int replay(RecordHandler handler) throws IOException {
+        int pos = HEADER_SIZE;
+        int records = 0;
+        CRC32 crc = new CRC32();
+
+        while (pos + RECORD_OVERHEAD <= buffer.capacity()) {
+            int length = buffer.getInt(pos);
+            if (length == 0) break;
+            if (length < 0 || pos + RECORD_OVERHEAD + length > buffer.capacity()) {
+                truncate(pos, "invalid record length " + length);
+                break;
+            }
+
+            byte type = buffer.get(pos + 4);
+            int checksum = buffer.getInt(pos + 5);
+            byte[] payload = new byte[length];
+            buffer.get(pos + RECORD_OVERHEAD, payload);
+
+            crc.reset();
+            crc.update(type);
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                truncate(pos, "checksum mismatch");
+                break;
+            }
+
+            handler.accept(type, payload);
+            pos += RECORD_OVERHEAD + length;
+            records++;
+        }
+
+        position = pos;
+        return records;
+    }
+
+    void append(byte type, byte[] payload) throws IOException {
+        int recordSize = RECORD_OVERHEAD + payload.length;
+        ensureCapacity(recordSize);
+
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+
+        buffer.put(position + 4, type);
+        buffer.putInt(position + 5, (int) crc.getValue());
+        buffer.put(position + RECORD_OVERHEAD, payload);
+        // Length goes last: until it is set, the record is invisible to replay
+        buffer.putInt(position, payload.length);
+
+        if (forceOnWrite) {
+            buffer.force(position, recordSize);
+        }
+        position += recordSize;
+    }
+
+    long sizeBytes() {
+        return position;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private void ensureCapacity(int recordSize) throws IOException {
+        long required = (long) position + recordSize;
+        if (required <= buffer.capacity()) return;
+
+        long newCapacity = Math.max(required, (long) buffer.capacity() * 2);
+        if (newCapacity > Integer.MAX_VALUE) {
+            throw new IOException("Program log would exceed 2 GiB: " + path);
+        }
+        buffer.force();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, newCapacity);
+        log.debug("Program log remapped to {} bytes", newCapacity);
+    }
+
+    /**
+     * Zeroes a torn tail so later appends are never followed by stale bytes
+     */
+    private void truncate(int from, String reason) {
+        log.warn("Program log {} truncated at offset {} ({})", path, from, reason);
+        for (int i = from; i < buffer.capacity(); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.force();
+    }
+}
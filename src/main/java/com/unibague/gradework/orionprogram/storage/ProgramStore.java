@@ -0,0 +1,177 @@
+package com.unibague.gradework.orionprogram.storage;
+
+import com.unibague.gradework.orionprogram.model.ArchivedProgram;
+import com.unibague.gradework.orionprogram.model.EducationalArea;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.model.ProgramFilter;
+import com.unibague.gradework.orionprogram.model.ProgramFilterResult;
+import com.unibague.gradework.orionprogram.security.ProgramAccess;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Storage SPI for programs and their embedded educational areas
+ * ProgramService only talks to this interface; the backend is selected with orion.storage.backend
+ */
+public interface ProgramStore {
+
+    /**
+     * Inserts or replaces a whole program, assigning an ID to new programs
+     * Throws DuplicateKeyException when another program has the same name or email
+     */
+    Program save(Program program);
+
+    /**
+     * Returns false when the program did not exist
+     */
+    boolean deleteById(String programId);
+
+    /**
+     * Up-to-date read used before writes; the caller may modify the returned instance
+     */
+    Optional<Program> findById(String programId);
+
+    /**
+     * Read for read-only endpoints; may be slightly stale and must not be modified
+     */
+    Optional<Program> findByIdForRead(String programId);
+
+    Optional<Program> findByProgramName(String programName);
+
+    /**
+     * Whole catalog sorted by program name; must not be modified
+     */
+    List<Program> findAllSortedByName();
+
+    /**
+     * Case-insensitive regex search on the program name; must not be modified
+     */
+    List<Program> searchByName(String term);
+
+    /**
+     * Appends an area to the program and returns the updated program, or empty if it does not exist
+     */
+    Optional<Program> addEducationalArea(String programId, EducationalArea area);
+
+    /**
+     * Replaces the area with the same ID; returns false when the program or area does not exist
+     */
+    boolean replaceEducationalArea(String programId, EducationalArea area);
+
+    /**
+     * Removes an area; returns false when the program or area does not exist
+     */
+    boolean removeEducationalArea(String programId, String educationalAreaId);
+
+    /**
+     * Replaces the whole area list only if it still equals the expected one (compare-and-set)
+     * Returns false when the program changed or no longer exists
+     */
+    boolean compareAndSetEducationalAreas(String programId, List<EducationalArea> expected,
+                                          List<EducationalArea> replacement);
+
+    /**
+     * Applies a field-level patch to the program (programName, email, image)
+     * When expectedVersion is set, the patch only applies if the stored version still matches
+     * Returns the updated program, or empty when it does not exist or the version did not match
+     */
+    Optional<Program> patch(String programId, FieldPatch patch, Long expectedVersion);
+
+    /**
+     * Applies a field-level patch to one area (name, leaderId, image), with the same version
+     * precondition on the owning program
+     * Returns the updated program, or empty when the program or area does not exist or the version did not match
+     */
+    Optional<Program> patchEducationalArea(String programId, String educationalAreaId, FieldPatch patch,
+                                           Long expectedVersion);
+
+    /**
+     * Sets toLeaderId on every area led by fromLeaderId, across all programs
+     * Returns the number of areas reassigned
+     */
+    long reassignLeader(String fromLeaderId, String toLeaderId);
+
+    /**
+     * One page of programs matching the filter within the access scope, plus facet counts
+     */
+    ProgramFilterResult filter(ProgramFilter filter, ProgramAccess scope);
+
+    /**
+     * Moves the program, areas included, from the catalog to the archive in one atomic step
+     * Returns the archive record, or empty when the program does not exist
+     */
+    Optional<ArchivedProgram> archive(String programId, String archivedBy);
+
+    /**
+     * Moves an archived program back into the catalog as its next version, in one atomic step
+     * Returns the restored program, or empty when it is not archived
+     */
+    Optional<Program> restore(String programId);
+
+    Optional<ArchivedProgram> findArchivedById(String programId);
+
+    /**
+     * One page of archived programs, most recently archived first
+     */
+    List<ArchivedProgram> findArchived(int page, int size);
+
+    long countArchived();
+
+    long count();
+
+    long countWithEducationalAreas();
+
+    long countWithoutEducationalAreas();
+
+    long countEducationalAreas();
+
+    /**
+     * Fields to set and fields to remove, by property name
+     */
+    record FieldPatch(Map<String, Object> set, Set<String> unset) {
+
+        public boolean isEmpty() {
+            return set.isEmpty() && unset.isEmpty();
+        }
+    }
+
+    /**
+     * Version a program gets on its next write
+     */
+    static long nextVersion(Program program) {
+        return program.getVersion() == null ? 1 : program.getVersion() + 1;
+    }
+
+    /**
+     * A null expected version always matches; a missing stored version counts as 0
+     */
+    static boolean versionMatches(Program program, Long expectedVersion) {
+        if (expectedVersion == null) return true;
+        long stored = program.getVersion() == null ? 0 : program.getVersion();
+        return stored == expectedVersion;
+    }
+
+    /**
+     * Area lists are equal element by element; a missing list counts as empty
+     */
+    static boolean sameAreas(List<EducationalArea> current, List<EducationalArea> expected) {
+        List<EducationalArea> left = current != null ? current : List.of();
+        List<EducationalArea> right = expected != null ? expected : List.of();
+        return left.equals(right);
+    }
+
+    /**
+     * Unique field ("programName" or "email") a DuplicateKeyException from either backend was raised for
+     * Mongo reports "dup key: { email: ... }", the embedded store "Duplicate email: ..."
+     */
+    static String duplicateField(DuplicateKeyException e) {
+        String message = e.getMessage();
+        return message != null && Pattern.compile("dup key: \\{ ?email:|Duplicate email:").matcher(message).find()
+                ? "email" : "programName";
+    }
+}
@@ -0,0 +1,156 @@
+package com.unibague.gradework.orionprogram.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unibague.gradework.orionprogram.configuration.WarmupProperties;
+import com.unibague.gradework.orionprogram.controller.ProgramController;
+import com.unibague.gradework.orionprogram.model.EducationalArea;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.security.UserContext;
+import com.unibague.gradework.orionprogram.services.IProgramService;
+import com.unibague.gradework.orionprogram.services.IUserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Startup warm-up stage
+ * Application runners complete before ApplicationReadyEvent, so the readiness probe
+ * keeps reporting REFUSING_TRAFFIC until this runner returns.
+ */
+@Slf4j
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final UserContext.AuthenticatedUser WARMUP_ADMIN = new UserContext.AuthenticatedUser(
+            "warmup", "warmup@local", UserContext.ROLE_ADMIN, Set.of("*"));
+
+    private final WarmupProperties warmupProperties;
+    private final IProgramService programService;
+    private final IUserService userService;
+    private final ProgramController programController;
+    private final ObjectMapper objectMapper;
+    private final Timer warmupTimer;
+
+    public WarmupRunner(WarmupProperties warmupProperties, IProgramService programService,
+                        IUserService userService, ProgramController programController,
+                        ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.warmupProperties = warmupProperties;
+        this.programService = programService;
+        this.userService = userService;
+        this.programController = programController;
+        this.objectMapper = objectMapper;
+        this.warmupTimer = Timer.builder("orion.warmup.duration")
+                .description("Time spent warming up before accepting traffic")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!warmupProperties.isEnabled()) {
+            log.info("Warm-up disabled");
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + warmupProperties.getTimeBudget().toNanos();
+        log.info("Starting warm-up (budget: {})", warmupProperties.getTimeBudget());
+
+        // Runs on its own thread so a hung Mongo or User Service cannot hold readiness past the budget
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "warmup"));
+        Future<?> warmup = executor.submit(() -> {
+            List<Program> hotPrograms = warmMongo(deadline);
+            warmControllerAndSerializers(hotPrograms, deadline);
+            primeUserService(hotPrograms, deadline);
+        });
+
+        try {
+            warmup.get(warmupProperties.getTimeBudget().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            warmup.cancel(true);
+            log.warn("Warm-up exceeded its budget of {}", warmupProperties.getTimeBudget());
+        } catch (ExecutionException e) {
+            // Warm-up is best effort: a cold replica is better than one that never becomes ready
+            log.warn("Warm-up aborted: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+            long elapsed = System.nanoTime() - start;
+            warmupTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    /**
+     * Opens the Mongo pool and pulls the hottest programs through the driver and mapper
+     */
+    private List<Program> warmMongo(long deadline) {
+        List<Program> programs = programService.getPrograms();
+        List<Program> hot = programs.subList(0, Math.min(warmupProperties.getHotPrograms(), programs.size()));
+
+        for (Program program : hot) {
+            if (expired(deadline)) break;
+            programService.getProgramById(program.getProgramId());
+        }
+        log.debug("Warm-up loaded {} hot programs out of {}", hot.size(), programs.size());
+        return hot;
+    }
+
+    /**
+     * Runs synthetic read calls through the controller and serializes the responses
+     */
+    private void warmControllerAndSerializers(List<Program> hotPrograms, long deadline) {
+        if (hotPrograms.isEmpty()) return;
+
+        UserContext.runAs(WARMUP_ADMIN, () -> {
+            for (int i = 0; i < warmupProperties.getIterations() && !expired(deadline); i++) {
+                Program program = hotPrograms.get(i % hotPrograms.size());
+                serialize(programController.getProgramById(program.getProgramId()));
+                serialize(programController.getEducationalAreas(program.getProgramId()));
+                if (i % 20 == 0) {
+                    serialize(programController.getAllPrograms(null));
+                }
+            }
+        });
+    }
+
+    /**
+     * Makes one outbound call so the HTTP client classes and keep-alive connection are ready
+     */
+    private void primeUserService(List<Program> hotPrograms, long deadline) {
+        if (!warmupProperties.isPrimeUserService() || expired(deadline)) return;
+
+        hotPrograms.stream()
+                .filter(program -> program.getEducationalArea() != null)
+                .flatMap(program -> program.getEducationalArea().stream())
+                .map(EducationalArea::getLeaderId)
+                .filter(leaderId -> leaderId != null && !leaderId.isBlank())
+                .findFirst()
+                .ifPresent(userService::getUserById);
+    }
+
+    private void serialize(ResponseEntity<?> response) {
+        try {
+            objectMapper.writeValueAsBytes(response.getBody());
+        } catch (Exception e) {
+            log.debug("Warm-up serialization failed: {}", e.getMessage());
+        }
+    }
+
+    private static boolean expired(long deadline) {
+        return System.nanoTime() - deadline > 0;
+    }
+}
@@ -0,0 +1,170 @@
+package com.unibague.gradework.orionprogram.audit;
+
+import com.unibague.gradework.orionprogram.configuration.AuditProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Batching, drop policies and sink failures of the asynchronous audit pipeline
+ * A sink that blocks on its first batch holds the writer so the queue can be filled deterministically.
+ */
+class AuditTrailTest {
+
+    private static final int CAPACITY = 16;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> written = new CopyOnWriteArrayList<>();
+    private final CountDownLatch writerBusy = new CountDownLatch(1);
+    private final CountDownLatch releaseWriter = new CountDownLatch(1);
+
+    private AuditTrail trail;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        releaseWriter.countDown();
+        if (trail != null) trail.stop();
+    }
+
+    @Test
+    void everyEventReachesTheSinkInOrder() throws InterruptedException {
+        AuditProperties properties = properties(AuditProperties.DropPolicy.DROP_NEWEST);
+        properties.setQueueCapacity(128);
+        properties.setBatchSize(10);
+        trail = start(properties, recordingSink());
+        releaseWriter.countDown();
+
+        IntStream.range(0, 100).forEach(i -> trail.record(event(i)));
+        trail.stop();
+
+        assertEquals(IntStream.range(0, 100).mapToObj(i -> "p" + i).toList(), written);
+        assertEquals(0, trail.getQueueDepth());
+        assertEquals(100, meterRegistry.counter("orion.audit.events.written").count());
+    }
+
+    @Test
+    void fullQueueDropsTheNewestEvent() throws InterruptedException {
+        trail = start(properties(AuditProperties.DropPolicy.DROP_NEWEST), recordingSink());
+        fillWhileWriterIsBusy();
+
+        assertEquals(expected(0, 1, CAPACITY + 1), written);
+        assertEquals(1, meterRegistry.counter("orion.audit.events.dropped").count());
+    }
+
+    @Test
+    void fullQueueDropsTheOldestEvent() throws InterruptedException {
+        trail = start(properties(AuditProperties.DropPolicy.DROP_OLDEST), recordingSink());
+        fillWhileWriterIsBusy();
+
+        assertEquals(expected(0, 2, CAPACITY + 2), written);
+        assertEquals(1, meterRegistry.counter("orion.audit.events.dropped").count());
+    }
+
+    @Test
+    void failedBatchIsCountedAndTheWriterKeepsGoing() throws InterruptedException {
+        AuditSink failingOnce = new AuditSink() {
+            private boolean failed;
+
+            @Override
+            public void write(List<AuditEvent> batch) throws Exception {
+                if (!failed) {
+                    failed = true;
+                    throw new IllegalStateException("sink unavailable");
+                }
+                batch.forEach(event -> written.add(event.getProgramId()));
+            }
+        };
+        trail = start(properties(AuditProperties.DropPolicy.DROP_NEWEST), failingOnce);
+
+        trail.record(event(0));
+        waitUntil(() -> meterRegistry.counter("orion.audit.batches.failed").count() == 1);
+        trail.record(event(1));
+        trail.stop();
+
+        assertEquals(List.of("p1"), written);
+        assertEquals(1, meterRegistry.counter("orion.audit.events.dropped").count());
+    }
+
+    @Test
+    void disabledTrailIgnoresEvents() {
+        AuditProperties properties = properties(AuditProperties.DropPolicy.DROP_NEWEST);
+        properties.setEnabled(false);
+        trail = start(properties, recordingSink());
+
+        trail.record(event(0));
+
+        assertEquals(0, trail.getQueueDepth());
+        assertTrue(written.isEmpty());
+    }
+
+    /**
+     * Event 0 occupies the writer; the next CAPACITY events fill the queue and one more overflows it
+     */
+    private void fillWhileWriterIsBusy() throws InterruptedException {
+        trail.record(event(0));
+        assertTrue(writerBusy.await(5, TimeUnit.SECONDS));
+
+        IntStream.rangeClosed(1, CAPACITY + 1).forEach(i -> trail.record(event(i)));
+        assertEquals(CAPACITY, trail.getQueueDepth());
+
+        releaseWriter.countDown();
+        trail.stop();
+    }
+
+    private AuditSink recordingSink() {
+        return batch -> {
+            writerBusy.countDown();
+            assertTrue(releaseWriter.await(5, TimeUnit.SECONDS));
+            batch.forEach(event -> written.add(event.getProgramId()));
+        };
+    }
+
+    private AuditTrail start(AuditProperties properties, AuditSink sink) {
+        AuditTrail started = new AuditTrail(sink, properties, meterRegistry);
+        started.start();
+        return started;
+    }
+
+    private static AuditProperties properties(AuditProperties.DropPolicy dropPolicy) {
+        AuditProperties properties = new AuditProperties();
+        properties.setQueueCapacity(CAPACITY);
+        properties.setBatchSize(1);
+        properties.setFlushInterval(Duration.ofMillis(10));
+        properties.setDropPolicy(dropPolicy);
+        return properties;
+    }
+
+    private static AuditEvent event(int i) {
+        return AuditEvent.builder()
+                .action(AuditAction.PROGRAM_UPDATED)
+                .userId("user")
+                .programId("p" + i)
+                .build();
+    }
+
+    /**
+     * "p0" followed by p{from}..p{to - 1}
+     */
+    private static List<String> expected(int first, int from, int to) {
+        return IntStream.concat(IntStream.of(first), IntStream.range(from, to)).mapToObj(i -> "p" + i).toList();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5s");
+            Thread.sleep(5);
+        }
+    }
+}
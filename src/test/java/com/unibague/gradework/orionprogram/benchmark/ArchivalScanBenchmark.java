@@ -0,0 +1,109 @@
+package com.unibague.gradework.orionprogram.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.unibague.gradework.orionprogram.configuration.StorageProperties;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.services.IProgramService;
+import com.unibague.gradework.orionprogram.services.ProgramService;
+import com.unibague.gradework.orionprogram.storage.EmbeddedProgramStore;
+import com.unibague.gradework.orionprogram.storage.IndexProvisioner;
+import com.unibague.gradework.orionprogram.storage.ProgramStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot-path scans over a catalog where 80% of the programs are retired
+ * in-place: retired programs stay in the programs collection, as before archiving existed.
+ * archived: the same programs were moved to the archive, leaving one in five in the hot collection.
+ * The mongo backend needs a replica set (archiving is transactional):
+ * -Dbenchmark.mongo.uri=mongodb://localhost:27017/orion_benchmark?replicaSet=rs0 (dropped on teardown).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArchivalScanBenchmark {
+
+    private static final int CATALOG_SIZE = 1000;
+    private static final int AREAS_PER_PROGRAM = 4;
+    private static final int HOT_EVERY = 5;
+
+    @Param({"embedded", "mongo"})
+    private String backend;
+
+    @Param({"in-place", "archived"})
+    private String layout;
+
+    private ProgramStore store;
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private ProgramService programService;
+
+    @Setup
+    public void setUp() {
+        if ("mongo".equals(backend)) {
+            mongoClient = BenchmarkData.mongoClient();
+            mongoTemplate = BenchmarkData.freshMongoTemplate(mongoClient);
+            new IndexProvisioner(mongoTemplate, new StorageProperties()).provision();
+            store = BenchmarkData.mongoStore(mongoClient, mongoTemplate);
+        } else {
+            store = BenchmarkData.embeddedStore();
+        }
+
+        List<Program> catalog = BenchmarkData.catalog(CATALOG_SIZE, AREAS_PER_PROGRAM);
+        for (Program program : catalog) {
+            store.save(program);
+        }
+        if ("archived".equals(layout)) {
+            for (int i = 0; i < CATALOG_SIZE; i++) {
+                if (i % HOT_EVERY != 0) {
+                    store.archive(BenchmarkData.programId(i), "benchmark");
+                }
+            }
+        }
+        programService = BenchmarkData.programService(store);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (store instanceof EmbeddedProgramStore embedded) {
+            embedded.close();
+        }
+        if (mongoClient != null) {
+            mongoTemplate.getDb().drop();
+            mongoClient.close();
+        }
+    }
+
+    @Benchmark
+    public List<Program> listCatalog() {
+        return programService.getPrograms();
+    }
+
+    @Benchmark
+    public List<Program> search() {
+        return programService.getPrograms("sistemas p00");
+    }
+
+    @Benchmark
+    public IProgramService.ProgramStatistics statistics() {
+        return programService.getProgramStatistics();
+    }
+}
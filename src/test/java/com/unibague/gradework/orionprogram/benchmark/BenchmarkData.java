@@ -0,0 +1,148 @@
+package com.unibague.gradework.orionprogram.benchmark;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.unibague.gradework.orionprogram.cache.SearchResultCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.unibague.gradework.orionprogram.configuration.ReadRoutingProperties;
+import com.unibague.gradework.orionprogram.configuration.SearchCacheProperties;
+import com.unibague.gradework.orionprogram.configuration.ShadowProperties;
+import com.unibague.gradework.orionprogram.configuration.SnapshotProperties;
+import com.unibague.gradework.orionprogram.configuration.StorageProperties;
+import com.unibague.gradework.orionprogram.model.EducationalArea;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.repository.ProgramRepository;
+import com.unibague.gradework.orionprogram.routing.ProgramReadRouter;
+import com.unibague.gradework.orionprogram.services.ProgramService;
+import com.unibague.gradework.orionprogram.shadow.ShadowReads;
+import com.unibague.gradework.orionprogram.snapshot.CatalogSnapshot;
+import com.unibague.gradework.orionprogram.storage.EmbeddedProgramStore;
+import com.unibague.gradework.orionprogram.storage.MongoProgramStore;
+import com.unibague.gradework.orionprogram.storage.ProgramStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Synthetic programs shared by the JMH benchmarks
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Program program(String programId, int areaCount) {
+        List<EducationalArea> areas = new ArrayList<>(areaCount);
+        for (int i = 1; i <= areaCount; i++) {
+            areas.add(EducationalArea.builder()
+                    .educationalAreaId(String.format("%sA%02d", programId, i))
+                    .name("Area de profundizacion " + i)
+                    .leaderId("leader-" + (i % 7))
+                    .image("https://cdn.unibague.edu.co/areas/" + programId + "/" + i + ".png")
+                    .build());
+        }
+        return Program.builder()
+                .programId(programId)
+                .programName("Ingenieria de Sistemas " + programId)
+                .email(programId.toLowerCase() + "@unibague.edu.co")
+                .image("https://cdn.unibague.edu.co/programs/" + programId + ".png")
+                .educationalArea(areas)
+                .build();
+    }
+
+    static List<Program> catalog(int size, int areasPerProgram) {
+        List<Program> programs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            programs.add(program(programId(i), areasPerProgram));
+        }
+        return programs;
+    }
+
+    /**
+     * ProgramService wired to the given store
+     */
+    static ProgramService programService(ProgramStore store) {
+        SearchResultCache searchResultCache = new SearchResultCache(new SearchCacheProperties(), new SimpleMeterRegistry());
+        ProgramService programService = new ProgramService();
+        ReflectionTestUtils.setField(programService, "programStore", store);
+        ReflectionTestUtils.setField(programService, "searchResultCache", searchResultCache);
+        ReflectionTestUtils.setField(programService, "shadowReads",
+                new ShadowReads(new ShadowProperties(), Optional.empty(), new ObjectMapper(), new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(programService, "catalogSnapshot", new CatalogSnapshot(new SnapshotProperties(),
+                store, searchResultCache, new ObjectMapper(), new SimpleMeterRegistry()));
+        return programService;
+    }
+
+    /**
+     * Embedded store on a fresh temporary log; appends are not fsync'ed
+     */
+    static EmbeddedProgramStore embeddedStore() {
+        try {
+            Path directory = Files.createTempDirectory("orion-bench");
+            StorageProperties properties = new StorageProperties();
+            properties.getEmbedded().setPath(directory.resolve("programs.log").toString());
+            properties.getEmbedded().setForceOnWrite(false);
+            // java.time support for archive records, as in the application's mapper
+            return new EmbeddedProgramStore(properties, JsonMapper.builder().findAndAddModules().build());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Client for -Dbenchmark.mongo.uri (default mongodb://localhost:27017/orion_benchmark)
+     */
+    static MongoClient mongoClient() {
+        return MongoClients.create(mongoUri());
+    }
+
+    /**
+     * Template on the benchmark database, dropped first so every run starts empty
+     */
+    static MongoTemplate freshMongoTemplate(MongoClient mongoClient) {
+        String database = Optional.ofNullable(new ConnectionString(mongoUri()).getDatabase()).orElse("orion_benchmark");
+        MongoTemplate mongoTemplate = new MongoTemplate(mongoClient, database);
+        mongoTemplate.getDb().drop();
+        return mongoTemplate;
+    }
+
+    /**
+     * Mongo store with read routing off: every read goes to the primary
+     */
+    static MongoProgramStore mongoStore(MongoClient mongoClient, MongoTemplate mongoTemplate) {
+        ProgramRepository repository = new MongoRepositoryFactory(mongoTemplate).getRepository(ProgramRepository.class);
+        ReadRoutingProperties routing = new ReadRoutingProperties();
+        routing.setEnabled(false);
+        ProgramReadRouter router = new ProgramReadRouter(repository, mongoTemplate, mongoTemplate, mongoClient, routing,
+                new SimpleMeterRegistry());
+        return new MongoProgramStore(repository, mongoTemplate, router, mongoClient);
+    }
+
+    private static String mongoUri() {
+        return System.getProperty("benchmark.mongo.uri", "mongodb://localhost:27017/orion_benchmark");
+    }
+
+    static String programId(int index) {
+        return String.format("P%05d", index);
+    }
+
+    static String programsHeader(int count, int stride) {
+        StringBuilder header = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) header.append(", ");
+            header.append(programId(i * stride));
+        }
+        return header.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package com.unibague.gradework.orionprogram.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unibague.gradework.orionprogram.cache.SearchResultCache;
+import com.unibague.gradework.orionprogram.configuration.SearchCacheProperties;
+import com.unibague.gradework.orionprogram.configuration.SnapshotProperties;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.snapshot.CatalogSnapshot;
+import com.unibague.gradework.orionprogram.storage.EmbeddedProgramStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from process start to the first catalog read when a snapshot is on disk
+ * restart: maps and decodes the snapshot, then answers getPrograms from it; the store is never
+ * touched, so the figure does not depend on database latency. save: one refresh that writes the file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogSnapshotBenchmark {
+
+    private static final int AREAS_PER_PROGRAM = 4;
+
+    @Param({"300", "3000"})
+    private int catalogSize;
+
+    private EmbeddedProgramStore store;
+    private SnapshotProperties properties;
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
+    private SearchResultCache searchResultCache;
+    private CatalogSnapshot saver;
+
+    @Setup
+    public void setUp() throws IOException {
+        store = BenchmarkData.embeddedStore();
+        for (Program program : BenchmarkData.catalog(catalogSize, AREAS_PER_PROGRAM)) {
+            store.save(program);
+        }
+
+        Path directory = Files.createTempDirectory("orion-snapshot-bench");
+        properties = new SnapshotProperties();
+        properties.setEnabled(true);
+        properties.setPath(directory.resolve("catalog.snapshot").toString());
+        objectMapper = new ObjectMapper();
+        meterRegistry = new SimpleMeterRegistry();
+        searchResultCache = new SearchResultCache(new SearchCacheProperties(), meterRegistry);
+
+        saver = new CatalogSnapshot(properties, store, searchResultCache, objectMapper, meterRegistry);
+        saver.refresh();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Benchmark
+    public List<Program> restart() {
+        CatalogSnapshot snapshot = new CatalogSnapshot(properties, store, searchResultCache, objectMapper, meterRegistry);
+        return snapshot.read(CatalogSnapshot.Catalog::programs, () -> {
+            throw new IllegalStateException("Snapshot was not served");
+        });
+    }
+
+    @Benchmark
+    public CatalogSnapshot save() {
+        saver.refresh();
+        return saver;
+    }
+}
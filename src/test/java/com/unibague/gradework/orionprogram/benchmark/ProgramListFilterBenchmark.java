@@ -0,0 +1,77 @@
+package com.unibague.gradework.orionprogram.benchmark;
+
+import com.unibague.gradework.orionprogram.controller.ProgramController;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.security.UserContext;
+import com.unibague.gradework.orionprogram.services.ProgramService;
+import com.unibague.gradework.orionprogram.storage.EmbeddedProgramStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProgramController.getAllPrograms: catalog load plus the per-user access filter stream
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProgramListFilterBenchmark {
+
+    @Param({"100", "1000"})
+    private int catalogSize;
+
+    @Param({"STUDENT", "COORDINATOR", "ADMIN"})
+    private String role;
+
+    private EmbeddedProgramStore store;
+    private ProgramController controller;
+
+    @Setup
+    public void setUp() {
+        store = BenchmarkData.embeddedStore();
+        for (Program program : BenchmarkData.catalog(catalogSize, 3)) {
+            store.save(program);
+        }
+
+        ProgramService programService = BenchmarkData.programService(store);
+
+        controller = new ProgramController();
+        ReflectionTestUtils.setField(controller, "programService", programService);
+
+        // Thread-scoped setup runs on the benchmark thread, so the ThreadLocal stays visible
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/service/program");
+        request.addHeader(UserContext.H_USER_ID, "user-42");
+        request.addHeader(UserContext.H_USER_ROLE, role);
+        request.addHeader(UserContext.H_USER_PROGRAMS, BenchmarkData.programsHeader(10, 7));
+        UserContext.populateFrom(request);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        UserContext.clear();
+        store.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> getAllPrograms() {
+        return controller.getAllPrograms(null);
+    }
+}
@@ -0,0 +1,85 @@
+package com.unibague.gradework.orionprogram.benchmark;
+
+import com.unibague.gradework.orionprogram.model.EducationalArea;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.services.ProgramService;
+import com.unibague.gradework.orionprogram.storage.EmbeddedProgramStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProgramService educational-area operations against the embedded store
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProgramServiceAreaBenchmark {
+
+    private static final String PROGRAM_ID = "P00001";
+
+    @Param({"10", "50"})
+    private int areaCount;
+
+    private EmbeddedProgramStore store;
+    private ProgramService programService;
+    private String lastAreaId;
+    private EducationalArea renamed;
+
+    @Setup
+    public void setUp() {
+        store = BenchmarkData.embeddedStore();
+        Program program = BenchmarkData.program(PROGRAM_ID, areaCount);
+        store.save(program);
+
+        programService = BenchmarkData.programService(store);
+
+        lastAreaId = String.format("%sA%02d", PROGRAM_ID, areaCount);
+        renamed = EducationalArea.builder().name("Area de profundizacion " + areaCount).build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Benchmark
+    public List<EducationalArea> getEducationalAreas() {
+        return programService.getEducationalAreas(PROGRAM_ID);
+    }
+
+    @Benchmark
+    public Optional<EducationalArea> getEducationalAreaById() {
+        return programService.getEducationalAreaById(PROGRAM_ID, lastAreaId);
+    }
+
+    @Benchmark
+    public EducationalArea updateEducationalArea() {
+        return programService.updateEducationalArea(PROGRAM_ID, lastAreaId, renamed);
+    }
+
+    @Benchmark
+    public Program createAndDeleteEducationalArea() {
+        EducationalArea area = EducationalArea.builder().name("Area temporal").build();
+        Program updated = programService.createEducationalArea(area, PROGRAM_ID);
+        programService.deleteEducationalArea(PROGRAM_ID, area.getEducationalAreaId());
+        return updated;
+    }
+}
@@ -0,0 +1,201 @@
+package com.unibague.gradework.orionprogram.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.unibague.gradework.orionprogram.audit.AuditTrail;
+import com.unibague.gradework.orionprogram.configuration.AuditProperties;
+import com.unibague.gradework.orionprogram.controller.ProgramController;
+import com.unibague.gradework.orionprogram.exception.ErrorResponse;
+import com.unibague.gradework.orionprogram.exception.GlobalExceptionHandler;
+import com.unibague.gradework.orionprogram.exception.ProgramExceptions;
+import com.unibague.gradework.orionprogram.security.AuthorizationInterceptor;
+import com.unibague.gradework.orionprogram.security.UserContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost of answering a rejected request (401, 403 or 404), previous handling against the current one
+ * legacy*: per-request Map bodies serialized by Jackson, a thrown SecurityException for 401 and
+ * not-found exceptions that capture their stack trace. The current path is AuthorizationInterceptor
+ * writing a pre-encoded body and stackless domain exceptions.
+ * Each call runs {@code frames} deep to approximate the servlet/Spring stack a real exception captures.
+ * The benchmark profile runs with -prof gc, which reports allocation per rejected request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RejectedRequestBenchmark {
+
+    /**
+     * ANONYMOUS is rejected with 401, STUDENT (no access to the program) with 403
+     */
+    @Param({"ANONYMOUS", "STUDENT"})
+    private String caller;
+
+    @Param({"16", "128"})
+    private int frames;
+
+    private ObjectMapper objectMapper;
+    private AuthorizationInterceptor interceptor;
+    private GlobalExceptionHandler exceptionHandler;
+    private HandlerMethod handler;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private ServletWebRequest webRequest;
+    private String programId;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        // Not started: recording ACCESS_DENIED is a no-op, as with audit disabled
+        AuditTrail auditTrail = new AuditTrail(batch -> { }, new AuditProperties(), new SimpleMeterRegistry());
+        interceptor = new AuthorizationInterceptor(auditTrail);
+        exceptionHandler = new GlobalExceptionHandler();
+        handler = new HandlerMethod(new ProgramController(),
+                ProgramController.class.getMethod("getProgramById", String.class));
+
+        programId = BenchmarkData.programId(999);
+        request = new MockHttpServletRequest("GET", "/service/program/" + programId);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("programId", programId));
+        if (!"ANONYMOUS".equals(caller)) {
+            request.addHeader(UserContext.H_USER_ID, "user-42");
+            request.addHeader(UserContext.H_USER_ROLE, caller);
+            request.addHeader(UserContext.H_USER_PROGRAMS, BenchmarkData.programsHeader(10, 3));
+        }
+        // Thread-scoped setup runs on the benchmark thread, so the ThreadLocal stays visible
+        UserContext.populateFrom(request);
+
+        response = new MockHttpServletResponse();
+        webRequest = new ServletWebRequest(request, response);
+    }
+
+    @TearDown
+    public void tearDown() {
+        UserContext.clear();
+    }
+
+    @Benchmark
+    public byte[] legacyDenied() {
+        return atDepth(frames, () -> {
+            ResponseEntity<?> entity;
+            try {
+                UserContext.AuthenticatedUser user = requireAuthenticationLegacy();
+                if (user.isAdmin() || user.isCoordinator() || user.hasAccessToProgram(programId)) {
+                    throw new IllegalStateException("Caller should have been rejected");
+                }
+                entity = ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of(
+                                "error", "PROGRAM_ACCESS_DENIED",
+                                "message", "You don't have access to this program"
+                        ));
+            } catch (SecurityException e) {
+                entity = ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("error", "AUTHENTICATION_REQUIRED", "message", e.getMessage()));
+            }
+            return write(entity);
+        });
+    }
+
+    @Benchmark
+    public byte[] denied() {
+        return atDepth(frames, () -> {
+            response.reset();
+            try {
+                if (interceptor.preHandle(request, response, handler)) {
+                    throw new IllegalStateException("Caller should have been rejected");
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return response.getContentAsByteArray();
+        });
+    }
+
+    @Benchmark
+    public byte[] legacyNotFound() {
+        return atDepth(frames, () -> {
+            try {
+                throw new LegacyProgramNotFoundException(programId);
+            } catch (LegacyProgramNotFoundException ex) {
+                ErrorResponse error = ErrorResponse.builder()
+                        .error("PROGRAM_NOT_FOUND")
+                        .message(ex.getMessage())
+                        .timestamp(LocalDateTime.now())
+                        .path(webRequest.getDescription(false).replace("uri=", ""))
+                        .status(HttpStatus.NOT_FOUND.value())
+                        .service("orion-program")
+                        .build();
+                return write(ResponseEntity.status(HttpStatus.NOT_FOUND).body(error));
+            }
+        });
+    }
+
+    @Benchmark
+    public byte[] notFound() {
+        return atDepth(frames, () -> {
+            try {
+                throw new ProgramExceptions.ProgramNotFoundException(programId);
+            } catch (ProgramExceptions.ProgramNotFoundException ex) {
+                return write(exceptionHandler.handleProgramNotFound(ex, webRequest));
+            }
+        });
+    }
+
+    private byte[] write(ResponseEntity<?> entity) {
+        try {
+            response.reset();
+            response.setStatus(entity.getStatusCode().value());
+            // Bytes first: writeValue(OutputStream) would close and commit the reused response
+            response.getOutputStream().write(objectMapper.writeValueAsBytes(entity.getBody()));
+            return response.getContentAsByteArray();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * UserContext.requireAuthentication as it was: a stack-capturing SecurityException per anonymous call
+     */
+    private static UserContext.AuthenticatedUser requireAuthenticationLegacy() {
+        return UserContext.getCurrentUser().orElseThrow(() -> new SecurityException("Authentication required"));
+    }
+
+    private static byte[] atDepth(int depth, Supplier<byte[]> action) {
+        return depth <= 0 ? action.get() : atDepth(depth - 1, action);
+    }
+
+    /**
+     * ProgramNotFoundException before it became stackless
+     */
+    private static class LegacyProgramNotFoundException extends RuntimeException {
+        LegacyProgramNotFoundException(String programId) {
+            super("Program not found with ID: " + programId);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.unibague.gradework.orionprogram.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.unibague.gradework.orionprogram.model.EducationalArea;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.services.IProgramService;
+import com.unibague.gradework.orionprogram.services.ProgramService;
+import com.unibague.gradework.orionprogram.storage.EmbeddedProgramStore;
+import com.unibague.gradework.orionprogram.storage.ProgramStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Same ProgramService workload against both storage backends
+ * The mongo backend needs a running server: -Dbenchmark.mongo.uri=mongodb://localhost:27017/orion_benchmark
+ * (the database is dropped on teardown).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StorageBackendBenchmark {
+
+    private static final int CATALOG_SIZE = 300;
+    private static final int AREAS_PER_PROGRAM = 4;
+
+    @Param({"embedded", "mongo"})
+    private String backend;
+
+    private ProgramStore store;
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private ProgramService programService;
+    private String hotProgramId;
+
+    @Setup
+    public void setUp() {
+        store = "mongo".equals(backend) ? mongoStore() : BenchmarkData.embeddedStore();
+        for (Program program : BenchmarkData.catalog(CATALOG_SIZE, AREAS_PER_PROGRAM)) {
+            store.save(program);
+        }
+        programService = BenchmarkData.programService(store);
+        hotProgramId = BenchmarkData.programId(CATALOG_SIZE / 2);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (store instanceof EmbeddedProgramStore embedded) {
+            embedded.close();
+        }
+        if (mongoClient != null) {
+            mongoTemplate.getDb().drop();
+            mongoClient.close();
+        }
+    }
+
+    @Benchmark
+    public Optional<Program> findById() {
+        return programService.getProgramById(hotProgramId);
+    }
+
+    @Benchmark
+    public List<Program> listCatalog() {
+        return programService.getPrograms();
+    }
+
+    @Benchmark
+    public List<Program> search() {
+        return programService.getPrograms("sistemas p001");
+    }
+
+    @Benchmark
+    public IProgramService.ProgramStatistics statistics() {
+        return programService.getProgramStatistics();
+    }
+
+    @Benchmark
+    public Program createAndDeleteArea() {
+        EducationalArea area = EducationalArea.builder().name("Area temporal").build();
+        Program updated = programService.createEducationalArea(area, hotProgramId);
+        programService.deleteEducationalArea(hotProgramId, area.getEducationalAreaId());
+        return updated;
+    }
+
+    private ProgramStore mongoStore() {
+        mongoClient = BenchmarkData.mongoClient();
+        mongoTemplate = BenchmarkData.freshMongoTemplate(mongoClient);
+        return BenchmarkData.mongoStore(mongoClient, mongoTemplate);
+    }
+}
@@ -0,0 +1,95 @@
+package com.unibague.gradework.orionprogram.benchmark;
+
+import com.unibague.gradework.orionprogram.security.UserContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Header parsing in UserContext.populateFrom and the per-program access check
+ * populateFrom replays the same header (a returning user, served from the ProgramAccess cache);
+ * populateFromUncachedHeader rotates through more distinct headers than the cache holds.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserContextBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int programCount;
+
+    private static final int DISTINCT_HEADERS = 8192;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletRequest[] uncachedRequests;
+    private int next;
+    private UserContext.AuthenticatedUser user;
+    private String grantedProgram;
+    private String otherProgram;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("GET", "/service/program");
+        request.addHeader(UserContext.H_USER_ID, "user-42");
+        request.addHeader(UserContext.H_USER_EMAIL, "user42@unibague.edu.co");
+        request.addHeader(UserContext.H_USER_ROLE, "STUDENT");
+        request.addHeader(UserContext.H_USER_PROGRAMS, BenchmarkData.programsHeader(programCount, 3));
+
+        UserContext.populateFrom(request);
+        user = UserContext.requireAuthentication();
+        UserContext.clear();
+
+        uncachedRequests = new MockHttpServletRequest[DISTINCT_HEADERS];
+        for (int i = 0; i < DISTINCT_HEADERS; i++) {
+            MockHttpServletRequest distinct = new MockHttpServletRequest("GET", "/service/program");
+            distinct.addHeader(UserContext.H_USER_ID, "user-" + i);
+            distinct.addHeader(UserContext.H_USER_ROLE, "STUDENT");
+            distinct.addHeader(UserContext.H_USER_PROGRAMS,
+                    BenchmarkData.programsHeader(programCount, 3) + ", U" + i);
+            uncachedRequests[i] = distinct;
+        }
+
+        grantedProgram = BenchmarkData.programId((programCount - 1) * 3);
+        otherProgram = BenchmarkData.programId(programCount * 3 + 1);
+    }
+
+    @Benchmark
+    public void populateFrom(Blackhole bh) {
+        UserContext.populateFrom(request);
+        bh.consume(UserContext.getCurrentUser());
+        UserContext.clear();
+    }
+
+    @Benchmark
+    public void populateFromUncachedHeader(Blackhole bh) {
+        UserContext.populateFrom(uncachedRequests[next]);
+        next = (next + 1) % DISTINCT_HEADERS;
+        bh.consume(UserContext.getCurrentUser());
+        UserContext.clear();
+    }
+
+    @Benchmark
+    public boolean hasAccessToProgramGranted() {
+        return user.hasAccessToProgram(grantedProgram);
+    }
+
+    @Benchmark
+    public boolean hasAccessToProgramDenied() {
+        return user.hasAccessToProgram(otherProgram);
+    }
+}
@@ -0,0 +1,137 @@
+package com.unibague.gradework.orionprogram.cache;
+
+import com.unibague.gradework.orionprogram.configuration.SearchCacheProperties;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.security.UserContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Keying, invalidation and bounds of the scoped search-result cache
+ */
+class SearchResultCacheTest {
+
+    private static final UserContext.AuthenticatedUser ADMIN = user("ADMIN", Set.of());
+    private static final UserContext.AuthenticatedUser STUDENT_P1 = user("STUDENT", Set.of("P1"));
+    private static final UserContext.AuthenticatedUser STUDENT_P2 = user("STUDENT", Set.of("P2"));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SearchCacheProperties properties = new SearchCacheProperties();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void repeatedSearchIsServedFromTheCache() {
+        SearchResultCache cache = cache();
+
+        List<Program> first = cache.get("ing", ADMIN, loader("P1"));
+        List<Program> second = cache.get("  ING ", ADMIN, loader("P1"));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, meterRegistry.counter("orion.search.cache.requests", "result", "hit").count());
+    }
+
+    @Test
+    void usersWithDifferentScopesDoNotShareEntries() {
+        SearchResultCache cache = cache();
+
+        cache.get("ing", STUDENT_P1, loader("P1"));
+        List<Program> other = cache.get("ing", STUDENT_P2, loader("P2"));
+
+        assertEquals("P2", other.get(0).getProgramId());
+        assertEquals(2, loads.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void invalidationDropsEveryEntry() {
+        SearchResultCache cache = cache();
+        cache.get("ing", ADMIN, loader("P1"));
+        cache.get("med", ADMIN, loader("P2"));
+
+        cache.invalidateAll();
+        cache.get("ing", ADMIN, loader("P1"));
+        cache.get("med", ADMIN, loader("P2"));
+
+        assertEquals(4, loads.get());
+        assertEquals(1, meterRegistry.get("orion.search.cache.invalidations").functionCounter().count());
+    }
+
+    @Test
+    void mutationDuringALoadLeavesTheResultStale() {
+        SearchResultCache cache = cache();
+
+        cache.get("ing", ADMIN, () -> {
+            cache.invalidateAll();
+            return loader("P1").get();
+        });
+        cache.get("ing", ADMIN, loader("P1"));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void expiredEntriesAreReloaded() {
+        properties.setTtl(Duration.ZERO);
+        SearchResultCache cache = cache();
+
+        cache.get("ing", ADMIN, loader("P1"));
+        cache.get("ing", ADMIN, loader("P1"));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedAtCapacity() {
+        properties.setMaxEntries(2);
+        SearchResultCache cache = cache();
+
+        cache.get("a", ADMIN, loader("P1"));
+        cache.get("b", ADMIN, loader("P1"));
+        cache.get("a", ADMIN, loader("P1"));
+        cache.get("c", ADMIN, loader("P1"));
+        assertEquals(2, cache.size());
+        assertEquals(3, loads.get());
+
+        cache.get("a", ADMIN, loader("P1"));
+        assertEquals(3, loads.get());
+        cache.get("b", ADMIN, loader("P1"));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void disabledCacheAlwaysLoads() {
+        properties.setEnabled(false);
+        SearchResultCache cache = cache();
+
+        cache.get("ing", ADMIN, loader("P1"));
+        cache.get("ing", ADMIN, loader("P1"));
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    private SearchResultCache cache() {
+        return new SearchResultCache(properties, meterRegistry);
+    }
+
+    private Supplier<List<Program>> loader(String programId) {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of(Program.builder().programId(programId).programName("Program " + programId).build());
+        };
+    }
+
+    private static UserContext.AuthenticatedUser user(String role, Set<String> programs) {
+        return new UserContext.AuthenticatedUser("u1", "u1@unibague.edu.co", role, programs);
+    }
+}
@@ -0,0 +1,33 @@
+package com.unibague.gradework.orionprogram.configuration;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.unibague.gradework.orionprogram.model.Program;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The native image needs every proxy interface set DeadlineMongoDatabaseFactory creates
+ */
+class OrionRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    OrionRuntimeHintsTest() {
+        new OrionRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registersTheDeadlineProxies() {
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(MongoDatabase.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(MongoCollection.class).test(hints));
+    }
+
+    @Test
+    void registersJacksonBindingForPrograms() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Program.class).test(hints));
+    }
+}
@@ -0,0 +1,124 @@
+package com.unibague.gradework.orionprogram.limiter;
+
+import com.unibague.gradework.orionprogram.configuration.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AIMD rule of the concurrency limiter: priority shares, back-off per round, growth under load
+ * and recovery while idle
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long USER_SERVICE_CALL = TimeUnit.MILLISECONDS.toNanos(30);
+
+    @Test
+    void userTrafficOnlyGetsItsShareOfTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 5; i++) assertTrue(limiter.tryAcquire(false));
+        assertFalse(limiter.tryAcquire(false));
+        assertTrue(limiter.tryAcquire(true));
+        assertEquals(6, limiter.getInFlight());
+    }
+
+    @Test
+    void priorityTrafficStopsAtTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 10; i++) assertTrue(limiter.tryAcquire(true));
+        assertFalse(limiter.tryAcquire(true));
+
+        limiter.release(FAST, false);
+        assertTrue(limiter.tryAcquire(true));
+    }
+
+    @Test
+    void failuresBackOffOncePerRoundOfRequests() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 9; i++) complete(limiter, FAST, true);
+        assertEquals(10, limiter.getLimit());
+
+        complete(limiter, FAST, true);
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    void sustainedSlowdownAgainstTheBaselineBacksOff() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 100; i++) complete(limiter, FAST, false);
+        for (int i = 0; i < 10; i++) complete(limiter, SLOW, false);
+
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    void mixOfFastAndSlowEndpointsIsNotCongestion() {
+        AdaptiveConcurrencyLimiter idle = limiter(10);
+        for (int i = 0; i < 2000; i++) complete(idle, i % 10 >= 7 ? USER_SERVICE_CALL : FAST, false);
+        assertEquals(10, idle.getLimit());
+
+        AdaptiveConcurrencyLimiter busy = limiter(10);
+        for (int i = 0; i < 5; i++) assertTrue(busy.tryAcquire(true));
+        for (int i = 0; i < 2000; i++) complete(busy, i % 5 == 0 ? USER_SERVICE_CALL : FAST, false);
+        assertTrue(busy.getLimit() > 10, "limit should not back off on a steady mix, was " + busy.getLimit());
+    }
+
+    @Test
+    void idleLimitRecoversToTheInitialLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+        for (int i = 0; i < 500; i++) complete(limiter, FAST, true);
+        assertEquals(8, limiter.getLimit());
+
+        for (int i = 0; i < 12; i++) complete(limiter, FAST, false);
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void limitNeverDropsBelowTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 500; i++) complete(limiter, FAST, true);
+
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void limitGrowsOnlyWhileItIsBeingUsed() {
+        AdaptiveConcurrencyLimiter idle = limiter(10);
+        for (int i = 0; i < 50; i++) complete(idle, FAST, false);
+        assertEquals(10, idle.getLimit());
+
+        AdaptiveConcurrencyLimiter busy = limiter(10);
+        for (int i = 0; i < 9; i++) assertTrue(busy.tryAcquire(true));
+        for (int i = 0; i < 50; i++) complete(busy, FAST, false);
+        assertTrue(busy.getLimit() > 10, "limit should grow under load, was " + busy.getLimit());
+    }
+
+    private static void complete(AdaptiveConcurrencyLimiter limiter, long latencyNanos, boolean failed) {
+        assertTrue(limiter.tryAcquire(true));
+        limiter.release(latencyNanos, failed);
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(initialLimit);
+        properties.setMinLimit(8);
+        properties.setMaxLimit(100);
+        properties.setBackoffRatio(0.9);
+        properties.setLatencyTolerance(2.0);
+        properties.setUserShare(0.5);
+        return new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,63 @@
+package com.unibague.gradework.orionprogram.limiter;
+
+import com.unibague.gradework.orionprogram.configuration.ConcurrencyLimitProperties;
+import com.unibague.gradework.orionprogram.security.RequestDeadline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Failure signal fed to the limiter: server errors back off, the caller's own deadline does not
+ */
+class ConcurrencyLimitFilterTest {
+
+    private final ConcurrencyLimitProperties properties = properties();
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry());
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, properties, new SimpleMeterRegistry());
+
+    @Test
+    void serverErrorsBackOff() throws Exception {
+        for (int i = 0; i < 10; i++) serve(HttpServletResponse.SC_SERVICE_UNAVAILABLE, false);
+
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    void deadlineExpiriesDoNotBackOff() throws Exception {
+        for (int i = 0; i < 30; i++) serve(HttpServletResponse.SC_GATEWAY_TIMEOUT, true);
+
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void unmarkedGatewayTimeoutStillCounts() throws Exception {
+        for (int i = 0; i < 10; i++) serve(HttpServletResponse.SC_GATEWAY_TIMEOUT, false);
+
+        assertEquals(9, limiter.getLimit());
+    }
+
+    private void serve(int status, boolean deadlineExpired) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/service/programs");
+        request.addHeader("X-Internal-Request", "true");
+        FilterChain chain = (req, res) -> {
+            if (deadlineExpired) RequestDeadline.markExpired(req);
+            ((HttpServletResponse) res).setStatus(status);
+        };
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+
+    private static ConcurrencyLimitProperties properties() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(8);
+        properties.setMaxLimit(100);
+        properties.setBackoffRatio(0.9);
+        return properties;
+    }
+}
@@ -0,0 +1,49 @@
+package com.unibague.gradework.orionprogram.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latency samples and counters for one endpoint of the replayed mix
+ * Each worker owns its own instance; instances are merged for the report.
+ */
+final class EndpointStats {
+
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+    private long errors;
+
+    void record(long nanos, boolean error) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = nanos;
+        if (error) errors++;
+    }
+
+    void merge(EndpointStats other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.latenciesNanos[i], false);
+        }
+        errors += other.errors;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /**
+     * @param quantile value in [0, 1], e.g. 0.999 for p999
+     * @return latency in milliseconds
+     */
+    double percentileMillis(double quantile) {
+        if (count == 0) return 0;
+        long[] sorted = Arrays.copyOf(latenciesNanos, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.min(count - 1, Math.ceil(quantile * count) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,250 @@
+package com.unibague.gradework.orionprogram.loadtest;
+
+import com.unibague.gradework.orionprogram.OrionProgramApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * End-to-end load test for orion-program
+ * Starts the application against a local Mongo and a stub User Service, seeds a synthetic
+ * catalog, replays a weighted mix of gateway-validated requests and prints throughput,
+ * p50/p99/p999 latency and the server's allocation rate per endpoint (request threads only).
+ *
+ * Run with: ./mvnw -Ploadtest test-compile exec:exec
+ * Tunables (system properties): loadtest.mongodb-uri, loadtest.programs, loadtest.duration,
+ * loadtest.concurrency, loadtest.user-latency-ms, loadtest.user-error-rate, loadtest.trace-sampling
+ */
+public final class LoadTestRunner {
+
+    enum Endpoint {
+        LIST_ALL(2), SEARCH(18), PROGRAM_BY_ID(35), AREAS(25), AREA_BY_ID(12), AREA_LEADER(8);
+
+        final int weight;
+
+        Endpoint(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final String[] ROLES = {"STUDENT", "STUDENT", "STUDENT", "STUDENT", "STUDENT",
+            "STUDENT", "STUDENT", "COORDINATOR", "COORDINATOR", "ADMIN"};
+    private static final String[] SEARCH_PREFIXES = {"Ingenieria LT00", "Derecho LT01", "Economia LT02",
+            "Psicologia LT03", "Diseno LT04"};
+
+    // Tomcat names its request threads http-nio-<port>-exec-<n>
+    private static final String TOMCAT_EXECUTOR_PREFIX = "http-nio-";
+    private static final String TOMCAT_EXECUTOR_MARKER = "-exec-";
+
+    private final String mongoUri = System.getProperty("loadtest.mongodb-uri", "mongodb://localhost:27017/orion-loadtest");
+    private final int programCount = Integer.getInteger("loadtest.programs", 100_000);
+    private final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+    private final long userLatencyMillis = Long.getLong("loadtest.user-latency-ms", 20);
+    private final double userErrorRate = Double.parseDouble(System.getProperty("loadtest.user-error-rate", "0.01"));
+    private final String traceSampling = System.getProperty("loadtest.trace-sampling", "0.1");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private String baseUrl;
+    private int[] areaCounts;
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestRunner().run();
+    }
+
+    private void run() throws Exception {
+        try (StubUserService userService = new StubUserService(userLatencyMillis, userErrorRate);
+             StubOtlpCollector collector = new StubOtlpCollector()) {
+            userService.start();
+            collector.start();
+
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(OrionProgramApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "spring.profiles.active=docker",
+                            "spring.data.mongodb.uri=" + mongoUri,
+                            "orion.services.user-service-url=" + userService.baseUrl(),
+                            "management.tracing.enabled=true",
+                            "management.otlp.tracing.endpoint=" + collector.tracesEndpoint(),
+                            "management.tracing.sampling.probability=" + traceSampling,
+                            "logging.level.com.unibague.gradework=WARN")
+                    .run();
+
+            try {
+                baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+
+                long seedStart = System.nanoTime();
+                areaCounts = new SyntheticCatalog().seed(context.getBean(MongoTemplate.class), programCount);
+                System.out.printf(Locale.ROOT, "Seeded %d programs in %.1fs%n",
+                        programCount, (System.nanoTime() - seedStart) / 1e9);
+
+                // Mixed replay for throughput and latency
+                Replay mixed = replay(duration, this::pickWeighted);
+                report("Mixed workload (" + duration.toSeconds() + "s, " + concurrency + " workers)",
+                        mixed.stats(), duration, null);
+
+                // Isolated runs attribute allocation to a single endpoint
+                Duration isolated = Duration.ofSeconds(Math.max(5, duration.toSeconds() / 6));
+                for (Endpoint endpoint : Endpoint.values()) {
+                    Replay run = replay(isolated, random -> endpoint);
+                    report("Isolated " + endpoint, run.stats(), isolated, run.allocatedBytes());
+                }
+
+                System.out.printf(Locale.ROOT, "Stub user service: %d requests, %d injected errors%n",
+                        userService.requests(), userService.injectedErrors());
+                System.out.printf(Locale.ROOT, "Stub OTLP collector: %d span exports, %.1f KB%n",
+                        collector.exports(), collector.bytes() / 1024.0);
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private record Replay(Map<Endpoint, EndpointStats> stats, long allocatedBytes) {
+    }
+
+    private Replay replay(Duration runFor, Function<ThreadLocalRandom, Endpoint> chooser) throws Exception {
+        Map<Long, Long> allocatedBefore = allocationSnapshot();
+        long deadline = System.nanoTime() + runFor.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Map<Endpoint, EndpointStats>>> futures = new ArrayList<>();
+
+        for (int w = 0; w < concurrency; w++) {
+            futures.add(workers.submit(() -> {
+                Map<Endpoint, EndpointStats> local = new EnumMap<>(Endpoint.class);
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Endpoint endpoint = chooser.apply(random);
+                    HttpRequest request = request(endpoint, random);
+                    long start = System.nanoTime();
+                    boolean error;
+                    try {
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        error = response.statusCode() >= 500;
+                    } catch (Exception e) {
+                        error = true;
+                    }
+                    local.computeIfAbsent(endpoint, e -> new EndpointStats()).record(System.nanoTime() - start, error);
+                }
+                return local;
+            }));
+        }
+
+        Map<Endpoint, EndpointStats> merged = new EnumMap<>(Endpoint.class);
+        for (Future<Map<Endpoint, EndpointStats>> future : futures) {
+            future.get().forEach((endpoint, stats) ->
+                    merged.computeIfAbsent(endpoint, e -> new EndpointStats()).merge(stats));
+        }
+        // Measure while the request threads are still alive so their allocations are counted
+        long allocated = allocatedSince(allocatedBefore);
+        workers.shutdown();
+        return new Replay(merged, allocated);
+    }
+
+    private Endpoint pickWeighted(ThreadLocalRandom random) {
+        int roll = random.nextInt(100);
+        for (Endpoint endpoint : Endpoint.values()) {
+            roll -= endpoint.weight;
+            if (roll < 0) return endpoint;
+        }
+        return Endpoint.PROGRAM_BY_ID;
+    }
+
+    private HttpRequest request(Endpoint endpoint, ThreadLocalRandom random) {
+        int index = random.nextInt(programCount);
+        String programId = SyntheticCatalog.programId(index);
+        int areas = Math.max(1, areaCounts[index]);
+        String areaId = SyntheticCatalog.areaId(programId, 1 + random.nextInt(areas));
+
+        String path = switch (endpoint) {
+            case LIST_ALL -> "/service/program";
+            case SEARCH -> "/service/program?search="
+                    + SEARCH_PREFIXES[random.nextInt(SEARCH_PREFIXES.length)].replace(" ", "%20") + random.nextInt(10);
+            case PROGRAM_BY_ID -> "/service/program/" + programId;
+            case AREAS -> "/service/program/" + programId + "/area";
+            case AREA_BY_ID -> "/service/program/" + programId + "/area/" + areaId;
+            case AREA_LEADER -> "/service/program/" + programId + "/area/" + areaId + "/leader";
+        };
+
+        // Headers exactly as the API gateway sets them after validating the JWT
+        StringBuilder programs = new StringBuilder(programId);
+        for (int i = 0; i < 4; i++) {
+            programs.append(',').append(SyntheticCatalog.programId(random.nextInt(programCount)));
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("X-Gateway-Validated", "true")
+                .header("X-User-ID", "user-" + random.nextInt(50_000))
+                .header("X-User-Email", "student@unibague.edu.co")
+                .header("X-User-Role", ROLES[random.nextInt(ROLES.length)])
+                .header("X-User-Programs", programs.toString())
+                .GET()
+                .build();
+    }
+
+    private static void report(String title, Map<Endpoint, EndpointStats> results, Duration runFor,
+                               Long allocatedBytes) {
+        System.out.println();
+        System.out.println("== " + title);
+        System.out.printf(Locale.ROOT, "%-14s %9s %7s %10s %9s %9s %9s %12s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "alloc MB/s");
+        double seconds = runFor.toNanos() / 1e9;
+        results.forEach((endpoint, stats) -> System.out.printf(Locale.ROOT,
+                "%-14s %9d %7d %10.1f %9.2f %9.2f %9.2f %12s%n",
+                endpoint, stats.count(), stats.errors(), stats.count() / seconds,
+                stats.percentileMillis(0.50), stats.percentileMillis(0.99), stats.percentileMillis(0.999),
+                allocatedBytes == null ? "-" : String.format(Locale.ROOT, "%.1f", allocatedBytes / seconds / (1024 * 1024))));
+    }
+
+    /**
+     * Allocated bytes per live Tomcat request thread
+     * The load generator runs in this JVM too; its workers and the HttpClient threads are left out
+     */
+    private static Map<Long, Long> allocationSnapshot() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] ids = threads.getAllThreadIds();
+        ThreadInfo[] infos = threads.getThreadInfo(ids);
+        long[] allocated = threads.getThreadAllocatedBytes(ids);
+        Map<Long, Long> snapshot = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            if (allocated[i] > 0 && infos[i] != null && isRequestThread(infos[i].getThreadName())) {
+                snapshot.put(ids[i], allocated[i]);
+            }
+        }
+        return snapshot;
+    }
+
+    private static boolean isRequestThread(String name) {
+        return name.startsWith(TOMCAT_EXECUTOR_PREFIX) && name.contains(TOMCAT_EXECUTOR_MARKER);
+    }
+
+    private static long allocatedSince(Map<Long, Long> before) {
+        long total = 0;
+        for (Map.Entry<Long, Long> entry : allocationSnapshot().entrySet()) {
+            total += entry.getValue() - before.getOrDefault(entry.getKey(), 0L);
+        }
+        return total;
+    }
+}
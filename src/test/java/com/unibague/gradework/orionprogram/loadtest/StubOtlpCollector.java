@@ -0,0 +1,65 @@
+package com.unibague.gradework.orionprogram.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for an OpenTelemetry collector
+ * Accepts OTLP/HTTP exports on POST /v1/traces, counts them and answers 200 without decoding.
+ */
+final class StubOtlpCollector implements AutoCloseable {
+
+    private static final String TRACES_PATH = "/v1/traces";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong exports = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+
+    StubOtlpCollector() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 64);
+        this.executor = Executors.newFixedThreadPool(2);
+        server.setExecutor(executor);
+        server.createContext(TRACES_PATH, this::handleExport);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    String tracesEndpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + TRACES_PATH;
+    }
+
+    long exports() {
+        return exports.get();
+    }
+
+    long bytes() {
+        return bytes.get();
+    }
+
+    private void handleExport(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            bytes.addAndGet(body.readAllBytes().length);
+        }
+        exports.incrementAndGet();
+        // Empty ExportTraceServiceResponse
+        exchange.getResponseHeaders().set("Content-Type", "application/x-protobuf");
+        exchange.sendResponseHeaders(200, -1);
+        exchange.close();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,77 @@
+package com.unibague.gradework.orionprogram.loadtest;
+
+import com.unibague.gradework.orionprogram.model.EducationalArea;
+import com.unibague.gradework.orionprogram.model.Program;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds the programs collection with synthetic but realistically shaped data
+ * About a fifth of the programs have no areas; the rest have between 1 and 8.
+ */
+final class SyntheticCatalog {
+
+    private static final String[] FACULTIES = {
+            "Ingenieria", "Administracion", "Derecho", "Psicologia", "Arquitectura",
+            "Contaduria", "Economia", "Comunicacion", "Diseno", "Matematicas"
+    };
+    private static final int BATCH_SIZE = 1000;
+
+    private final Random random = new Random(42);
+
+    static String programId(int index) {
+        return String.format("LT%06d", index);
+    }
+
+    static String areaId(String programId, int index) {
+        return String.format("%sA%02d", programId, index);
+    }
+
+    /**
+     * @return number of areas per program, indexed by program index
+     */
+    int[] seed(MongoTemplate mongoTemplate, int programCount) {
+        mongoTemplate.dropCollection(Program.class);
+
+        int[] areaCounts = new int[programCount];
+        List<Program> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < programCount; i++) {
+            areaCounts[i] = random.nextInt(10) < 2 ? 0 : 1 + random.nextInt(8);
+            batch.add(program(i, areaCounts[i]));
+            if (batch.size() == BATCH_SIZE) {
+                mongoTemplate.insert(batch, Program.class);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, Program.class);
+        }
+        return areaCounts;
+    }
+
+    private Program program(int index, int areaCount) {
+        String programId = programId(index);
+        String faculty = FACULTIES[index % FACULTIES.length];
+
+        List<EducationalArea> areas = new ArrayList<>(areaCount);
+        for (int a = 1; a <= areaCount; a++) {
+            areas.add(EducationalArea.builder()
+                    .educationalAreaId(areaId(programId, a))
+                    .name(faculty + " area " + a)
+                    .leaderId("leader-" + random.nextInt(5000))
+                    .image("https://cdn.unibague.edu.co/areas/" + programId + "/" + a + ".png")
+                    .build());
+        }
+
+        return Program.builder()
+                .programId(programId)
+                .programName(faculty + " " + programId)
+                .email(programId.toLowerCase() + "@unibague.edu.co")
+                .image("https://cdn.unibague.edu.co/programs/" + programId + ".png")
+                .educationalArea(areas)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.unibague.gradework.orionprogram.profiling;
+
+import com.unibague.gradework.orionprogram.configuration.ProfilingProperties;
+import com.unibague.gradework.orionprogram.security.GatewaySecurityFilter;
+import com.unibague.gradework.orionprogram.security.UserContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The recording endpoint trusts the service credential, not the header-derived user alone
+ */
+class JfrRecordingEndpointTest {
+
+    private final JfrRecordingEndpoint endpoint = new JfrRecordingEndpoint(new ProfilingProperties());
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void internalHeaderAloneIsForbidden() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader(UserContext.H_INTERNAL, "true");
+        enter(request);
+
+        assertEquals(403, endpoint.status().getStatus());
+        assertEquals(403, endpoint.start(1L).getStatus());
+        assertEquals(403, endpoint.stop().getStatus());
+    }
+
+    @Test
+    void serviceCredentialStillNeedsAnAdmin() {
+        MockHttpServletRequest request = request();
+        request.setAttribute(GatewaySecurityFilter.SERVICE_AUTHENTICATED, Boolean.TRUE);
+        request.addHeader(UserContext.H_USER_ID, "u1");
+        request.addHeader(UserContext.H_USER_ROLE, "COORDINATOR");
+        enter(request);
+
+        assertEquals(403, endpoint.status().getStatus());
+    }
+
+    @Test
+    void serviceCallerSeesTheRecordingState() {
+        MockHttpServletRequest request = request();
+        request.setAttribute(GatewaySecurityFilter.SERVICE_AUTHENTICATED, Boolean.TRUE);
+        request.addHeader("X-Service-Request", "true");
+        enter(request);
+
+        Map<String, Object> state = endpoint.status().getBody();
+
+        assertEquals(200, endpoint.status().getStatus());
+        assertEquals("NONE", state.get("state"));
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/actuator/jfr");
+    }
+
+    /**
+     * Same context an actuator call runs in: request attributes bound and the UserContext from headers
+     */
+    private static void enter(MockHttpServletRequest request) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        UserContext.clear();
+        UserContext.populateFrom(request);
+    }
+}
@@ -0,0 +1,50 @@
+package com.unibague.gradework.orionprogram.routing;
+
+import org.bson.BsonTimestamp;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Token decoding: valid tokens are exposed for the request, malformed and future ones are ignored
+ */
+class CausalConsistencyFilterTest {
+
+    private final CausalConsistencyFilter filter = new CausalConsistencyFilter();
+
+    @Test
+    void tokenRoundTripsThroughTheHeader() throws Exception {
+        BsonTimestamp operationTime = new BsonTimestamp((int) Instant.now().getEpochSecond(), 7);
+
+        assertEquals(operationTime, tokenSeenBy(CausalConsistencyFilter.encode(operationTime)));
+        assertNull(CausalConsistencyFilter.currentToken());
+    }
+
+    @Test
+    void malformedTokenIsIgnored() throws Exception {
+        assertNull(tokenSeenBy("not-a-token"));
+        assertNull(tokenSeenBy("-1"));
+    }
+
+    @Test
+    void futureTokenIsIgnored() throws Exception {
+        BsonTimestamp nextHour = new BsonTimestamp((int) Instant.now().plusSeconds(3600).getEpochSecond(), 1);
+
+        assertNull(tokenSeenBy(CausalConsistencyFilter.encode(nextHour)));
+        assertNull(tokenSeenBy("ffffffffffffffff"));
+    }
+
+    private BsonTimestamp tokenSeenBy(String header) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/service/programs");
+        request.addHeader(CausalConsistencyFilter.H_CAUSAL_TOKEN, header);
+        AtomicReference<BsonTimestamp> seen = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> seen.set(CausalConsistencyFilter.currentToken()));
+        return seen.get();
+    }
+}
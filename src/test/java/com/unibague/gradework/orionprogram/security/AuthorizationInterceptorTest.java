@@ -0,0 +1,142 @@
+package com.unibague.gradework.orionprogram.security;
+
+import com.unibague.gradework.orionprogram.audit.AuditAction;
+import com.unibague.gradework.orionprogram.audit.AuditEvent;
+import com.unibague.gradework.orionprogram.audit.AuditTrail;
+import com.unibague.gradework.orionprogram.configuration.AuditProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reglas @RequiresAccess: 401 sin usuario, 403 con el cuerpo de la regla y auditoría opcional del rechazo
+ */
+class AuthorizationInterceptorTest {
+
+    private final List<AuditEvent> audited = new CopyOnWriteArrayList<>();
+    private AuditTrail auditTrail;
+    private AuthorizationInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        AuditProperties properties = new AuditProperties();
+        properties.setFlushInterval(Duration.ofMillis(10));
+        auditTrail = new AuditTrail(audited::addAll, properties, new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(auditTrail, "start");
+        interceptor = new AuthorizationInterceptor(auditTrail);
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+        ReflectionTestUtils.invokeMethod(auditTrail, "stop");
+    }
+
+    @Test
+    void unannotatedHandlersAndStaticResourcesPass() throws Exception {
+        assertTrue(interceptor.preHandle(request("P1"), new MockHttpServletResponse(), handler("open")));
+        assertTrue(interceptor.preHandle(request("P1"), new MockHttpServletResponse(), new Object()));
+    }
+
+    @Test
+    void anonymousCallerGets401() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request("P1"), response, handler("read")));
+        assertEquals(401, response.getStatus());
+        assertTrue(response.getContentAsString().contains("AUTHENTICATION_REQUIRED"));
+    }
+
+    @Test
+    void programReadNeedsAccessToThatProgram() throws Exception {
+        signIn("STUDENT", "P1");
+
+        assertTrue(interceptor.preHandle(request("P1"), new MockHttpServletResponse(), handler("read")));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request("P2"), response, handler("read")));
+        assertEquals(403, response.getStatus());
+        assertEquals("{\"error\":\"PROGRAM_ACCESS_DENIED\",\"message\":\"No access to this program\"}",
+                response.getContentAsString());
+    }
+
+    @Test
+    void programWriteNeedsACoordinatorOfThatProgram() throws Exception {
+        signIn("COORDINATOR", "P1");
+        assertTrue(interceptor.preHandle(request("P1"), new MockHttpServletResponse(), handler("write")));
+        assertFalse(interceptor.preHandle(request("P2"), new MockHttpServletResponse(), handler("write")));
+
+        signIn("STUDENT", "P1");
+        assertFalse(interceptor.preHandle(request("P1"), new MockHttpServletResponse(), handler("write")));
+
+        signIn("ADMIN");
+        assertTrue(interceptor.preHandle(request("P2"), new MockHttpServletResponse(), handler("write")));
+    }
+
+    @Test
+    void onlyAuditedRulesRecordTheDenial() throws Exception {
+        signIn("STUDENT", "P1");
+
+        interceptor.preHandle(request("P2"), new MockHttpServletResponse(), handler("read"));
+        interceptor.preHandle(request("P2"), new MockHttpServletResponse(), handler("write"));
+        ReflectionTestUtils.invokeMethod(auditTrail, "stop");
+
+        assertEquals(1, audited.size());
+        AuditEvent event = audited.get(0);
+        assertEquals(AuditAction.ACCESS_DENIED, event.getAction());
+        assertEquals("u1", event.getUserId());
+        assertEquals("P2", event.getProgramId());
+    }
+
+    /**
+     * Mismo camino que un request del gateway: el contexto sale de los headers
+     */
+    private static void signIn(String role, String... programs) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(UserContext.H_USER_ID, "u1");
+        request.addHeader(UserContext.H_USER_ROLE, role);
+        request.addHeader(UserContext.H_USER_PROGRAMS, String.join(",", programs));
+        UserContext.clear();
+        UserContext.populateFrom(request);
+    }
+
+    private static MockHttpServletRequest request(String programId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/service/programs/" + programId);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("programId", programId));
+        return request;
+    }
+
+    private static HandlerMethod handler(String method) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), Endpoints.class.getMethod(method));
+    }
+
+    static class Endpoints {
+
+        public void open() {
+        }
+
+        @RequiresAccess(value = RequiresAccess.Level.PROGRAM_READ, error = "PROGRAM_ACCESS_DENIED",
+                message = "No access to this program", audit = true)
+        public void read() {
+        }
+
+        @RequiresAccess(RequiresAccess.Level.PROGRAM_WRITE)
+        public void write() {
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.unibague.gradework.orionprogram.security;
+
+import com.unibague.gradework.orionprogram.metrics.ProgramMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Acceso directo: health abierto, API solo vía gateway o S2S y /actuator/jfr solo con token de servicio
+ */
+class GatewaySecurityFilterTest {
+
+    private static final String TOKEN = "test-service-token";
+
+    private final GatewaySecurityFilter filter = filter();
+
+    @Test
+    void healthIsOpen() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void apiNeedsTheGatewayOrAServiceToken() throws Exception {
+        assertEquals(403, run(request("/service/programs")).getStatus());
+
+        MockHttpServletRequest viaGateway = request("/service/programs");
+        viaGateway.addHeader("X-Gateway-Validated", "true");
+        assertEquals(200, run(viaGateway).getStatus());
+
+        MockHttpServletRequest service = serviceRequest("/service/programs", TOKEN);
+        assertEquals(200, run(service).getStatus());
+        assertEquals(Boolean.TRUE, service.getAttribute(GatewaySecurityFilter.SERVICE_AUTHENTICATED));
+    }
+
+    @Test
+    void jfrRejectsHeaderOnlyCallers() throws Exception {
+        MockHttpServletRequest internal = request("/actuator/jfr");
+        internal.addHeader("X-Internal-Request", "true");
+        internal.addHeader("X-Gateway-Validated", "true");
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(internal, response, chain);
+
+        assertEquals(403, response.getStatus());
+        assertNull(chain.getRequest());
+        assertEquals(403, run(serviceRequest("/actuator/jfr", "wrong-token")).getStatus());
+    }
+
+    @Test
+    void jfrAcceptsTheServiceToken() throws Exception {
+        MockHttpServletRequest service = serviceRequest("/actuator/jfr", TOKEN);
+
+        assertEquals(200, run(service).getStatus());
+        assertEquals(Boolean.TRUE, service.getAttribute(GatewaySecurityFilter.SERVICE_AUTHENTICATED));
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+
+    private static MockHttpServletRequest serviceRequest(String path, String token) {
+        MockHttpServletRequest request = request(path);
+        request.addHeader("X-Service-Request", "true");
+        request.addHeader("X-Service-Token", token);
+        return request;
+    }
+
+    private static GatewaySecurityFilter filter() {
+        GatewaySecurityFilter filter = new GatewaySecurityFilter(new ProgramMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(filter, "gatewayServiceToken", TOKEN);
+        return filter;
+    }
+}
@@ -0,0 +1,77 @@
+package com.unibague.gradework.orionprogram.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Parsing of X-User-Programs and the catalog scope each role gets
+ */
+class ProgramAccessTest {
+
+    @Test
+    void parsesTrimsAndDeduplicatesIds() {
+        ProgramAccess access = ProgramAccess.parse(" P2, P1 ,,P2 ,  ");
+
+        assertEquals(Set.of("P1", "P2"), access.asSet());
+        assertEquals(2, access.size());
+        assertTrue(access.contains("P1"));
+        assertTrue(access.contains("P2"));
+        assertFalse(access.contains("P3"));
+        assertFalse(access.contains(null));
+    }
+
+    @Test
+    void wildcardAnywhereInTheListGrantsEverything() {
+        assertSame(ProgramAccess.ALL, ProgramAccess.forHeader("*"));
+        assertSame(ProgramAccess.ALL, ProgramAccess.parse("P1, *"));
+        assertSame(ProgramAccess.ALL, ProgramAccess.of(List.of("P1", "*")));
+        assertTrue(ProgramAccess.ALL.contains("anything"));
+    }
+
+    @Test
+    void missingOrEmptyListsGrantNothing() {
+        assertSame(ProgramAccess.NONE, ProgramAccess.forHeader(null));
+        assertSame(ProgramAccess.NONE, ProgramAccess.forHeader("  "));
+        assertSame(ProgramAccess.NONE, ProgramAccess.parse(" , ,"));
+        assertSame(ProgramAccess.NONE, ProgramAccess.of(List.of()));
+        assertTrue(ProgramAccess.NONE.isEmpty());
+        assertFalse(ProgramAccess.NONE.contains("P1"));
+    }
+
+    @Test
+    void sameProgramsAreEqualWhateverTheHeaderOrder() {
+        ProgramAccess fromHeader = ProgramAccess.forHeader("P3,P1,P2");
+        ProgramAccess fromSet = ProgramAccess.of(Set.of("P2", "P3", "P1"));
+
+        assertEquals(fromHeader, fromSet);
+        assertEquals(fromHeader.hashCode(), fromSet.hashCode());
+        assertFalse(fromHeader.equals(ProgramAccess.ALL));
+    }
+
+    @Test
+    void repeatedHeadersAreServedFromTheCache() {
+        String header = "CACHED-1,CACHED-2";
+        assertSame(ProgramAccess.forHeader(header), ProgramAccess.forHeader(header));
+    }
+
+    @Test
+    void adminsAndCoordinatorsSeeTheWholeCatalog() {
+        ProgramAccess own = ProgramAccess.of(Set.of("P1"));
+
+        assertSame(ProgramAccess.ALL, user("ADMIN", own).catalogScope());
+        assertSame(ProgramAccess.ALL, user("coordinator", own).catalogScope());
+        assertSame(own, user("STUDENT", own).catalogScope());
+        assertSame(ProgramAccess.NONE, user("STUDENT", null).catalogScope());
+    }
+
+    private static UserContext.AuthenticatedUser user(String role, ProgramAccess access) {
+        return new UserContext.AuthenticatedUser("u1", "u1@unibague.edu.co", role, access);
+    }
+}
@@ -0,0 +1,99 @@
+package com.unibague.gradework.orionprogram.security;
+
+import com.unibague.gradework.orionprogram.exception.ProgramExceptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Deadline del gateway: lectura de headers, reserva de respuesta, vencimiento y marca del 504
+ */
+class RequestDeadlineTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void withoutHeadersThereIsNoDeadline() {
+        RequestDeadline.populateFrom(new MockHttpServletRequest(), Duration.ofMillis(20));
+
+        assertFalse(RequestDeadline.isSet());
+        assertFalse(RequestDeadline.isExpired());
+        assertEquals(Long.MAX_VALUE, RequestDeadline.remainingMillis());
+        assertDoesNotThrow(() -> RequestDeadline.check("find"));
+    }
+
+    @Test
+    void timeoutHeaderIsABudgetMinusTheReserve() {
+        RequestDeadline.populateFrom(request(RequestDeadline.H_TIMEOUT, "1000"), Duration.ofMillis(200));
+
+        assertTrue(RequestDeadline.isSet());
+        long remaining = RequestDeadline.remainingMillis();
+        assertTrue(remaining > 700 && remaining <= 800, "remaining was " + remaining);
+    }
+
+    @Test
+    void absoluteDeadlineWinsOverTheTimeout() {
+        MockHttpServletRequest request = request(RequestDeadline.H_DEADLINE,
+                String.valueOf(System.currentTimeMillis() - 5));
+        request.addHeader(RequestDeadline.H_TIMEOUT, "60000");
+
+        RequestDeadline.populateFrom(request, Duration.ZERO);
+
+        assertTrue(RequestDeadline.isExpired());
+        ProgramExceptions.DeadlineExceededException e = assertThrows(
+                ProgramExceptions.DeadlineExceededException.class, () -> RequestDeadline.check("Mongo find"));
+        assertTrue(e.getMessage().contains("Mongo find"));
+    }
+
+    @Test
+    void reserveLargerThanTheBudgetExpiresAtOnce() {
+        RequestDeadline.populateFrom(request(RequestDeadline.H_TIMEOUT, "10"), Duration.ofMillis(20));
+
+        assertTrue(RequestDeadline.isExpired());
+    }
+
+    @Test
+    void malformedHeadersAreIgnored() {
+        RequestDeadline.populateFrom(request(RequestDeadline.H_DEADLINE, "tomorrow"), Duration.ZERO);
+        assertFalse(RequestDeadline.isSet());
+
+        RequestDeadline.populateFrom(request(RequestDeadline.H_TIMEOUT, " "), Duration.ZERO);
+        assertFalse(RequestDeadline.isSet());
+    }
+
+    @Test
+    void clearRemovesTheDeadlineFromTheThread() {
+        RequestDeadline.populateFrom(request(RequestDeadline.H_TIMEOUT, "1000"), Duration.ZERO);
+
+        RequestDeadline.clear();
+
+        assertFalse(RequestDeadline.isSet());
+    }
+
+    @Test
+    void expiredMarkTravelsWithTheRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        assertFalse(RequestDeadline.isMarkedExpired(request));
+
+        RequestDeadline.markExpired(request);
+
+        assertTrue(RequestDeadline.isMarkedExpired(request));
+    }
+
+    private static MockHttpServletRequest request(String header, String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(header, value);
+        return request;
+    }
+}
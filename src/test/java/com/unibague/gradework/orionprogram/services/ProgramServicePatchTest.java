@@ -0,0 +1,182 @@
+package com.unibague.gradework.orionprogram.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.unibague.gradework.orionprogram.cache.SearchResultCache;
+import com.unibague.gradework.orionprogram.configuration.SearchCacheProperties;
+import com.unibague.gradework.orionprogram.configuration.ShadowProperties;
+import com.unibague.gradework.orionprogram.configuration.SnapshotProperties;
+import com.unibague.gradework.orionprogram.configuration.StorageProperties;
+import com.unibague.gradework.orionprogram.model.EducationalArea;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.shadow.ShadowReads;
+import com.unibague.gradework.orionprogram.snapshot.CatalogSnapshot;
+import com.unibague.gradework.orionprogram.storage.EmbeddedProgramStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.unibague.gradework.orionprogram.exception.ProgramExceptions.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * RFC 7386 merge patches: set and remove fields, If-Match preconditions and conflict reporting,
+ * and the server-owned version they are checked against
+ */
+class ProgramServicePatchTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    Path directory;
+
+    private EmbeddedProgramStore store;
+    private ProgramService programService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StorageProperties properties = new StorageProperties();
+        properties.getEmbedded().setPath(directory.resolve("programs.log").toString());
+        properties.getEmbedded().setInitialSizeBytes(4096);
+        properties.getEmbedded().setForceOnWrite(false);
+        store = new EmbeddedProgramStore(properties, objectMapper);
+
+        SearchResultCache searchResultCache = new SearchResultCache(new SearchCacheProperties(), new SimpleMeterRegistry());
+        programService = new ProgramService();
+        ReflectionTestUtils.setField(programService, "programStore", store);
+        ReflectionTestUtils.setField(programService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(programService, "searchResultCache", searchResultCache);
+        ReflectionTestUtils.setField(programService, "shadowReads",
+                new ShadowReads(new ShadowProperties(), Optional.empty(), objectMapper, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(programService, "catalogSnapshot", new CatalogSnapshot(new SnapshotProperties(),
+                store, searchResultCache, objectMapper, new SimpleMeterRegistry()));
+
+        store.save(program("P1", "Medicina", "medicina@unibague.edu.co"));
+        store.save(program("P2", "Derecho", "derecho@unibague.edu.co"));
+        store.addEducationalArea("P1", EducationalArea.builder()
+                .educationalAreaId("P1A01").name("Cirugía").leaderId("leader-1").build());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void absentFieldsAreKeptAndNullRemovesAField() {
+        Program patched = programService.patchProgram("P1",
+                json("{\"image\": \"https://cdn.unibague.edu.co/p1.png\", \"email\": null}"), null);
+
+        assertEquals("Medicina", patched.getProgramName());
+        assertEquals("https://cdn.unibague.edu.co/p1.png", patched.getImage());
+        assertNull(patched.getEmail());
+        assertNull(store.findById("P1").orElseThrow().getEmail());
+        assertEquals(1, patched.getEducationalArea().size());
+    }
+
+    @Test
+    void requiredAndUnknownFieldsAreRejected() {
+        assertThrows(InvalidProgramDataException.class,
+                () -> programService.patchProgram("P1", json("{\"programName\": null}"), null));
+        assertThrows(InvalidProgramDataException.class,
+                () -> programService.patchProgram("P1", json("{\"programId\": \"P9\"}"), null));
+        assertThrows(InvalidProgramDataException.class,
+                () -> programService.patchProgram("P1", json("{\"email\": \"not-an-email\"}"), null));
+        assertThrows(InvalidProgramDataException.class,
+                () -> programService.patchProgram("P1", json("[]"), null));
+        assertEquals("medicina@unibague.edu.co", store.findById("P1").orElseThrow().getEmail());
+    }
+
+    @Test
+    void staleIfMatchFailsThePrecondition() {
+        long version = store.findById("P1").orElseThrow().getVersion();
+
+        Program patched = programService.patchProgram("P1", json("{\"programName\": \"Medicina Humana\"}"), version);
+        assertEquals(version + 1, patched.getVersion());
+
+        assertThrows(ProgramVersionMismatchException.class,
+                () -> programService.patchProgram("P1", json("{\"programName\": \"Otra\"}"), version));
+        assertThrows(ProgramVersionMismatchException.class,
+                () -> programService.patchProgram("P1", json("{}"), version));
+        assertThrows(ProgramNotFoundException.class,
+                () -> programService.patchProgram("P9", json("{\"image\": \"x\"}"), version));
+        assertEquals("Medicina Humana", store.findById("P1").orElseThrow().getProgramName());
+    }
+
+    @Test
+    void conflictNamesTheFieldThatCollided() {
+        DuplicateProgramException byEmail = assertThrows(DuplicateProgramException.class,
+                () -> programService.patchProgram("P1", json("{\"email\": \"derecho@unibague.edu.co\"}"), null));
+        assertEquals("Program with email 'derecho@unibague.edu.co' already exists", byEmail.getMessage());
+
+        DuplicateProgramException byName = assertThrows(DuplicateProgramException.class,
+                () -> programService.patchProgram("P1", json("{\"programName\": \"Derecho\"}"), null));
+        assertEquals("Program with name 'Derecho' already exists", byName.getMessage());
+    }
+
+    @Test
+    void areaPatchReturnsTheProgramAtItsNewVersion() {
+        long version = store.findById("P1").orElseThrow().getVersion();
+
+        Program patched = programService.patchEducationalArea("P1", "P1A01",
+                json("{\"name\": \"Cirugía General\", \"leaderId\": null}"), version);
+
+        assertEquals(version + 1, patched.getVersion());
+        EducationalArea area = patched.getEducationalArea().get(0);
+        assertEquals("Cirugía General", area.getName());
+        assertNull(area.getLeaderId());
+        assertThrows(ProgramVersionMismatchException.class, () -> programService.patchEducationalArea(
+                "P1", "P1A01", json("{\"image\": \"x\"}"), version));
+        assertThrows(InvalidProgramDataException.class, () -> programService.patchEducationalArea(
+                "P1", "P1A01", json("{\"name\": null}"), null));
+    }
+
+    @Test
+    void clientVersionIsIgnoredOnCreateAndUpdate() {
+        Program body = program(null, "Psicología", "psicologia@unibague.edu.co");
+        body.setVersion(41L);
+
+        Program created = programService.createProgram(body);
+        assertEquals(1L, created.getVersion());
+        assertEquals(1L, store.findById(created.getProgramId()).orElseThrow().getVersion());
+
+        Program update = program(null, "Psicología Clínica", null);
+        update.setVersion(99L);
+        Program updated = programService.updateProgram(created.getProgramId(), update);
+        assertEquals(2L, updated.getVersion());
+
+        Program patched = programService.patchProgram(created.getProgramId(), json("{\"image\": \"x.png\"}"), 2L);
+        assertEquals(3L, patched.getVersion());
+    }
+
+    private JsonNode json(String value) {
+        try {
+            return objectMapper.readTree(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(value, e);
+        }
+    }
+
+    private static Program program(String programId, String name, String email) {
+        return Program.builder()
+                .programId(programId)
+                .programName(name)
+                .email(email)
+                .educationalArea(new ArrayList<>(List.of()))
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.unibague.gradework.orionprogram.shadow;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Pointer reported for a shadow mismatch: the first differing node, resolvable with JsonNode.at
+ */
+class ShadowReadsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void equalTreesHaveNoDifference() {
+        assertNull(difference("{\"a\": 1, \"b\": [1, 2]}", "{\"b\": [1, 2], \"a\": 1}"));
+    }
+
+    @Test
+    void differingValueIsReportedAtItsPath() {
+        assertEquals("/educationalArea/1/name", difference(
+                "{\"educationalArea\": [{\"name\": \"Redes\"}, {\"name\": \"Software\"}]}",
+                "{\"educationalArea\": [{\"name\": \"Redes\"}, {\"name\": \"Datos\"}]}"));
+        assertEquals("/1", difference("[1, 2, 3]", "[1, 5, 3]"));
+    }
+
+    @Test
+    void missingAndExtraFieldsAreReportedByName() {
+        assertEquals("/email", difference("{\"name\": \"a\", \"email\": \"x\"}", "{\"name\": \"a\"}"));
+        assertEquals("/image", difference("{\"name\": \"a\"}", "{\"name\": \"a\", \"image\": \"x\"}"));
+    }
+
+    @Test
+    void containerShapeMismatchStopsAtTheContainer() {
+        assertEquals("/areas", difference("{\"areas\": [1, 2]}", "{\"areas\": [1]}"));
+        assertEquals("/areas", difference("{\"areas\": []}", "{\"areas\": {}}"));
+        assertEquals("", difference("{}", "[]"));
+        assertEquals("/v", difference("{\"v\": 1}", "{\"v\": \"1\"}"));
+    }
+
+    @Test
+    void pointerEscapesSlashAndTilde() {
+        JsonNode expected = tree("{\"a/b\": {\"c~d\": 1}}");
+        JsonNode actual = tree("{\"a/b\": {\"c~d\": 2}}");
+
+        String path = ShadowReads.firstDifference(expected, actual, "");
+
+        assertEquals("/a~1b/c~0d", path);
+        assertEquals(1, expected.at(path).intValue());
+    }
+
+    private String difference(String expected, String actual) {
+        return ShadowReads.firstDifference(tree(expected), tree(actual), "");
+    }
+
+    private JsonNode tree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(json, e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.unibague.gradework.orionprogram.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.unibague.gradework.orionprogram.cache.SearchResultCache;
+import com.unibague.gradework.orionprogram.configuration.SearchCacheProperties;
+import com.unibague.gradework.orionprogram.configuration.SnapshotProperties;
+import com.unibague.gradework.orionprogram.configuration.StorageProperties;
+import com.unibague.gradework.orionprogram.exception.ProgramExceptions;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.security.UserContext;
+import com.unibague.gradework.orionprogram.storage.EmbeddedProgramStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Catalog served after a restart: fallback only on store failures, literal search, cache eviction on catch-up
+ */
+class CatalogSnapshotTest {
+
+    private static final UserContext.AuthenticatedUser ADMIN =
+            new UserContext.AuthenticatedUser("u1", "u1@unibague.edu.co", "ADMIN", Set.of());
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SearchResultCache searchResultCache = new SearchResultCache(new SearchCacheProperties(), meterRegistry);
+    private final SnapshotProperties properties = new SnapshotProperties();
+
+    @TempDir
+    Path directory;
+
+    private EmbeddedProgramStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StorageProperties storageProperties = new StorageProperties();
+        storageProperties.getEmbedded().setPath(directory.resolve("programs.log").toString());
+        storageProperties.getEmbedded().setInitialSizeBytes(4096);
+        storageProperties.getEmbedded().setForceOnWrite(false);
+        store = new EmbeddedProgramStore(storageProperties, objectMapper);
+        store.save(program("P1", "Ingeniería (Nocturna)"));
+        store.save(program("P2", "Ingeniería Diurna"));
+
+        properties.setEnabled(true);
+        properties.setPath(directory.resolve("catalog.snapshot").toString());
+        snapshot().refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void restartServesTheSavedCatalogUntilTheFirstRefresh() {
+        CatalogSnapshot snapshot = snapshot();
+
+        assertTrue(snapshot.isServing());
+        assertEquals(2, snapshot.read(CatalogSnapshot.Catalog::programs, this::unreachable).size());
+
+        snapshot.refresh();
+        assertEquals(List.of(), snapshot.read(CatalogSnapshot.Catalog::programs, List::of));
+    }
+
+    @Test
+    void storeFailureFallsBackButADeadlineDoesNot() {
+        CatalogSnapshot snapshot = snapshot();
+        snapshot.afterWrite();
+
+        assertEquals(2, snapshot.read(CatalogSnapshot.Catalog::programs, () -> {
+            throw new DataAccessResourceFailureException("primary unreachable");
+        }).size());
+        assertThrows(QueryTimeoutException.class, () -> snapshot.read(CatalogSnapshot.Catalog::programs, () -> {
+            throw new QueryTimeoutException("maxTimeMS expired");
+        }));
+        assertThrows(ProgramExceptions.DeadlineExceededException.class,
+                () -> snapshot.read(CatalogSnapshot.Catalog::programs, () -> {
+                    throw new ProgramExceptions.DeadlineExceededException("Mongo find");
+                }));
+    }
+
+    @Test
+    void catalogSearchMatchesTheTermLiterally() {
+        CatalogSnapshot.Catalog catalog = snapshot().read(current -> current, this::unreachable);
+
+        assertEquals(List.of("P1"), ids(catalog.search("(noct")));
+        assertEquals(List.of(), ids(catalog.search("Ingenier.a")));
+        assertEquals(List.of("P1", "P2"), ids(catalog.search("INGENIERÍA")));
+    }
+
+    @Test
+    void searchesCachedFromTheSnapshotAreDroppedOnceTheStoreTakesOver() {
+        CatalogSnapshot snapshot = snapshot();
+        AtomicInteger loads = new AtomicInteger();
+
+        searchResultCache.get("ing", ADMIN, () -> {
+            loads.incrementAndGet();
+            return snapshot.read(catalog -> catalog.search("ing"), this::unreachable);
+        });
+        snapshot.refresh();
+        searchResultCache.get("ing", ADMIN, () -> {
+            loads.incrementAndGet();
+            return store.searchByName("ing");
+        });
+
+        assertEquals(2, loads.get());
+        assertEquals(1, meterRegistry.get("orion.search.cache.invalidations").functionCounter().count());
+
+        snapshot.refresh();
+        snapshot.afterWrite();
+        assertEquals(1, meterRegistry.get("orion.search.cache.invalidations").functionCounter().count());
+    }
+
+    private CatalogSnapshot snapshot() {
+        return new CatalogSnapshot(properties, store, searchResultCache, objectMapper, meterRegistry);
+    }
+
+    private <T> T unreachable() {
+        throw new AssertionError("store should not be read while the snapshot is preferred");
+    }
+
+    private static List<String> ids(List<Program> programs) {
+        return programs.stream().map(Program::getProgramId).toList();
+    }
+
+    private static Program program(String programId, String name) {
+        return Program.builder()
+                .programId(programId)
+                .programName(name)
+                .educationalArea(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,198 @@
+package com.unibague.gradework.orionprogram.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.unibague.gradework.orionprogram.configuration.StorageProperties;
+import com.unibague.gradework.orionprogram.model.ArchivedProgram;
+import com.unibague.gradework.orionprogram.model.EducationalArea;
+import com.unibague.gradework.orionprogram.model.Program;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Embedded backend: state survives a reopen (archive and restore included), compaction keeps
+ * only live records, reads hand out copies and name search is literal
+ */
+class EmbeddedProgramStoreTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    Path directory;
+
+    private EmbeddedProgramStore store;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (store != null) store.close();
+    }
+
+    @Test
+    void stateIsRebuiltFromTheLogOnReopen() throws IOException {
+        store = open(false);
+        store.save(program("P1", "Ingeniería de Sistemas", "sistemas@unibague.edu.co"));
+        store.save(program("P2", "Medicina", "medicina@unibague.edu.co"));
+        store.addEducationalArea("P1", area("P1A01", "Redes"));
+        store.deleteById("P2");
+
+        store = reopen(false);
+
+        assertEquals(List.of("P1"), ids(store.findAllSortedByName()));
+        Program p1 = store.findById("P1").orElseThrow();
+        assertEquals(2L, p1.getVersion());
+        assertEquals("Redes", p1.getEducationalArea().get(0).getName());
+        assertTrue(store.findByProgramName("Medicina").isEmpty());
+    }
+
+    @Test
+    void archiveAndRestoreReplayAsMoves() throws IOException {
+        store = open(false);
+        store.save(program("P1", "Ingeniería de Sistemas", "sistemas@unibague.edu.co"));
+        store.save(program("P2", "Medicina", "medicina@unibague.edu.co"));
+        store.archive("P1", "admin");
+        store.archive("P2", "admin");
+        store.restore("P2");
+
+        store = reopen(false);
+
+        assertEquals(List.of("P2"), ids(store.findAllSortedByName()));
+        assertEquals(1, store.countArchived());
+        ArchivedProgram archived = store.findArchivedById("P1").orElseThrow();
+        assertEquals("admin", archived.getArchivedBy());
+        assertEquals("Ingeniería de Sistemas", archived.getProgram().getProgramName());
+        assertTrue(store.findArchivedById("P2").isEmpty());
+        assertEquals(2L, store.findById("P2").orElseThrow().getVersion());
+    }
+
+    @Test
+    void restoreIsRejectedWhenTheNameWasTakenMeanwhile() throws IOException {
+        store = open(false);
+        store.save(program("P1", "Medicina", "medicina@unibague.edu.co"));
+        store.archive("P1", "admin");
+        store.save(program("P2", "Medicina", "otra@unibague.edu.co"));
+
+        assertThrows(DuplicateKeyException.class, () -> store.restore("P1"));
+        assertEquals(1, store.countArchived());
+    }
+
+    @Test
+    void emailIsUniqueOnlyAmongProgramsThatHaveOne() throws IOException {
+        store = open(false);
+        store.save(program("P1", "Medicina", null));
+        store.save(program("P2", "Enfermería", null));
+        store.save(program("P3", "Derecho", "derecho@unibague.edu.co"));
+
+        DuplicateKeyException e = assertThrows(DuplicateKeyException.class,
+                () -> store.save(program("P4", "Psicología", "derecho@unibague.edu.co")));
+        assertEquals("email", ProgramStore.duplicateField(e));
+        e = assertThrows(DuplicateKeyException.class, () -> store.save(program("P5", "Derecho", null)));
+        assertEquals("programName", ProgramStore.duplicateField(e));
+    }
+
+    @Test
+    void duplicateFieldIsReadFromMongoErrors() {
+        assertEquals("email", ProgramStore.duplicateField(new DuplicateKeyException(
+                "E11000 duplicate key error collection: orion.programs index: email_1 dup key: { email: \"a@b.co\" }")));
+        assertEquals("programName", ProgramStore.duplicateField(new DuplicateKeyException(
+                "E11000 duplicate key error collection: orion.programs index: programName_1 dup key: { programName: \"email\" }")));
+    }
+
+    @Test
+    void compactionKeepsOnlyLiveAndArchivedPrograms() throws IOException {
+        store = open(false);
+        store.save(program("P1", "Ingeniería de Sistemas", "sistemas@unibague.edu.co"));
+        store.save(program("P2", "Medicina", "medicina@unibague.edu.co"));
+        for (int i = 0; i < 20; i++) {
+            store.addEducationalArea("P1", area("P1A" + i, "Área " + i));
+        }
+        store.archive("P2", "admin");
+        store.close();
+        long before = Files.size(log());
+
+        store = open(true);
+        store = reopen(false);
+
+        assertEquals(List.of("P1"), ids(store.findAllSortedByName()));
+        assertEquals(20, store.findById("P1").orElseThrow().getEducationalArea().size());
+        assertEquals(1, store.countArchived());
+        assertTrue(Files.size(log()) <= before);
+        assertFalse(Files.exists(directory.resolve("programs.log.compact")));
+    }
+
+    @Test
+    void readsHandOutCopies() throws IOException {
+        store = open(false);
+        store.save(program("P1", "Ingeniería de Sistemas", "sistemas@unibague.edu.co"));
+        store.addEducationalArea("P1", area("P1A01", "Redes"));
+
+        store.findByIdForRead("P1").orElseThrow().setProgramName("Changed");
+        store.findAllSortedByName().get(0).getEducationalArea().clear();
+        store.searchByName("sistemas").get(0).setEmail("changed@unibague.edu.co");
+
+        Program stored = store.findById("P1").orElseThrow();
+        assertEquals("Ingeniería de Sistemas", stored.getProgramName());
+        assertEquals("sistemas@unibague.edu.co", stored.getEmail());
+        assertEquals(1, stored.getEducationalArea().size());
+        assertNotSame(store.findByIdForRead("P1").orElseThrow(), store.findByIdForRead("P1").orElseThrow());
+    }
+
+    @Test
+    void nameSearchMatchesTheTermLiterally() throws IOException {
+        store = open(false);
+        store.save(program("P1", "Ingeniería (Nocturna)", "nocturna@unibague.edu.co"));
+        store.save(program("P2", "Ingeniería Diurna", "diurna@unibague.edu.co"));
+
+        assertEquals(List.of("P1"), ids(store.searchByName("(noct")));
+        assertEquals(List.of(), ids(store.searchByName("Ingenier.a")));
+        assertEquals(List.of("P1", "P2"), ids(store.searchByName("INGENIERÍA")));
+    }
+
+    private EmbeddedProgramStore open(boolean compactOnStartup) throws IOException {
+        StorageProperties properties = new StorageProperties();
+        properties.getEmbedded().setPath(log().toString());
+        properties.getEmbedded().setInitialSizeBytes(4096);
+        properties.getEmbedded().setForceOnWrite(false);
+        properties.getEmbedded().setCompactOnStartup(compactOnStartup);
+        return new EmbeddedProgramStore(properties, objectMapper);
+    }
+
+    private EmbeddedProgramStore reopen(boolean compactOnStartup) throws IOException {
+        store.close();
+        return open(compactOnStartup);
+    }
+
+    private Path log() {
+        return directory.resolve("programs.log");
+    }
+
+    private static List<String> ids(List<Program> programs) {
+        return programs.stream().map(Program::getProgramId).toList();
+    }
+
+    private static Program program(String programId, String name, String email) {
+        return Program.builder()
+                .programId(programId)
+                .programName(name)
+                .email(email)
+                .educationalArea(new ArrayList<>())
+                .build();
+    }
+
+    private static EducationalArea area(String educationalAreaId, String name) {
+        return EducationalArea.builder().educationalAreaId(educationalAreaId).name(name).build();
+    }
+}
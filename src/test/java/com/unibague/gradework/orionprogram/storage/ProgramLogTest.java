@@ -0,0 +1,134 @@
+package com.unibague.gradework.orionprogram.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Record framing of the embedded store's log: replay, torn tails, checksums and growth
+ * Corruption is written straight into the file between a close and a reopen, as a crash would leave it.
+ */
+class ProgramLogTest {
+
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_OVERHEAD = 9;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordsReplayInAppendOrder() throws IOException {
+        Path path = directory.resolve("programs.log");
+        try (ProgramLog log = ProgramLog.open(path, 4096, false)) {
+            log.append(ProgramLog.PUT, bytes("a"));
+            log.append(ProgramLog.DELETE, bytes("b"));
+            log.append(ProgramLog.ARCHIVE, bytes("c"));
+        }
+
+        List<String> replayed = replay(path);
+
+        assertEquals(List.of("1:a", "2:b", "3:c"), replayed);
+    }
+
+    @Test
+    void tornAppendIsInvisibleAndOverwrittenByTheNextOne() throws IOException {
+        Path path = directory.resolve("programs.log");
+        try (ProgramLog log = ProgramLog.open(path, 4096, false)) {
+            log.append(ProgramLog.PUT, bytes("first"));
+        }
+        // Type, checksum and payload made it to disk; the length (written last) did not
+        int torn = HEADER_SIZE + RECORD_OVERHEAD + "first".length();
+        write(path, torn + 4, new byte[]{ProgramLog.PUT, 1, 2, 3, 4, 's', 'e', 'c'});
+
+        assertEquals(List.of("1:first"), replay(path));
+
+        try (ProgramLog log = ProgramLog.open(path, 4096, false)) {
+            log.replay((type, payload) -> { });
+            log.append(ProgramLog.PUT, bytes("second"));
+        }
+        assertEquals(List.of("1:first", "1:second"), replay(path));
+    }
+
+    @Test
+    void checksumMismatchTruncatesTheLogAtThatRecord() throws IOException {
+        Path path = directory.resolve("programs.log");
+        try (ProgramLog log = ProgramLog.open(path, 4096, false)) {
+            log.append(ProgramLog.PUT, bytes("good"));
+            log.append(ProgramLog.PUT, bytes("flipped"));
+            log.append(ProgramLog.PUT, bytes("after"));
+        }
+        int second = HEADER_SIZE + RECORD_OVERHEAD + "good".length();
+        write(path, second + RECORD_OVERHEAD, bytes("F"));
+
+        assertEquals(List.of("1:good"), replay(path));
+        // The tail was zeroed, so the record after the corrupt one is gone for good
+        assertEquals(List.of("1:good"), replay(path));
+    }
+
+    @Test
+    void impossibleLengthTruncatesTheLog() throws IOException {
+        Path path = directory.resolve("programs.log");
+        try (ProgramLog log = ProgramLog.open(path, 4096, false)) {
+            log.append(ProgramLog.PUT, bytes("good"));
+        }
+        int next = HEADER_SIZE + RECORD_OVERHEAD + "good".length();
+        write(path, next, ByteBuffer.allocate(4).putInt(1 << 20).array());
+
+        assertEquals(List.of("1:good"), replay(path));
+    }
+
+    @Test
+    void logGrowsPastItsInitialMapping() throws IOException {
+        Path path = directory.resolve("programs.log");
+        String payload = "x".repeat(1000);
+        try (ProgramLog log = ProgramLog.open(path, 4096, false)) {
+            for (int i = 0; i < 20; i++) {
+                log.append(ProgramLog.PUT, bytes(i + payload));
+            }
+            assertEquals(HEADER_SIZE + 20L * RECORD_OVERHEAD + 20L * 1001 + 10, log.sizeBytes());
+        }
+
+        assertTrue(Files.size(path) > 4096);
+        assertEquals(IntStream.range(0, 20).mapToObj(i -> "1:" + i + payload).toList(), replay(path));
+    }
+
+    @Test
+    void foreignFileIsRejected() throws IOException {
+        Path path = directory.resolve("other.bin");
+        Files.write(path, bytes("definitely not a program log"));
+
+        assertThrows(IOException.class, () -> ProgramLog.open(path, 4096, false));
+    }
+
+    private static List<String> replay(Path path) throws IOException {
+        List<String> records = new ArrayList<>();
+        try (ProgramLog log = ProgramLog.open(path, 4096, false)) {
+            log.replay((type, payload) -> records.add(type + ":" + new String(payload, StandardCharsets.UTF_8)));
+        }
+        return records;
+    }
+
+    private static void write(Path path, long offset, byte[] data) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(data), offset);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,283 @@
+package com.unibague.gradework.orionprogram.storage;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.unibague.gradework.orionprogram.configuration.StorageProperties;
+import com.unibague.gradework.orionprogram.model.ArchivedProgram;
+import com.unibague.gradework.orionprogram.model.EducationalArea;
+import com.unibague.gradework.orionprogram.model.Program;
+import com.unibague.gradework.orionprogram.model.ProgramFilter;
+import com.unibague.gradework.orionprogram.repository.ProgramRepository;
+import com.unibague.gradework.orionprogram.security.ProgramAccess;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Query-plan regression tests: every ProgramRepository query, and the queries MongoProgramStore builds
+ * itself (filter page and facets, patches, compare-and-set, archive listing), must be served by an index
+ * Runs explain() against a real server and fails on any COLLSCAN stage in the winning plan.
+ * Enabled only when ORION_TEST_MONGODB_URI is set, e.g. mongodb://localhost:27017/orion_plan_test
+ * (the database is dropped afterwards); the query-plans Maven profile sets it, and CI runs that profile.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = "ORION_TEST_MONGODB_URI", matches = ".+")
+class QueryPlanTest {
+
+    private static final String SAMPLE = "sistemas";
+    private static final ProgramAccess SCOPE = ProgramAccess.of(List.of("P003", "P007"));
+
+    /**
+     * Filters for derived queries, which have no @Query annotation to read the filter from
+     */
+    private static final Map<String, Document> DERIVED_QUERIES = Map.of(
+            "findByProgramName", new Document("programName", SAMPLE)
+    );
+
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private String collection;
+
+    @BeforeAll
+    void setUp() {
+        String uri = System.getenv("ORION_TEST_MONGODB_URI");
+        String database = Optional.ofNullable(new ConnectionString(uri).getDatabase()).orElse("orion_plan_test");
+        mongoClient = MongoClients.create(uri);
+        mongoTemplate = new MongoTemplate(mongoClient, database);
+        mongoTemplate.getDb().drop();
+        collection = mongoTemplate.getCollectionName(Program.class);
+
+        new IndexProvisioner(mongoTemplate, new StorageProperties()).provision();
+
+        // Enough documents that the planner has a real choice
+        for (int i = 0; i < 200; i++) {
+            List<EducationalArea> areas = new ArrayList<>();
+            for (int a = 1; a <= i % 4; a++) {
+                areas.add(EducationalArea.builder()
+                        .educationalAreaId(String.format("P%03dA%02d", i, a))
+                        .name("Area " + a)
+                        .leaderId("leader-" + (i % 9))
+                        .build());
+            }
+            mongoTemplate.insert(Program.builder()
+                    .programId(String.format("P%03d", i))
+                    .programName("Ingenieria de Sistemas " + i)
+                    .email("p" + i + "@unibague.edu.co")
+                    .educationalArea(areas)
+                    .build());
+        }
+        for (int i = 0; i < 20; i++) {
+            mongoTemplate.insert(ArchivedProgram.builder()
+                    .programId(String.format("A%03d", i))
+                    .program(Program.builder().programId(String.format("A%03d", i)).programName("Archivado " + i).build())
+                    .archivedAt(Instant.now().minusSeconds(i))
+                    .archivedBy("admin")
+                    .build());
+        }
+    }
+
+    @AfterAll
+    void tearDown() {
+        if (mongoClient == null) return;
+        mongoTemplate.getDb().drop();
+        mongoClient.close();
+    }
+
+    @Test
+    void declaredIndexesAreInPlace() {
+        List<String> problems = new IndexProvisioner(mongoTemplate, new StorageProperties()).verify();
+        assertTrue(problems.isEmpty(), () -> "Index problems: " + problems);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        List<Method> methods = Arrays.stream(ProgramRepository.class.getDeclaredMethods())
+                .filter(method -> !method.isDefault() && !method.isSynthetic())
+                .toList();
+        assertFalse(methods.isEmpty());
+
+        return methods.stream().map(method -> usesIndexes(method.getName(), () -> explain(method)));
+    }
+
+    /**
+     * The queries that serve traffic through MongoProgramStore and the read router, built by the store itself
+     */
+    @TestFactory
+    Stream<DynamicTest> storeQueriesUseIndexes() {
+        ProgramFilter byScope = ProgramFilter.builder().build();
+        ProgramFilter byName = ProgramFilter.builder().nameContains(SAMPLE).build();
+        ProgramFilter byEmailDomain = ProgramFilter.builder().emailDomain("unibague.edu.co").build();
+        ProgramFilter byLeader = ProgramFilter.builder().leaderId("leader-3").hasAreas(true).build();
+        Update patch = MongoProgramStore.toUpdate(
+                new ProgramStore.FieldPatch(Map.of("image", "x.png"), Set.of("email")), "");
+        Update areaPatch = MongoProgramStore.toUpdate(
+                new ProgramStore.FieldPatch(Map.of("name", "Area"), Set.of("leaderId")), "educationalArea.$.");
+
+        return Stream.of(
+                usesIndexes("filter page by scope", () -> explainFind(
+                        MongoProgramStore.filterPage(MongoProgramStore.filterCriteria(byScope, SCOPE), byScope), Program.class)),
+                usesIndexes("filter page by name", () -> explainFind(MongoProgramStore.filterPage(
+                        MongoProgramStore.filterCriteria(byName, ProgramAccess.ALL), byName), Program.class)),
+                usesIndexes("filter facets by scope", () -> explainAggregate(
+                        MongoProgramStore.filterFacets(MongoProgramStore.filterCriteria(byScope, SCOPE)))),
+                usesIndexes("filter facets by name", () -> explainAggregate(
+                        MongoProgramStore.filterFacets(MongoProgramStore.filterCriteria(byName, ProgramAccess.ALL)))),
+                usesIndexes("filter facets by email domain", () -> explainAggregate(
+                        MongoProgramStore.filterFacets(MongoProgramStore.filterCriteria(byEmailDomain, ProgramAccess.ALL)))),
+                usesIndexes("filter facets by leader", () -> explainAggregate(
+                        MongoProgramStore.filterFacets(MongoProgramStore.filterCriteria(byLeader, ProgramAccess.ALL)))),
+                usesIndexes("patch", () -> explainFindAndModify(Query.query(
+                        MongoProgramStore.withVersion(Criteria.where("programId").is("P003"), 2L)), patch)),
+                usesIndexes("patch at version 0", () -> explainFindAndModify(Query.query(
+                        MongoProgramStore.withVersion(Criteria.where("programId").is("P003"), 0L)), patch)),
+                usesIndexes("patch educational area", () -> explainFindAndModify(Query.query(
+                        MongoProgramStore.withVersion(Criteria.where("programId").is("P003")
+                                .and("educationalArea.educationalAreaId").is("P003A01"), 2L)), areaPatch)),
+                usesIndexes("compare-and-set areas", () -> explainUpdate(
+                        MongoProgramStore.unchangedAreas(mongoTemplate.findById("P003", Document.class, collection)),
+                        new Update().set("educationalArea", List.of()).inc("version", 1))),
+                usesIndexes("archive listing", () -> explainFind(MongoProgramStore.archivePage(1, 5), ArchivedProgram.class)));
+    }
+
+    @Test
+    void leaderReassignmentUsesLeaderIndex() {
+        Document update = new Document("q", new Document("educationalArea.leaderId", "leader-3"))
+                .append("u", new Document("$set", new Document("educationalArea.$[area].leaderId", "leader-4")))
+                .append("arrayFilters", List.of(new Document("area.leaderId", "leader-3")))
+                .append("multi", true);
+        assertNoCollectionScan("Leader reassignment",
+                explainCommand(new Document("update", collection).append("updates", List.of(update))));
+    }
+
+    private DynamicTest usesIndexes(String name, Supplier<Document> explain) {
+        return DynamicTest.dynamicTest(name, () -> assertNoCollectionScan(name, explain.get()));
+    }
+
+    private static void assertNoCollectionScan(String name, Document explained) {
+        List<String> stages = new ArrayList<>();
+        collectStages(explained, stages);
+        assertFalse(stages.isEmpty(), () -> name + ": no plan in " + explained.toJson());
+        assertFalse(stages.contains("COLLSCAN"), () -> name + " scans the collection: " + explained.toJson());
+    }
+
+    private Document explain(Method method) {
+        org.springframework.data.mongodb.repository.Query query =
+                method.getAnnotation(org.springframework.data.mongodb.repository.Query.class);
+        Document filter;
+        Document sort = null;
+
+        if (query != null) {
+            filter = Document.parse(query.value().replace("?0", "'" + SAMPLE + "'"));
+            if (!query.sort().isEmpty()) sort = Document.parse(query.sort());
+            if (query.count()) {
+                return explainCommand(new Document("count", collection).append("query", filter));
+            }
+        } else if (DERIVED_QUERIES.containsKey(method.getName())) {
+            filter = DERIVED_QUERIES.get(method.getName());
+        } else {
+            return fail("No filter known for derived query " + method.getName() + ", add it to DERIVED_QUERIES");
+        }
+
+        Document find = new Document("find", collection).append("filter", filter);
+        if (sort != null) find.append("sort", sort);
+        return explainCommand(find);
+    }
+
+    /**
+     * Filter and sort mapped the way MongoTemplate maps them (programId to _id, and so on)
+     */
+    private Document explainFind(Query query, Class<?> type) {
+        MongoPersistentEntity<?> entity = entity(type);
+        Document find = new Document("find", mongoTemplate.getCollectionName(type))
+                .append("filter", queryMapper().getMappedObject(query.getQueryObject(), entity))
+                .append("sort", queryMapper().getMappedSort(query.getSortObject(), entity))
+                .append("skip", (int) query.getSkip())
+                .append("limit", query.getLimit());
+        return explainCommand(find);
+    }
+
+    private Document explainFindAndModify(Query query, Update update) {
+        MongoPersistentEntity<?> entity = entity(Program.class);
+        return explainCommand(new Document("findAndModify", collection)
+                .append("query", queryMapper().getMappedObject(query.getQueryObject(), entity))
+                .append("update", new UpdateMapper(mongoTemplate.getConverter()).getMappedObject(update.getUpdateObject(), entity))
+                .append("new", true));
+    }
+
+    private Document explainUpdate(Query query, Update update) {
+        MongoPersistentEntity<?> entity = entity(Program.class);
+        Document statement = new Document("q", queryMapper().getMappedObject(query.getQueryObject(), entity))
+                .append("u", new UpdateMapper(mongoTemplate.getConverter()).getMappedObject(update.getUpdateObject(), entity));
+        return explainCommand(new Document("update", collection).append("updates", List.of(statement)));
+    }
+
+    /**
+     * Runs the pipeline through MongoTemplate with explain, so it is mapped exactly as in production
+     */
+    private Document explainAggregate(Aggregation aggregation) {
+        AggregationOptions explain = AggregationOptions.builder().explain(true).build();
+        return mongoTemplate.aggregate(aggregation.withOptions(explain), Program.class, Document.class).getRawResults();
+    }
+
+    private Document explainCommand(Document command) {
+        Document result = mongoTemplate.getDb().runCommand(
+                new Document("explain", command).append("verbosity", "queryPlanner"));
+        assertEquals(1.0, ((Number) result.get("ok")).doubleValue());
+        return result;
+    }
+
+    private QueryMapper queryMapper() {
+        return new QueryMapper(mongoTemplate.getConverter());
+    }
+
+    private MongoPersistentEntity<?> entity(Class<?> type) {
+        return mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(type);
+    }
+
+    /**
+     * Walks the explain output (classic and SBE layouts, find and aggregate) collecting every stage name
+     * of the winning plans; rejected plans may scan, they just must not win
+     */
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            Object stage = document.get("stage");
+            if (stage instanceof String name) stages.add(name);
+            document.forEach((key, value) -> {
+                if (!"rejectedPlans".equals(key)) collectStages(value, stages);
+            });
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+}